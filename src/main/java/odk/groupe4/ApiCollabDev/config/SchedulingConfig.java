@@ -0,0 +1,10 @@
+package odk.groupe4.ApiCollabDev.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Active les tâches planifiées (@Scheduled) de l'application
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
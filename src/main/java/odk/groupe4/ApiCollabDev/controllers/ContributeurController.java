@@ -8,14 +8,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import odk.groupe4.ApiCollabDev.dto.ClassementDto;
+import odk.groupe4.ApiCollabDev.dto.CoinTransactionDto;
 import odk.groupe4.ApiCollabDev.dto.ContributeurRequestDto;
 import odk.groupe4.ApiCollabDev.dto.ContributeurResponseDto;
 import odk.groupe4.ApiCollabDev.dto.ContributeurSoldeDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
+import odk.groupe4.ApiCollabDev.dto.RangClassementDto;
+import odk.groupe4.ApiCollabDev.dto.VersionRessourceDto;
 import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
+import odk.groupe4.ApiCollabDev.models.enums.CritereClassement;
+import odk.groupe4.ApiCollabDev.service.ClassementService;
+import odk.groupe4.ApiCollabDev.service.CoinService;
 import odk.groupe4.ApiCollabDev.service.ContributeurService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,10 +34,15 @@ import java.util.List;
 public class ContributeurController {
     
     private final ContributeurService contributeurService;
+    private final CoinService coinService;
+    private final ClassementService classementService;
 
     @Autowired
-    public ContributeurController(ContributeurService contributeurService) {
+    public ContributeurController(ContributeurService contributeurService, CoinService coinService,
+                                  ClassementService classementService) {
         this.contributeurService = contributeurService;
+        this.coinService = coinService;
+        this.classementService = classementService;
     }
 
     @Operation(
@@ -50,6 +64,42 @@ public class ContributeurController {
         return ResponseEntity.ok(contributeurs);
     }
 
+    @Operation(
+        summary = "Classement des contributeurs",
+        description = "Retourne les premiers contributeurs de la plateforme ou d'un projet, " +
+                "classés par solde de coins (COINS) ou par nombre de contributions validées (CONTRIBUTIONS_VALIDEES). " +
+                "Les ex æquo partagent le même rang."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Classement récupéré avec succès",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ClassementDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Projet non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/classement")
+    // Classement des contributeurs
+    public ResponseEntity<ClassementDto> getClassement(
+            @Parameter(description = "Critère du classement", example = "COINS")
+            @RequestParam(defaultValue = "COINS") CritereClassement critere,
+            @Parameter(description = "ID du projet (classement de la plateforme si absent)", required = false, example = "1")
+            @RequestParam(required = false) Integer idProjet,
+            @Parameter(description = "Nombre de contributeurs (max " + ClassementService.TAILLE_MAX + ")", example = "10")
+            @RequestParam(defaultValue = "" + ClassementService.TAILLE_PAR_DEFAUT) int taille) {
+        return ResponseEntity.ok(classementService.getClassement(critere, idProjet, taille));
+    }
+
     @Operation(
         summary = "Récupérer un contributeur par ID",
         description = "Retourne les détails d'un contributeur spécifique"
@@ -63,6 +113,10 @@ public class ContributeurController {
                 schema = @Schema(implementation = ContributeurResponseDto.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Contributeur inchangé depuis la version indiquée par If-None-Match / If-Modified-Since"
+        ),
         @ApiResponse(
             responseCode = "404", 
             description = "Contributeur non trouvé",
@@ -76,7 +130,13 @@ public class ContributeurController {
     // Récupérer un contributeur par son ID
     public ResponseEntity<ContributeurResponseDto> getContributeurById(
             @Parameter(description = "ID unique du contributeur", required = true, example = "1")
-            @PathVariable int id) {
+            @PathVariable int id,
+            @Parameter(hidden = true) WebRequest requete) {
+        // On compare d'abord la seule version du contributeur à celle du client : 304 sans le charger.
+        VersionRessourceDto version = contributeurService.getVersionContributeur(id);
+        if (requete.checkNotModified(version.getEtag(), version.derniereModificationEpochMilli())) {
+            return null;
+        }
         ContributeurResponseDto contributeur = contributeurService.getContributeurById(id);
         return ResponseEntity.ok(contributeur);
     }
@@ -153,6 +213,85 @@ public class ContributeurController {
         return ResponseEntity.ok(solde);
     }
 
+    @Operation(
+        summary = "Historique des coins d'un contributeur",
+        description = "Retourne une page du registre des coins (gains et dépenses, du plus récent au plus ancien), " +
+                "avec le solde après chaque écriture. " +
+                "Passer le curseurSuivant de la réponse dans le paramètre curseur pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Page de l'historique récupérée avec succès",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PageCurseurDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Curseur de pagination invalide",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Contributeur non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/{id}/coins/transactions")
+    // Historique des coins d'un contributeur
+    public ResponseEntity<PageCurseurDto<CoinTransactionDto>> getTransactionsCoins(
+            @Parameter(description = "ID du contributeur", required = true, example = "1")
+            @PathVariable int id,
+            @Parameter(description = "Curseur renvoyé par la page précédente", required = false)
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'écritures par page (max " + CoinService.TAILLE_PAGE_MAX + ")", example = "20")
+            @RequestParam(defaultValue = "" + CoinService.TAILLE_PAGE_PAR_DEFAUT) int taille) {
+        return ResponseEntity.ok(coinService.getHistorique(id, curseur, taille));
+    }
+
+    @Operation(
+        summary = "Rang d'un contributeur",
+        description = "Retourne le rang et le score d'un contributeur dans le classement de la plateforme " +
+                "ou d'un projet dont il est participant accepté"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rang récupéré avec succès",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RangClassementDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Contributeur non trouvé ou non classé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/{id}/classement")
+    // Rang d'un contributeur
+    public ResponseEntity<RangClassementDto> getRangClassement(
+            @Parameter(description = "ID du contributeur", required = true, example = "1")
+            @PathVariable int id,
+            @Parameter(description = "Critère du classement", example = "COINS")
+            @RequestParam(defaultValue = "COINS") CritereClassement critere,
+            @Parameter(description = "ID du projet (classement de la plateforme si absent)", required = false, example = "1")
+            @RequestParam(required = false) Integer idProjet) {
+        return ResponseEntity.ok(classementService.getRang(id, critere, idProjet));
+    }
+
     @Operation(
         summary = "Désactiver un contributeur",
         description = "Désactive le compte d'un contributeur (le rend inactif)"
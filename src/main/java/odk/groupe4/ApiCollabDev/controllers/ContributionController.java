@@ -11,6 +11,8 @@ import jakarta.validation.Valid;
 import odk.groupe4.ApiCollabDev.dto.ContributionDto;
 import odk.groupe4.ApiCollabDev.dto.ContributionResponseDto;
 import odk.groupe4.ApiCollabDev.dto.ContributionSoumiseDto;
+import odk.groupe4.ApiCollabDev.dto.RevueContributionsDto;
+import odk.groupe4.ApiCollabDev.dto.RevueContributionsResponseDto;
 import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
 import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
 import odk.groupe4.ApiCollabDev.service.ContributionService;
@@ -173,6 +175,40 @@ public class ContributionController {
         return ResponseEntity.ok(contribution);
     }
 
+    @Operation(
+        summary = "Revoir un lot de contributions",
+        description = "Permet à un gestionnaire de valider ou de rejeter plusieurs contributions, dans un ou plusieurs de ses projets, " +
+                "en une seule transaction. Retourne le résultat pour chaque contribution ; les récompenses des contributions validées " +
+                "et les notifications suivent après validation de la transaction."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lot traité, voir le résultat de chaque contribution",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RevueContributionsResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Données invalides (liste vide, plus de 200 contributions ou statut manquant)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    // Valider ou rejeter plusieurs contributions en une fois
+    @PatchMapping("/status/contributeur/{idContributeur}")
+    public ResponseEntity<RevueContributionsResponseDto> revoirContributions(
+            @Parameter(description = "ID du contributeur, gestionnaire des projets concernés", required = true, example = "1")
+            @PathVariable int idContributeur,
+            @Valid @RequestBody RevueContributionsDto revueDto) {
+        RevueContributionsResponseDto resultat = contributionService.revoirContributions(revueDto.getDecisions(), idContributeur);
+        return ResponseEntity.ok(resultat);
+    }
+
     @Operation(
         summary = "Récupérer les contributions d'un participant",
         description = "Retourne toutes les contributions soumises par un participant spécifique"
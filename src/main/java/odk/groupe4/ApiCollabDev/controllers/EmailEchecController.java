@@ -0,0 +1,95 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import odk.groupe4.ApiCollabDev.dto.EmailEchecDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
+import odk.groupe4.ApiCollabDev.dto.RejeuEmailsDto;
+import odk.groupe4.ApiCollabDev.dto.RejeuEmailsResponseDto;
+import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
+import odk.groupe4.ApiCollabDev.service.EmailOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/emails/echecs")
+@Tag(name = "Emails en échec", description = "API de consultation et de rejeu des emails abandonnés après plusieurs tentatives")
+public class EmailEchecController {
+
+    private final EmailOutboxService emailOutboxService;
+
+    @Autowired
+    public EmailEchecController(EmailOutboxService emailOutboxService) {
+        this.emailOutboxService = emailOutboxService;
+    }
+
+    @Operation(
+            summary = "Lister les emails en échec",
+            description = "Retourne une page des emails abandonnés (du plus récent au plus ancien), avec leur dernière erreur. " +
+                    "Passer le curseurSuivant de la réponse dans le paramètre curseur pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page d'emails en échec récupérée avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PageCurseurDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Curseur de pagination invalide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping
+    public ResponseEntity<PageCurseurDto<EmailEchecDto>> getEchecs(
+            @Parameter(description = "Curseur renvoyé par la page précédente", required = false)
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre d'emails par page (max " + EmailOutboxService.TAILLE_PAGE_MAX + ")", example = "20")
+            @RequestParam(defaultValue = "" + EmailOutboxService.TAILLE_PAGE_PAR_DEFAUT) int taille) {
+        return ResponseEntity.ok(emailOutboxService.getEchecs(curseur, taille));
+    }
+
+    @Operation(
+            summary = "Rejouer des emails en échec",
+            description = "Remet en file d'envoi les emails en échec indiqués, ou tous si aucun n'est indiqué, " +
+                    "avec un nouveau compteur de tentatives"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Emails remis en file d'envoi",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RejeuEmailsResponseDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Données invalides",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+                    )
+            )
+    })
+    @PostMapping("/rejouer")
+    public ResponseEntity<RejeuEmailsResponseDto> rejouer(
+            @Parameter(description = "IDs des emails à rejouer (tous si absent)")
+            @Valid @RequestBody(required = false) RejeuEmailsDto dto) {
+        int rejoues = emailOutboxService.rejouerEchecs(dto != null ? dto.getIdsEmails() : null);
+        return ResponseEntity.ok(new RejeuEmailsResponseDto(rejoues));
+    }
+}
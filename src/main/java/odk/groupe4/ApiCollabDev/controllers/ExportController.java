@@ -0,0 +1,75 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import odk.groupe4.ApiCollabDev.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/admin/export")
+@Tag(name = "Export", description = "API d'export en flux (NDJSON) des données de la plateforme")
+public class ExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(
+            summary = "Exporter les projets",
+            description = "Retourne tous les projets au format NDJSON (un objet JSON par ligne), écrits au fur et à mesure de la lecture"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export des projets en cours de transmission")
+    })
+    @GetMapping("/projets")
+    public ResponseEntity<StreamingResponseBody> exporterProjets() {
+        return ndjson("projets.ndjson", exportService::exporterProjets);
+    }
+
+    @Operation(
+            summary = "Exporter les participants",
+            description = "Retourne tous les participants au format NDJSON (un objet JSON par ligne), écrits au fur et à mesure de la lecture"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export des participants en cours de transmission")
+    })
+    @GetMapping("/participants")
+    public ResponseEntity<StreamingResponseBody> exporterParticipants() {
+        return ndjson("participants.ndjson", exportService::exporterParticipants);
+    }
+
+    @Operation(
+            summary = "Exporter les contributions",
+            description = "Retourne toutes les contributions au format NDJSON (un objet JSON par ligne), écrites au fur et à mesure de la lecture"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export des contributions en cours de transmission")
+    })
+    @GetMapping("/contributions")
+    public ResponseEntity<StreamingResponseBody> exporterContributions() {
+        return ndjson("contributions.ndjson", exportService::exporterContributions);
+    }
+
+    // Réponse en pièce jointe NDJSON, écrite hors du thread de la requête
+    private ResponseEntity<StreamingResponseBody> ndjson(String nomFichier, StreamingResponseBody corps) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(nomFichier).build().toString())
+                .body(corps);
+    }
+}
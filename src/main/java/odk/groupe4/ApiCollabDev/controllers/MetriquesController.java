@@ -0,0 +1,118 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesCacheDto;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesEmailDto;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesEvenementsDto;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesRecompensesDto;
+import odk.groupe4.ApiCollabDev.service.CatalogueProjetsCache;
+import odk.groupe4.ApiCollabDev.service.EmailService;
+import odk.groupe4.ApiCollabDev.service.EvenementBus;
+import odk.groupe4.ApiCollabDev.service.RecompensePipelineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/metriques")
+@Tag(name = "Métriques", description = "API de consultation des métriques internes de la plateforme")
+public class MetriquesController {
+
+    private final CatalogueProjetsCache catalogueProjetsCache;
+    private final EmailService emailService;
+    private final EvenementBus evenementBus;
+    private final RecompensePipelineService recompensePipelineService;
+
+    @Autowired
+    public MetriquesController(CatalogueProjetsCache catalogueProjetsCache, EmailService emailService, EvenementBus evenementBus,
+                               RecompensePipelineService recompensePipelineService) {
+        this.catalogueProjetsCache = catalogueProjetsCache;
+        this.emailService = emailService;
+        this.evenementBus = evenementBus;
+        this.recompensePipelineService = recompensePipelineService;
+    }
+
+    @Operation(
+            summary = "Statistiques du cache des projets ouverts",
+            description = "Retourne les succès, échecs, évictions et le taux de succès du cache du catalogue des projets ouverts"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistiques récupérées avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatistiquesCacheDto.class)
+                    )
+            )
+    })
+    @GetMapping("/cache-projets-ouverts")
+    public ResponseEntity<StatistiquesCacheDto> getStatistiquesCacheProjetsOuverts() {
+        return ResponseEntity.ok(catalogueProjetsCache.getStatistiques());
+    }
+
+    @Operation(
+            summary = "Statistiques d'envoi des emails",
+            description = "Retourne le nombre d'emails envoyés et en échec, la latence SMTP et l'état du pool de connexions SMTP"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistiques récupérées avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatistiquesEmailDto.class)
+                    )
+            )
+    })
+    @GetMapping("/emails")
+    public ResponseEntity<StatistiquesEmailDto> getStatistiquesEmails() {
+        return ResponseEntity.ok(emailService.getStatistiques());
+    }
+
+    @Operation(
+            summary = "Statistiques du bus d'événements",
+            description = "Retourne les événements publiés, l'état de la file du bus et, pour chaque observateur, les événements reçus, réussis, en échec et la durée de traitement"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistiques récupérées avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatistiquesEvenementsDto.class)
+                    )
+            )
+    })
+    @GetMapping("/evenements")
+    public ResponseEntity<StatistiquesEvenementsDto> getStatistiquesEvenements() {
+        return ResponseEntity.ok(evenementBus.getStatistiques());
+    }
+
+    @Operation(
+            summary = "Statistiques des récompenses des contributions",
+            description = "Retourne les récompenses planifiées, les étapes exécutées, en échec et reprises depuis le démarrage, " +
+                    "et les contributions dont les récompenses sont inachevées, par étape"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistiques récupérées avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatistiquesRecompensesDto.class)
+                    )
+            )
+    })
+    @GetMapping("/recompenses")
+    public ResponseEntity<StatistiquesRecompensesDto> getStatistiquesRecompenses() {
+        return ResponseEntity.ok(recompensePipelineService.getStatistiques());
+    }
+}
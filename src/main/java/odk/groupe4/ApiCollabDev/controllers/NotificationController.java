@@ -0,0 +1,151 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import odk.groupe4.ApiCollabDev.dto.MarquerNotificationsLuesDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationResponseDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationsNonLuesDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
+import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
+import odk.groupe4.ApiCollabDev.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/utilisateurs")
+@Tag(name = "Notifications", description = "API de la boîte de réception des notifications des utilisateurs")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    @Autowired
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @Operation(
+        summary = "Boîte de réception d'un utilisateur",
+        description = "Retourne une page de notifications de l'utilisateur (de la plus récente à la plus ancienne). " +
+                "Passer le curseurSuivant de la réponse dans le paramètre curseur pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Page de notifications récupérée avec succès",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PageCurseurDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Curseur de pagination invalide",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Utilisateur non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/{id}/notifications")
+    // Récupérer une page de la boîte de réception d'un utilisateur
+    public ResponseEntity<PageCurseurDto<NotificationResponseDto>> getNotifications(
+            @Parameter(description = "ID de l'utilisateur", required = true, example = "1")
+            @PathVariable int id,
+            @Parameter(description = "Ne lister que les notifications non lues", example = "false")
+            @RequestParam(defaultValue = "false") boolean nonLues,
+            @Parameter(description = "Curseur renvoyé par la page précédente", required = false)
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre de notifications par page (max " + NotificationService.TAILLE_PAGE_MAX + ")", example = "20")
+            @RequestParam(defaultValue = "" + NotificationService.TAILLE_PAGE_PAR_DEFAUT) int taille) {
+        PageCurseurDto<NotificationResponseDto> notifications = notificationService.getNotifications(id, nonLues, curseur, taille);
+        return ResponseEntity.ok(notifications);
+    }
+
+    @Operation(
+        summary = "Nombre de notifications non lues",
+        description = "Retourne le compteur de notifications non lues de l'utilisateur (icône de notification), " +
+                "lu en une seule ligne et adapté à une interrogation fréquente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Compteur récupéré avec succès",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = NotificationsNonLuesDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Utilisateur non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping("/{id}/notifications/non-lues")
+    // Récupérer le nombre de notifications non lues d'un utilisateur
+    public ResponseEntity<NotificationsNonLuesDto> getNombreNonLues(
+            @Parameter(description = "ID de l'utilisateur", required = true, example = "1")
+            @PathVariable int id) {
+        return ResponseEntity.ok(notificationService.getNombreNonLues(id));
+    }
+
+    @Operation(
+        summary = "Marquer des notifications comme lues",
+        description = "Marque comme lues les notifications indiquées de l'utilisateur, ou toutes ses notifications " +
+                "si aucune n'est indiquée. Retourne le nombre de notifications non lues restantes."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Notifications marquées comme lues",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = NotificationsNonLuesDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Données invalides",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Utilisateur non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @PatchMapping("/{id}/notifications/lues")
+    // Marquer en lot des notifications d'un utilisateur comme lues
+    public ResponseEntity<NotificationsNonLuesDto> marquerLues(
+            @Parameter(description = "ID de l'utilisateur", required = true, example = "1")
+            @PathVariable int id,
+            @Parameter(description = "IDs des notifications à marquer comme lues (toutes si absent)")
+            @Valid @RequestBody(required = false) MarquerNotificationsLuesDto dto) {
+        NotificationsNonLuesDto compteur = notificationService.marquerLues(id, dto != null ? dto.getIdsNotifications() : null);
+        return ResponseEntity.ok(compteur);
+    }
+}
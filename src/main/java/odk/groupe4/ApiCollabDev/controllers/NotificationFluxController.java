@@ -0,0 +1,59 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
+import odk.groupe4.ApiCollabDev.service.NotificationFluxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/notifications")
+@Tag(name = "Notifications", description = "API de la boîte de réception des notifications des utilisateurs")
+public class NotificationFluxController {
+
+    private final NotificationFluxService notificationFluxService;
+
+    @Autowired
+    public NotificationFluxController(NotificationFluxService notificationFluxService) {
+        this.notificationFluxService = notificationFluxService;
+    }
+
+    @Operation(
+        summary = "Flux des notifications en direct",
+        description = "Ouvre un flux Server-Sent Events : chaque nouvelle notification de l'utilisateur est envoyée " +
+                "(événement « notification », id = ID de la notification), avec un battement périodique. " +
+                "À la reconnexion, le navigateur envoie l'en-tête Last-Event-ID et les notifications manquées sont rejouées."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Flux ouvert",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Utilisateur non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    // Ouvrir le flux des notifications d'un utilisateur
+    public SseEmitter ouvrirFlux(
+            @Parameter(description = "ID de l'utilisateur", required = true, example = "1")
+            @RequestParam int idUtilisateur,
+            @Parameter(description = "ID de la dernière notification reçue (envoyé automatiquement par le navigateur)")
+            @RequestHeader(value = "Last-Event-ID", required = false) Integer dernierId) {
+        return notificationFluxService.abonner(idUtilisateur, dernierId);
+    }
+}
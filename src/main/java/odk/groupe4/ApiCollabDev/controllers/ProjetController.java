@@ -8,19 +8,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import odk.groupe4.ApiCollabDev.dto.ModerationProjetsDto;
+import odk.groupe4.ApiCollabDev.dto.ModerationProjetsResponseDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
 import odk.groupe4.ApiCollabDev.dto.ProjetCahierDto;
 import odk.groupe4.ApiCollabDev.dto.ProjetDto;
+import odk.groupe4.ApiCollabDev.dto.ProjetFiltreDto;
 import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.dto.VersionRessourceDto;
 import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectLevel;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectStatus;
 import odk.groupe4.ApiCollabDev.service.ProjetService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -38,48 +45,115 @@ public class ProjetController {
 
    @Operation(
         summary = "Récupérer tous les projets",
-        description = "Retourne la liste complète de tous les projets avec possibilité de filtrage par statut"
+        description = "Retourne une page de projets (du plus récent au plus ancien), filtrée par toute combinaison de " +
+                "statut, domaine, secteur, niveau, créateur et période de création. " +
+                "Passer le curseurSuivant de la réponse dans le paramètre curseur pour obtenir la page suivante."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200", 
-            description = "Liste des projets récupérée avec succès",
+            description = "Page de projets récupérée avec succès",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = ProjetResponseDto.class)
+                schema = @Schema(implementation = PageCurseurDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Curseur de pagination ou période invalide",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
             )
         )
     })
     @GetMapping
-    // Récupérer tous les projets avec option de filtrage par statut
-    public ResponseEntity<List<ProjetResponseDto>> getAllProjets(
-            @Parameter(description = "Filtrer par statut du projet", required = false)
-            @RequestParam(required = false) ProjectStatus status) {
-        List<ProjetResponseDto> projets = projetService.getAllProjets(status);
+    // Récupérer une page de projets avec filtres combinables
+    public ResponseEntity<PageCurseurDto<ProjetResponseDto>> getAllProjets(
+            @ParameterObject ProjetFiltreDto filtre,
+            @Parameter(description = "Curseur renvoyé par la page précédente", required = false)
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre de projets par page (max " + ProjetService.TAILLE_PAGE_MAX + ")", example = "20")
+            @RequestParam(defaultValue = "" + ProjetService.TAILLE_PAGE_PAR_DEFAUT) int taille) {
+        PageCurseurDto<ProjetResponseDto> projets = projetService.getAllProjets(filtre, curseur, taille);
         return ResponseEntity.ok(projets);
     }
 
     @Operation(
             summary = "Récupérer tous les projets ouverts",
-            description = "Retourne la liste de tous les projets avec le statut OUVERT, avec possibilité de filtrage par domaine et secteur"
+            description = "Retourne une page des projets avec le statut OUVERT, avec possibilité de filtrage par domaine et secteur"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "Liste des projets ouverts récupérée avec succès",
+                    description = "Page de projets ouverts récupérée avec succès",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = ProjetResponseDto.class)
+                            schema = @Schema(implementation = PageCurseurDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Curseur de pagination invalide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
                     )
             )
     })
     @GetMapping("/ouverts")
-    public ResponseEntity<List<ProjetResponseDto>> getProjetsOuverts(
+    public ResponseEntity<PageCurseurDto<ProjetResponseDto>> getProjetsOuverts(
+            @Parameter(description = "Filtrer par domaine du projet", required = false)
+            @RequestParam(required = false) ProjectDomain domaine,
+            @Parameter(description = "Filtrer par secteur du projet", required = false)
+            @RequestParam(required = false) ProjectSector secteur,
+            @Parameter(description = "Curseur renvoyé par la page précédente", required = false)
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre de projets par page (max " + ProjetService.TAILLE_PAGE_MAX + ")", example = "20")
+            @RequestParam(defaultValue = "" + ProjetService.TAILLE_PAGE_PAR_DEFAUT) int taille) {
+        PageCurseurDto<ProjetResponseDto> projets = projetService.getProjetsOuverts(domaine, secteur, curseur, taille);
+        return ResponseEntity.ok(projets);
+    }
+
+    @Operation(
+            summary = "Rechercher des projets",
+            description = "Recherche plein texte dans le titre et la description des projets, classée par pertinence. " +
+                    "Combinable avec les filtres de statut, domaine et secteur. " +
+                    "Passer le curseurSuivant de la réponse dans le paramètre curseur pour obtenir la page suivante."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page de résultats récupérée avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PageCurseurDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Texte de recherche manquant ou curseur de pagination invalide",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+                    )
+            )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<PageCurseurDto<ProjetResponseDto>> rechercherProjets(
+            @Parameter(description = "Texte recherché dans le titre et la description", required = true, example = "gestion stock")
+            @RequestParam String q,
+            @Parameter(description = "Filtrer par statut du projet", required = false)
+            @RequestParam(required = false) ProjectStatus status,
             @Parameter(description = "Filtrer par domaine du projet", required = false)
             @RequestParam(required = false) ProjectDomain domaine,
             @Parameter(description = "Filtrer par secteur du projet", required = false)
-            @RequestParam(required = false) ProjectSector secteur) {
-        List<ProjetResponseDto> projets = projetService.getProjetsOuverts(domaine, secteur);
+            @RequestParam(required = false) ProjectSector secteur,
+            @Parameter(description = "Curseur renvoyé par la page précédente", required = false)
+            @RequestParam(required = false) String curseur,
+            @Parameter(description = "Nombre de projets par page (max " + ProjetService.TAILLE_PAGE_MAX + ")", example = "20")
+            @RequestParam(defaultValue = "" + ProjetService.TAILLE_PAGE_PAR_DEFAUT) int taille) {
+        PageCurseurDto<ProjetResponseDto> projets = projetService.rechercherProjets(q, status, domaine, secteur, curseur, taille);
         return ResponseEntity.ok(projets);
     }
 
@@ -120,6 +194,10 @@ public class ProjetController {
                 schema = @Schema(implementation = ProjetResponseDto.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Projet inchangé depuis la version indiquée par If-None-Match / If-Modified-Since"
+        ),
         @ApiResponse(
             responseCode = "404", 
             description = "Projet non trouvé",
@@ -133,7 +211,13 @@ public class ProjetController {
     @GetMapping("/{id}")
     public ResponseEntity<ProjetResponseDto> getProjetById(
             @Parameter(description = "ID unique du projet", required = true, example = "1")
-            @PathVariable int id) {
+            @PathVariable int id,
+            @Parameter(hidden = true) WebRequest requete) {
+        // On compare d'abord la seule version du projet à celle du client : 304 sans lire le projet.
+        VersionRessourceDto version = projetService.getVersionProjet(id);
+        if (requete.checkNotModified(version.getEtag(), version.derniereModificationEpochMilli())) {
+            return null;
+        }
         ProjetResponseDto projet = projetService.getProjetById(id);
         return ResponseEntity.ok(projet);
     }
@@ -251,6 +335,40 @@ public class ProjetController {
         return ResponseEntity.ok(projet);
     }
 
+    @Operation(
+        summary = "Modérer un lot de projets",
+        description = "Permet à un administrateur de valider ou de rejeter plusieurs projets en attente en une seule transaction. " +
+                "Retourne le résultat pour chaque projet ; les créateurs sont notifiés après validation de la transaction."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lot traité, voir le résultat de chaque projet",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ModerationProjetsResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Données invalides (liste vide, plus de 200 projets ou décision manquante)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    // Valider ou rejeter plusieurs projets proposés en une fois
+    @PatchMapping("/moderation/admin/{idAdmin}")
+    public ResponseEntity<ModerationProjetsResponseDto> modererProjets(
+            @Parameter(description = "ID de l'administrateur modérateur", required = true, example = "1")
+            @PathVariable int idAdmin,
+            @Valid @RequestBody ModerationProjetsDto moderationDto) {
+        ModerationProjetsResponseDto resultat = projetService.modererProjets(
+                moderationDto.getIdsProjets(), moderationDto.getDecision(), idAdmin);
+        return ResponseEntity.ok(resultat);
+    }
+
     @Operation(
         summary = "Rejeter un projet",
         description = "Permet à un administrateur de rejeter un projet proposé (supprime le projet)"
@@ -0,0 +1,53 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesPlateformeDto;
+import odk.groupe4.ApiCollabDev.service.StatistiquesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/stats")
+@Tag(name = "Statistiques", description = "API des statistiques agrégées de la plateforme")
+public class StatistiquesController {
+
+    private final StatistiquesService statistiquesService;
+
+    @Autowired
+    public StatistiquesController(StatistiquesService statistiquesService) {
+        this.statistiquesService = statistiquesService;
+    }
+
+    @Operation(
+            summary = "Statistiques de la plateforme",
+            description = "Retourne le nombre de projets par statut, domaine et secteur, le nombre de contributions par statut " +
+                    "et le nombre de contributeurs actifs. Les valeurs proviennent d'une vue matérialisée rafraîchie " +
+                    "périodiquement, ou sont calculées en temps réel si la vue est indisponible ou si tempsReel=true."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistiques récupérées avec succès",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StatistiquesPlateformeDto.class)
+                    )
+            )
+    })
+    @GetMapping
+    public ResponseEntity<StatistiquesPlateformeDto> getStatistiques(
+            @Parameter(description = "Calculer les statistiques en temps réel plutôt que depuis la vue matérialisée")
+            @RequestParam(defaultValue = "false") boolean tempsReel) {
+        return ResponseEntity.ok(statistiquesService.getStatistiques(tempsReel));
+    }
+}
@@ -13,6 +13,7 @@ import odk.groupe4.ApiCollabDev.dto.LoginResponseDto;
 import odk.groupe4.ApiCollabDev.dto.UtilisateurDto;
 import odk.groupe4.ApiCollabDev.dto.UtilisateurResponseDto;
 import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
+import odk.groupe4.ApiCollabDev.models.enums.ModeNotification;
 import odk.groupe4.ApiCollabDev.service.UtilisateurService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -195,4 +196,45 @@ public class UtilisateurController {
         utilisateurService.changerMotDePasse(id, ancienMotDePasse, nouveauMotDePasse);
         return ResponseEntity.ok("Mot de passe changé avec succès");
     }
+
+    @Operation(
+        summary = "Choisir le mode des emails de notification",
+        description = "INSTANTANE : un email par notification. DIGEST : les notifications sont regroupées en un seul email récapitulatif par fenêtre"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Mode de notification mis à jour",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = UtilisateurResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Mode de notification invalide",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404", 
+            description = "Utilisateur non trouvé",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)
+            )
+        )
+    })
+    @PatchMapping("/{id}/mode-notification")
+    // Changer le mode d'envoi des emails de notification d'un utilisateur
+    public ResponseEntity<UtilisateurResponseDto> changerModeNotification(
+            @Parameter(description = "ID de l'utilisateur", required = true, example = "1")
+            @PathVariable int id,
+            @Parameter(description = "Mode d'envoi des emails", required = true, example = "DIGEST")
+            @RequestParam ModeNotification mode) {
+        UtilisateurResponseDto utilisateur = utilisateurService.changerModeNotification(id, mode);
+        return ResponseEntity.ok(utilisateur);
+    }
 }
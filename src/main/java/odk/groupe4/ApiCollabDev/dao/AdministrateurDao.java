@@ -2,8 +2,10 @@ package odk.groupe4.ApiCollabDev.dao;
 
 import odk.groupe4.ApiCollabDev.models.Administrateur;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository // Indique à Spring que c’est un composant qui accède à la base
@@ -11,4 +13,8 @@ public interface AdministrateurDao extends JpaRepository<Administrateur, Integer
 
     // Recherche d’un admin par email (utile pour vérifier s’il est actif)
     Optional<Administrateur> findByEmail(String email);
+
+    // IDs de tous les administrateurs, pour les notifier sans charger les entités
+    @Query("SELECT a.id FROM Administrateur a")
+    List<Integer> findAllIds();
 }
@@ -2,8 +2,13 @@ package odk.groupe4.ApiCollabDev.dao;
 
 import odk.groupe4.ApiCollabDev.models.BadgeParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +16,15 @@ public interface BadgeParticipantDao extends JpaRepository<BadgeParticipant, Int
 
     // Méthode pour trouver un Badge_participant par participantId et badgeId
     Optional<BadgeParticipant> findByParticipantIdAndBadgeId(int idParticipant, int idBadge);
+
+    // Attribue en une instruction les badges que le participant n'a pas encore (index unique uk_badge_participant)
+    // et retourne les IDs des badges effectivement attribués.
+    @Query(nativeQuery = true, value =
+            "INSERT INTO badge_participant (id_participant, id_bagde, date_acquisition) " +
+            "SELECT :idParticipant, b.id_badge, :date FROM badge b WHERE b.id_badge IN (:idsBadges) " +
+            "ON CONFLICT (id_participant, id_bagde) DO NOTHING " +
+            "RETURNING id_bagde")
+    List<Integer> attribuer(@Param("idParticipant") int idParticipant,
+                            @Param("idsBadges") Collection<Integer> idsBadges,
+                            @Param("date") LocalDate date);
 }
@@ -0,0 +1,55 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.dto.CoinTransactionDto;
+import odk.groupe4.ApiCollabDev.models.CoinTransaction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CoinTransactionDao extends JpaRepository<CoinTransaction, Integer> {
+
+    String SELECTION_DTO =
+            "SELECT new odk.groupe4.ApiCollabDev.dto.CoinTransactionDto(t.id, t.type, t.montant, t.soldeApres, " +
+            "t.reference, t.dateCreation) FROM CoinTransaction t ";
+
+    // Applique un montant au solde et l'inscrit au registre, en une seule instruction et sans lecture préalable :
+    // deux écritures simultanées s'appliquent l'une après l'autre sur la ligne du contributeur.
+    // Le solde ne devient jamais négatif : un débit supérieur au solde n'écrit rien (résultat vide).
+    // La version de l'utilisateur est incrémentée, comme pour toute modification (ETag, verrouillage optimiste),
+    // et retournée avec le nouveau solde : [solde_apres, version], une ligne au plus.
+    // Elle ordonne les soldes d'un contributeur pour les classements (ClassementService).
+    @Query(nativeQuery = true, value =
+            "WITH solde AS (" +
+            "    UPDATE contributeur SET total_coin = total_coin + :montant " +
+            "    WHERE id_contributeur = :idContributeur AND total_coin + :montant >= 0 " +
+            "    RETURNING id_contributeur, total_coin), " +
+            "version AS (" +
+            "    UPDATE utilisateur u SET version = u.version + 1, date_modification = LOCALTIMESTAMP " +
+            "    FROM solde WHERE u.id_utilisateur = solde.id_contributeur RETURNING u.version), " +
+            "ecriture AS (" +
+            "    INSERT INTO coin_transaction (id_contributeur, type, montant, solde_apres, reference, date_creation) " +
+            "    SELECT id_contributeur, :type, :montant, total_coin, CAST(:reference AS integer), LOCALTIMESTAMP FROM solde " +
+            "    RETURNING solde_apres) " +
+            "SELECT ecriture.solde_apres, version.version FROM ecriture, version")
+    List<Object[]> enregistrer(@Param("idContributeur") int idContributeur,
+                               @Param("type") String type,
+                               @Param("montant") int montant,
+                               @Param("reference") Integer reference);
+
+    // Historique d'un contributeur, du plus récent au plus ancien (pagination par clé (dateCreation, id)).
+    @Query(SELECTION_DTO + "WHERE t.contributeur.id = :idContributeur ORDER BY t.dateCreation DESC, t.id DESC")
+    List<CoinTransactionDto> findPremierePage(@Param("idContributeur") int idContributeur, Limit limite);
+
+    @Query(SELECTION_DTO + "WHERE t.contributeur.id = :idContributeur " +
+           "AND (t.dateCreation, t.id) < (:dateCurseur, :idCurseur) ORDER BY t.dateCreation DESC, t.id DESC")
+    List<CoinTransactionDto> findPageApres(@Param("idContributeur") int idContributeur,
+                                           @Param("dateCurseur") LocalDateTime dateCurseur,
+                                           @Param("idCurseur") int idCurseur,
+                                           Limit limite);
+}
@@ -1,11 +1,14 @@
 package odk.groupe4.ApiCollabDev.dao;
 
 import odk.groupe4.ApiCollabDev.dto.ContributeurSoldeDto;
+import odk.groupe4.ApiCollabDev.dto.VersionRessourceDto;
 import odk.groupe4.ApiCollabDev.models.Contributeur;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +17,17 @@ public interface ContributeurDao extends JpaRepository<Contributeur, Integer> {
            "FROM Contributeur c WHERE c.id = :id")
     ContributeurSoldeDto totalCoinContributeur(int id);
 
+    // Lecture de la seule version du contributeur pour les GET conditionnels.
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.VersionRessourceDto(c.version, c.dateModification) " +
+           "FROM Contributeur c WHERE c.id = :id")
+    Optional<VersionRessourceDto> findVersionById(@Param("id") int id);
+
+    long countByActifTrue();
+
+    // Reconstruction des classements : solde de chaque contributeur ([id, totalCoin, version]).
+    @Query("SELECT c.id, c.totalCoin, c.version FROM Contributeur c")
+    List<Object[]> findSoldes();
+
     Optional<Contributeur> findByTelephone(String telephone);
     
     Optional<Contributeur> findByEmail(String email);
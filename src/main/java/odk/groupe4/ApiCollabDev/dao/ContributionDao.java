@@ -1,14 +1,22 @@
 package odk.groupe4.ApiCollabDev.dao;
 
+import jakarta.persistence.QueryHint;
+import odk.groupe4.ApiCollabDev.dto.ContributionDto;
+import odk.groupe4.ApiCollabDev.dto.ContributionRevueDto;
 import odk.groupe4.ApiCollabDev.models.Contribution;
 import odk.groupe4.ApiCollabDev.models.Participant;
 import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContributionDao extends JpaRepository<Contribution, Integer> {
@@ -22,4 +30,32 @@ public interface ContributionDao extends JpaRepository<Contribution, Integer> {
     List<Contribution> findByStatus(ContributionStatus status);
     
     List<Contribution> findByFonctionnaliteId(int fonctionnaliteId);
+
+    // Statistiques en temps réel : nombre de contributions par statut ([clé, total]).
+    @Query("SELECT c.status, COUNT(c) FROM Contribution c GROUP BY c.status")
+    List<Object[]> compterParStatut();
+
+    // Export : parcourt toutes les contributions par ID croissant, lues par lots de 500 lignes côté JDBC.
+    // Les IDs sont lus directement dans les clés étrangères (0 si absentes, comme ContributionDto).
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.ContributionDto(" +
+           "c.id, c.lienUrl, c.fileUrl, c.status, c.dateSoumission, " +
+           "COALESCE(c.fonctionnalite.id, 0), COALESCE(c.participant.id, 0), COALESCE(c.gestionnaire.id, 0)) " +
+           "FROM Contribution c " +
+           "ORDER BY c.id")
+    Stream<ContributionDto> streamAll();
+
+    // Revue en lot : statut, participant, contributeur et projet des contributions, en une requête
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.ContributionRevueDto(" +
+           "c.id, c.status, p.id, co.id, pr.id, f.titre) " +
+           "FROM Contribution c JOIN c.participant p JOIN p.contributeur co JOIN p.projet pr LEFT JOIN c.fonctionnalite f " +
+           "WHERE c.id IN :ids")
+    List<ContributionRevueDto> findPourRevue(@Param("ids") Collection<Integer> ids);
+
+    // Revue en lot : une seule requête pour toutes les contributions qui reçoivent le même statut du même gestionnaire
+    @Modifying
+    @Query("UPDATE Contribution c SET c.status = :status, c.gestionnaire = :gestionnaire WHERE c.id IN :ids")
+    int mettreAJourStatut(@Param("ids") Collection<Integer> ids,
+                          @Param("status") ContributionStatus status,
+                          @Param("gestionnaire") Participant gestionnaire);
 }
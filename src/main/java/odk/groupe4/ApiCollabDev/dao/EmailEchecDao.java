@@ -0,0 +1,56 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.dto.EmailEchecDto;
+import odk.groupe4.ApiCollabDev.models.EmailEchec;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailEchecDao extends JpaRepository<EmailEchec, Integer> {
+
+    String SELECTION_DTO =
+            "SELECT new odk.groupe4.ApiCollabDev.dto.EmailEchecDto(e.id, e.destinataire, e.sujet, e.tentatives, " +
+            "e.dateCreation, e.dateEchec, e.derniereErreur) FROM EmailEchec e ";
+
+    // Déplace un email abandonné de la file vers les lettres mortes, en une seule instruction.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "WITH email AS (DELETE FROM email_outbox WHERE id_email = :id RETURNING *) " +
+            "INSERT INTO email_echec (destinataire, sujet, message, message_html, tentatives, date_creation, date_echec, derniere_erreur, id_notification) " +
+            "SELECT destinataire, sujet, message, message_html, tentatives, date_creation, :dateEchec, :erreur, id_notification FROM email")
+    int archiver(@Param("id") long id, @Param("dateEchec") LocalDateTime dateEchec, @Param("erreur") String erreur);
+
+    // Remet en file (EN_ATTENTE, compteur de tentatives remis à zéro) les emails indiqués et les retire des lettres mortes.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "WITH echecs AS (DELETE FROM email_echec WHERE id_email_echec IN (:ids) RETURNING *) " +
+            "INSERT INTO email_outbox (destinataire, sujet, message, message_html, statut, tentatives, date_creation, id_notification) " +
+            "SELECT destinataire, sujet, message, message_html, 'EN_ATTENTE', 0, LOCALTIMESTAMP, id_notification " +
+            "FROM echecs ORDER BY id_email_echec")
+    int rejouer(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "WITH echecs AS (DELETE FROM email_echec RETURNING *) " +
+            "INSERT INTO email_outbox (destinataire, sujet, message, message_html, statut, tentatives, date_creation, id_notification) " +
+            "SELECT destinataire, sujet, message, message_html, 'EN_ATTENTE', 0, LOCALTIMESTAMP, id_notification " +
+            "FROM echecs ORDER BY id_email_echec")
+    int rejouerTout();
+
+    // Lettres mortes, de la plus récente à la plus ancienne (pagination par clé (dateEchec, id)).
+    @Query(SELECTION_DTO + "ORDER BY e.dateEchec DESC, e.id DESC")
+    List<EmailEchecDto> findPremierePage(Limit limite);
+
+    @Query(SELECTION_DTO + "WHERE (e.dateEchec, e.id) < (:dateCurseur, :idCurseur) ORDER BY e.dateEchec DESC, e.id DESC")
+    List<EmailEchecDto> findPageApres(@Param("dateCurseur") LocalDateTime dateCurseur,
+                                      @Param("idCurseur") int idCurseur,
+                                      Limit limite);
+}
@@ -0,0 +1,74 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.models.EmailOutbox;
+import odk.groupe4.ApiCollabDev.models.enums.StatutEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxDao extends JpaRepository<EmailOutbox, Long> {
+
+    // Verrouille un lot d'emails à envoyer (dont la date de nouvelle tentative est passée, ou dont la réservation
+    // a expiré) ; SKIP LOCKED : plusieurs dispatchers (ou instances) se partagent la file sans se bloquer.
+    @Query(nativeQuery = true, value =
+            "SELECT * FROM email_outbox " +
+            "WHERE (statut = 'EN_ATTENTE' " +
+            "       AND (date_prochaine_tentative IS NULL OR date_prochaine_tentative <= :maintenant)) " +
+            "OR (statut = 'EN_COURS' AND date_reservation < :reservationExpiree) " +
+            "ORDER BY id_email " +
+            "LIMIT :taille " +
+            "FOR UPDATE SKIP LOCKED")
+    List<EmailOutbox> verrouillerLot(@Param("maintenant") LocalDateTime maintenant,
+                                     @Param("reservationExpiree") LocalDateTime reservationExpiree,
+                                     @Param("taille") int taille);
+
+    // Verrouille les emails différés (mode DIGEST) des destinataires dont le plus ancien email
+    // a dépassé la fenêtre de regroupement, les destinataires les plus anciens d'abord.
+    @Query(nativeQuery = true, value =
+            "SELECT e.* FROM email_outbox e " +
+            "WHERE e.statut = 'DIFFERE' " +
+            "AND e.destinataire IN (" +
+            "    SELECT d.destinataire FROM email_outbox d " +
+            "    WHERE d.statut = 'DIFFERE' " +
+            "    GROUP BY d.destinataire " +
+            "    HAVING MIN(d.date_creation) <= :limite " +
+            "    ORDER BY MIN(d.date_creation) " +
+            "    LIMIT :taille" +
+            ") " +
+            "ORDER BY e.destinataire, e.id_email " +
+            "FOR UPDATE SKIP LOCKED")
+    List<EmailOutbox> verrouillerDifferes(@Param("limite") LocalDateTime limite,
+                                          @Param("taille") int taille);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.statut = :statut, e.dateEnvoi = :dateEnvoi, e.derniereErreur = :erreur " +
+           "WHERE e.id = :id")
+    int terminer(@Param("id") long id,
+                 @Param("statut") StatutEmail statut,
+                 @Param("dateEnvoi") LocalDateTime dateEnvoi,
+                 @Param("erreur") String erreur);
+
+    // Remet un email en attente après un échec, pas avant la date de nouvelle tentative
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.statut = odk.groupe4.ApiCollabDev.models.enums.StatutEmail.EN_ATTENTE, " +
+           "e.dateProchaineTentative = :prochaineTentative, e.derniereErreur = :erreur WHERE e.id = :id")
+    int reprogrammer(@Param("id") long id,
+                     @Param("prochaineTentative") LocalDateTime prochaineTentative,
+                     @Param("erreur") String erreur);
+
+    // Supprime un lot d'emails terminés (envoyés, ou intégrés à un récapitulatif) créés avant la limite.
+    // Par lots, dans l'ordre de la file : chaque DELETE reste court et ne retient pas longtemps ses verrous.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "DELETE FROM email_outbox WHERE id_email IN (" +
+            "    SELECT id_email FROM email_outbox " +
+            "    WHERE statut IN ('ENVOYE', 'REGROUPE') AND date_creation < :limite " +
+            "    ORDER BY id_email LIMIT :taille)")
+    int purgerTermines(@Param("limite") LocalDateTime limite, @Param("taille") int taille);
+}
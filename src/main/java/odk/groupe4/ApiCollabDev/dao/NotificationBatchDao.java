@@ -0,0 +1,85 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.dto.NotificationCreeeDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Écriture ensembliste des notifications : quel que soit le nombre de destinataires,
+ * les notifications, les compteurs de non lues et les emails (email_outbox) sont écrits en une seule instruction SQL.
+ * S'exécute dans la transaction JPA en cours (même connexion JDBC).
+ */
+@Repository
+public class NotificationBatchDao {
+
+    // Les tableaux (destinataire, sujet, message) sont dépliés par unnest ; les notifications insérées
+    // sont reprises par la CTE pour incrémenter le compteur de non lues de chaque destinataire,
+    // et pour créer les emails correspondants, avec l'adresse du destinataire ; elles sont enfin retournées
+    // pour être publiées aux clients connectés (les CTE d'écriture s'exécutent en entier même si la requête
+    // principale ne les lit pas). Les emails des destinataires en mode DIGEST sont différés jusqu'au prochain récapitulatif.
+    // La date de création est celle de l'application, comme pour une notification écrite par JPA (@CreationTimestamp) :
+    // la pagination (dateCreation, id) et le choix de la partition ne mélangent pas deux horloges.
+    private static final String INSERTION_NOTIFICATIONS =
+            "WITH nouvelles AS (" +
+            "    INSERT INTO notification (id_utilisateur, sujet, message, date_creation, lu) " +
+            "    SELECT t.id_utilisateur, t.sujet, t.message, CAST(? AS timestamp), false " +
+            "    FROM unnest(?::int[], ?::varchar[], ?::varchar[]) AS t(id_utilisateur, sujet, message) " +
+            "    RETURNING id_notification, id_utilisateur, sujet, message, date_creation" +
+            "), compteurs AS (" +
+            "    UPDATE utilisateur u SET notifications_non_lues = u.notifications_non_lues + c.total " +
+            "    FROM (SELECT id_utilisateur, COUNT(*) AS total FROM nouvelles GROUP BY id_utilisateur) c " +
+            "    WHERE u.id_utilisateur = c.id_utilisateur" +
+            "), emails AS (" +
+            "    INSERT INTO email_outbox (destinataire, sujet, message, statut, tentatives, date_creation, id_notification) " +
+            "    SELECT u.email, n.sujet, n.message, " +
+            "           CASE WHEN u.mode_notification = 'DIGEST' THEN 'DIFFERE' ELSE 'EN_ATTENTE' END, 0, n.date_creation, n.id_notification " +
+            "    FROM nouvelles n JOIN utilisateur u ON u.id_utilisateur = n.id_utilisateur " +
+            "    WHERE u.email IS NOT NULL" +
+            ") " +
+            "SELECT id_notification, id_utilisateur, sujet, message, date_creation FROM nouvelles";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public NotificationBatchDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insère une notification par destinataire, et l'email correspondant dans la file d'envoi.
+     * Les trois listes sont lues en parallèle (même taille).
+     *
+     * @param idsUtilisateurs Les IDs des destinataires.
+     * @param sujets          Le sujet de chaque notification.
+     * @param messages        Le message de chaque notification.
+     * @return Les notifications créées, avec leur destinataire.
+     */
+    public List<NotificationCreeeDto> inserer(List<Integer> idsUtilisateurs, List<String> sujets, List<String> messages) {
+        if (idsUtilisateurs.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime maintenant = LocalDateTime.now();
+        return jdbcTemplate.query(connexion -> {
+            PreparedStatement ps = connexion.prepareStatement(INSERTION_NOTIFICATIONS);
+            ps.setObject(1, maintenant);
+            ps.setArray(2, connexion.createArrayOf("integer", idsUtilisateurs.toArray()));
+            ps.setArray(3, connexion.createArrayOf("varchar", sujets.toArray()));
+            ps.setArray(4, connexion.createArrayOf("varchar", messages.toArray()));
+            return ps;
+        }, (ligne, numero) -> new NotificationCreeeDto(
+                ligne.getInt("id_utilisateur"),
+                new NotificationResponseDto(
+                        ligne.getInt("id_notification"),
+                        ligne.getString("sujet"),
+                        ligne.getString("message"),
+                        ligne.getTimestamp("date_creation").toLocalDateTime(),
+                        false)
+        ));
+    }
+}
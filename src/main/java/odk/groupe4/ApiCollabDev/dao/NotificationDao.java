@@ -1,7 +1,63 @@
 package odk.groupe4.ApiCollabDev.dao;
 
+import odk.groupe4.ApiCollabDev.dto.NotificationResponseDto;
 import odk.groupe4.ApiCollabDev.models.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface NotificationDao extends JpaRepository<Notification,Integer> {
+
+    String SELECTION_RESPONSE_DTO =
+            "SELECT new odk.groupe4.ApiCollabDev.dto.NotificationResponseDto(n.id, n.sujet, n.message, n.dateCreation, n.lu) " +
+            "FROM Notification n " +
+            "WHERE n.utilisateur.id = :idUtilisateur AND (:nonLuesSeulement = false OR n.lu = false) " +
+            "AND n.dateCreation >= :depuis ";
+
+    // Boîte de réception : première page, de la plus récente à la plus ancienne (index idx_notification_utilisateur_date).
+    // Les bornes sur dateCreation (début de conservation, date du curseur) limitent la lecture aux partitions concernées.
+    @Query(SELECTION_RESPONSE_DTO + "ORDER BY n.dateCreation DESC, n.id DESC")
+    List<NotificationResponseDto> findPremierePage(@Param("idUtilisateur") int idUtilisateur,
+                                                   @Param("nonLuesSeulement") boolean nonLuesSeulement,
+                                                   @Param("depuis") LocalDateTime depuis,
+                                                   Limit limite);
+
+    // Boîte de réception : page suivante, strictement après le couple (dateCreation, id) du curseur.
+    @Query(SELECTION_RESPONSE_DTO + "AND n.dateCreation <= :dateCurseur AND (n.dateCreation, n.id) < (:dateCurseur, :idCurseur) " +
+           "ORDER BY n.dateCreation DESC, n.id DESC")
+    List<NotificationResponseDto> findPageApres(@Param("idUtilisateur") int idUtilisateur,
+                                                @Param("nonLuesSeulement") boolean nonLuesSeulement,
+                                                @Param("depuis") LocalDateTime depuis,
+                                                @Param("dateCurseur") LocalDateTime dateCurseur,
+                                                @Param("idCurseur") int idCurseur,
+                                                Limit limite);
+
+    // Rejeu du flux SSE : notifications créées après le Last-Event-ID du client, dans l'ordre de création.
+    // La borne sur dateCreation (début de conservation) limite la lecture aux partitions conservées.
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.NotificationResponseDto(n.id, n.sujet, n.message, n.dateCreation, n.lu) " +
+           "FROM Notification n WHERE n.utilisateur.id = :idUtilisateur AND n.dateCreation >= :depuis " +
+           "AND n.id > :dernierId ORDER BY n.id")
+    List<NotificationResponseDto> findApres(@Param("idUtilisateur") int idUtilisateur,
+                                            @Param("depuis") LocalDateTime depuis,
+                                            @Param("dernierId") int dernierId,
+                                            Limit limite);
+
+    // Marque comme lues les notifications indiquées de l'utilisateur ; retourne le nombre réellement passées à lu.
+    // La borne sur la date limite la mise à jour aux partitions conservées, comme les lectures.
+    @Modifying
+    @Query("UPDATE Notification n SET n.lu = true " +
+           "WHERE n.utilisateur.id = :idUtilisateur AND n.id IN :ids AND n.lu = false AND n.dateCreation >= :depuis")
+    int marquerLues(@Param("idUtilisateur") int idUtilisateur, @Param("ids") Collection<Integer> ids,
+                    @Param("depuis") LocalDateTime depuis);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.lu = true " +
+           "WHERE n.utilisateur.id = :idUtilisateur AND n.lu = false AND n.dateCreation >= :depuis")
+    int marquerToutesLues(@Param("idUtilisateur") int idUtilisateur, @Param("depuis") LocalDateTime depuis);
 }
@@ -1,12 +1,22 @@
 package odk.groupe4.ApiCollabDev.dao;
 
+import jakarta.persistence.QueryHint;
+import odk.groupe4.ApiCollabDev.dto.ParticipantResponseDto;
 import odk.groupe4.ApiCollabDev.models.Contributeur;
 import odk.groupe4.ApiCollabDev.models.Participant;
 import odk.groupe4.ApiCollabDev.models.Projet;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ParticipantDao extends JpaRepository<Participant, Integer>  {
@@ -15,4 +25,79 @@ public interface ParticipantDao extends JpaRepository<Participant, Integer>  {
     Participant findByProjetAndId(Projet projet, int id);
     
     List<Participant> findByProjetId(int projetId);
+
+    // IDs des contributeurs participant à un projet, pour les notifier sans charger les entités
+    @Query("SELECT p.contributeur.id FROM Participant p WHERE p.projet.id = :idProjet")
+    List<Integer> findContributeurIdsByProjetId(@Param("idProjet") int idProjet);
+
+    // Recompte les contributions validées du participant ; la ligne est verrouillée avant la lecture de l'ancien
+    // compteur et le reste jusqu'à la fin de la transaction. Idempotent : une étape de récompense reprise ne compte pas deux fois.
+    // Retourne [ancien compteur, nouveau compteur, révision, statut], une ligne au plus.
+    @Query(nativeQuery = true, value =
+            "WITH ancien AS (SELECT id_participant, nombre_contributions_validees FROM participant " +
+            "    WHERE id_participant = :id FOR UPDATE) " +
+            "UPDATE participant p SET nombre_contributions_validees = " +
+            "(SELECT COUNT(*) FROM contribution c WHERE c.id_participant = :id AND c.status = 'VALIDE'), " +
+            "revision = p.revision + 1 FROM ancien WHERE p.id_participant = ancien.id_participant " +
+            "RETURNING ancien.nombre_contributions_validees, p.nombre_contributions_validees, p.revision, p.statut")
+    List<Object[]> recompterContributionsValidees(@Param("id") int id);
+
+    // Recompte en une requête les contributions validées de plusieurs participants après des dévalidations.
+    // Le compteur ne fait que baisser : les validations dont l'étape BADGES n'a pas encore été exécutée
+    // ne l'augmentent qu'à cette étape, qui attribue les badges des seuils franchis entre l'ancien et le nouveau compteur.
+    // Retourne [id_participant, id_projet, id_contributeur, nombre_contributions_validees, statut, revision] de chacun.
+    @Query(nativeQuery = true, value =
+            "UPDATE participant p SET nombre_contributions_validees = LEAST(p.nombre_contributions_validees, " +
+            "(SELECT COUNT(*) FROM contribution c WHERE c.id_participant = p.id_participant AND c.status = 'VALIDE')), " +
+            "revision = p.revision + 1 WHERE p.id_participant IN (:ids) " +
+            "RETURNING p.id_participant, p.id_projet, p.id_contributeur, p.nombre_contributions_validees, p.statut, p.revision")
+    List<Object[]> recompterApresDevalidation(@Param("ids") Collection<Integer> ids);
+
+    // Reconstruction des classements : participations acceptées, et révisions des autres participations déjà modifiées
+    // ([id, id du projet, id du contributeur, contributions validées, révision, statut]).
+    @Query("SELECT p.id, p.projet.id, p.contributeur.id, p.nombreContributionsValidees, p.revision, p.statut FROM Participant p " +
+           "WHERE p.statut = odk.groupe4.ApiCollabDev.models.enums.ParticipantStatus.ACCEPTE OR p.revision > 0")
+    List<Object[]> findParticipationsClassement();
+
+    // Participations GESTIONNAIRE d'un contributeur dans les projets donnés, en une requête (revue en lot)
+    @Query("SELECT p FROM Participant p WHERE p.contributeur.id = :idContributeur " +
+           "AND p.profil = odk.groupe4.ApiCollabDev.models.enums.ParticipantProfil.GESTIONNAIRE AND p.projet.id IN :idsProjets")
+    List<Participant> findGestionnaires(@Param("idContributeur") int idContributeur,
+                                        @Param("idsProjets") Collection<Integer> idsProjets);
+
+    // Passe le participant au statut donné s'il ne l'a pas déjà, en une instruction : la ligne est verrouillée
+    // avant la lecture de l'ancien statut, deux appels simultanés s'appliquent donc l'un après l'autre.
+    // Retourne l'ancien statut, ou rien si le participant avait déjà ce statut (ou n'existe pas).
+    @Query(nativeQuery = true, value =
+            "WITH ancien AS (SELECT id_participant, statut FROM participant WHERE id_participant = :id FOR UPDATE) " +
+            "UPDATE participant p SET statut = :statut, revision = p.revision + 1 FROM ancien " +
+            "WHERE p.id_participant = ancien.id_participant AND ancien.statut IS DISTINCT FROM :statut " +
+            "RETURNING COALESCE(ancien.statut, '')")
+    Optional<String> changerStatut(@Param("id") int id, @Param("statut") String statut);
+
+    // Débloque l'accès au projet si ce n'est pas déjà fait : 0 si un autre appel l'a débloqué entre-temps.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE participant SET est_debloque = true WHERE id_participant = :id AND NOT est_debloque")
+    int debloquer(@Param("id") int id);
+
+    // Recalcule tous les compteurs de contributions validées, en ne réécrivant que ceux qui ont dérivé.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE participant p SET nombre_contributions_validees = COALESCE(c.total, 0), revision = p.revision + 1 " +
+            "FROM participant q " +
+            "LEFT JOIN (SELECT id_participant, COUNT(*) AS total FROM contribution WHERE status = 'VALIDE' GROUP BY id_participant) c " +
+            "ON c.id_participant = q.id_participant " +
+            "WHERE p.id_participant = q.id_participant " +
+            "AND p.nombre_contributions_validees <> COALESCE(c.total, 0)")
+    int recalculerContributionsValidees();
+
+    // Export : parcourt tous les participants par ID croissant, lus par lots de 500 lignes côté JDBC.
+    // Le Stream doit être consommé puis fermé dans une transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.ParticipantResponseDto(" +
+           "p.id, p.profil, p.statut, p.scoreQuiz, p.estDebloque, c.nom, c.prenom, c.email, pr.titre) " +
+           "FROM Participant p LEFT JOIN p.contributeur c LEFT JOIN p.projet pr " +
+           "ORDER BY p.id")
+    Stream<ParticipantResponseDto> streamAllResponses();
 }
@@ -1,22 +1,149 @@
 package odk.groupe4.ApiCollabDev.dao;
 
-import odk.groupe4.ApiCollabDev.models.Contributeur;
+import jakarta.persistence.QueryHint;
+import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.dto.ResultatRechercheProjet;
+import odk.groupe4.ApiCollabDev.dto.VersionRessourceDto;
 import odk.groupe4.ApiCollabDev.models.Projet;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
-import odk.groupe4.ApiCollabDev.models.enums.ProjectStatus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjetDao extends JpaRepository<Projet, Integer> {
-    List<Projet> findByStatus(ProjectStatus status);
-    List<Projet> findByDomaine(ProjectDomain domaine);
-    List<Projet> findBySecteur(ProjectSector secteur);
-    List<Projet> findByStatusAndDomaine(ProjectStatus status, ProjectDomain domaine);
-    List<Projet> findByStatusAndSecteur(ProjectStatus status, ProjectSector secteur);
-    List<Projet> findByStatusAndDomaineAndSecteur(ProjectStatus status, ProjectDomain domaine, ProjectSector secteur);
-    List<Projet> findByCreateur(Contributeur contributeur);
+public interface ProjetDao extends JpaRepository<Projet, Integer>, JpaSpecificationExecutor<Projet>, ProjetDaoCustom {
+
+    // Projection commune : construit directement le ProjetResponseDto en une seule requête SQL,
+    // avec le créateur et le validateur joints et les compteurs dénormalisés du projet.
+    String SELECTION_RESPONSE_DTO =
+            "SELECT new odk.groupe4.ApiCollabDev.dto.ProjetResponseDto(" +
+            "p.id, p.titre, p.description, p.domaine, p.secteur, p.urlCahierDeCharge, p.status, p.niveau, " +
+            "p.dateCreation, c.nom, c.prenom, v.email, " +
+            "p.nombreParticipants, p.nombreFonctionnalites, p.nombreFonctionnalitesTerminees) " +
+            "FROM Projet p LEFT JOIN p.createur c LEFT JOIN p.validateur v ";
+
+    // Recherche plein texte commune : la colonne générée "recherche" et son index GIN sont créés par schema-postgresql.sql.
+    // Les filtres sont passés sous forme de texte (nom de l'enum) ou null pour les ignorer.
+    String RECHERCHE_PLEIN_TEXTE =
+            "SELECT p.id_projet AS id, ts_rank(p.recherche, requete) AS rang " +
+            "FROM projet p, websearch_to_tsquery('french', :q) requete " +
+            "WHERE p.recherche @@ requete " +
+            "AND (CAST(:status AS text) IS NULL OR p.status = CAST(:status AS text)) " +
+            "AND (CAST(:domaine AS text) IS NULL OR p.domaine = CAST(:domaine AS text)) " +
+            "AND (CAST(:secteur AS text) IS NULL OR p.secteur = CAST(:secteur AS text)) ";
+
+    @Query(SELECTION_RESPONSE_DTO + "WHERE p.id = :id")
+    Optional<ProjetResponseDto> findResponseById(@Param("id") int id);
+
+    // Lecture de la seule version du projet (et de son créateur et validateur) pour les GET conditionnels.
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.VersionRessourceDto(" +
+           "p.version, p.dateModification, c.version, c.dateModification, v.version, v.dateModification) " +
+           "FROM Projet p LEFT JOIN p.createur c LEFT JOIN p.validateur v WHERE p.id = :id")
+    Optional<VersionRessourceDto> findVersionById(@Param("id") int id);
+
+    @Query(SELECTION_RESPONSE_DTO + "WHERE p.domaine = :domaine")
+    List<ProjetResponseDto> findResponsesByDomaine(@Param("domaine") ProjectDomain domaine);
+
+    @Query(SELECTION_RESPONSE_DTO + "WHERE p.secteur = :secteur")
+    List<ProjetResponseDto> findResponsesBySecteur(@Param("secteur") ProjectSector secteur);
+
+    @Query(SELECTION_RESPONSE_DTO + "WHERE c.id = :idCreateur")
+    List<ProjetResponseDto> findResponsesByCreateurId(@Param("idCreateur") int idCreateur);
+
+    // Charge des projets avec leur créateur en une requête (modération en lot).
+    @Query("SELECT p FROM Projet p LEFT JOIN FETCH p.createur WHERE p.id IN :ids")
+    List<Projet> findAllAvecCreateurByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SELECTION_RESPONSE_DTO + "WHERE p.id IN :ids")
+    List<ProjetResponseDto> findResponsesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Export : parcourt tous les projets par ID croissant, lus par lots de 500 lignes côté JDBC.
+    // Le Stream doit être consommé puis fermé dans une transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECTION_RESPONSE_DTO + "ORDER BY p.id")
+    Stream<ProjetResponseDto> streamAllResponses();
+
+    // Recherche plein texte : première page, par pertinence décroissante puis ID décroissant.
+    @Query(nativeQuery = true, value = RECHERCHE_PLEIN_TEXTE +
+            "ORDER BY rang DESC, p.id_projet DESC LIMIT :limite")
+    List<ResultatRechercheProjet> rechercherPremierePage(@Param("q") String q,
+                                                         @Param("status") String status,
+                                                         @Param("domaine") String domaine,
+                                                         @Param("secteur") String secteur,
+                                                         @Param("limite") int limite);
+
+    // Recherche plein texte : page suivante, strictement après le couple (rang, id) du curseur.
+    @Query(nativeQuery = true, value = RECHERCHE_PLEIN_TEXTE +
+            "AND (ts_rank(p.recherche, requete), p.id_projet) < (CAST(:rangCurseur AS real), :idCurseur) " +
+            "ORDER BY rang DESC, p.id_projet DESC LIMIT :limite")
+    List<ResultatRechercheProjet> rechercherPageApres(@Param("q") String q,
+                                                      @Param("status") String status,
+                                                      @Param("domaine") String domaine,
+                                                      @Param("secteur") String secteur,
+                                                      @Param("rangCurseur") float rangCurseur,
+                                                      @Param("idCurseur") int idCurseur,
+                                                      @Param("limite") int limite);
+
+    // Statistiques en temps réel : nombre de projets par statut, domaine et secteur ([clé, total]).
+    @Query("SELECT p.status, COUNT(p) FROM Projet p GROUP BY p.status")
+    List<Object[]> compterParStatut();
+
+    @Query("SELECT p.domaine, COUNT(p) FROM Projet p GROUP BY p.domaine")
+    List<Object[]> compterParDomaine();
+
+    @Query("SELECT p.secteur, COUNT(p) FROM Projet p GROUP BY p.secteur")
+    List<Object[]> compterParSecteur();
+
+    // Mises à jour atomiques des compteurs dénormalisés, à appeler dans la transaction de l'écriture concernée.
+    // VERSIONED incrémente la version du projet : l'ETag change avec les compteurs affichés.
+    @Modifying
+    @Query("UPDATE VERSIONED Projet p SET p.nombreParticipants = p.nombreParticipants + :delta, " +
+           "p.dateModification = LOCAL DATETIME WHERE p.id = :id")
+    int ajusterNombreParticipants(@Param("id") int id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE VERSIONED Projet p SET p.nombreFonctionnalites = p.nombreFonctionnalites + :delta, " +
+           "p.dateModification = LOCAL DATETIME WHERE p.id = :id")
+    int ajusterNombreFonctionnalites(@Param("id") int id, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE VERSIONED Projet p SET p.nombreFonctionnalitesTerminees = p.nombreFonctionnalitesTerminees + :delta, " +
+           "p.dateModification = LOCAL DATETIME WHERE p.id = :id")
+    int ajusterNombreFonctionnalitesTerminees(@Param("id") int id, @Param("delta") int delta);
+
+    // Recalcule tous les compteurs en une seule instruction (agrégats par projet),
+    // en ne réécrivant que les projets dont les compteurs ont dérivé.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE projet p SET " +
+            "nombre_participants = c.participants, " +
+            "nombre_fonctionnalites = c.fonctionnalites, " +
+            "nombre_fonctionnalites_terminees = c.terminees, " +
+            "version = p.version + 1, " +
+            "date_modification = LOCALTIMESTAMP " +
+            "FROM (SELECT pr.id_projet, " +
+            "             COALESCE(pa.total, 0) AS participants, " +
+            "             COALESCE(f.total, 0) AS fonctionnalites, " +
+            "             COALESCE(f.terminees, 0) AS terminees " +
+            "      FROM projet pr " +
+            "      LEFT JOIN (SELECT id_projet, COUNT(*) AS total FROM participant " +
+            "                 WHERE statut = 'ACCEPTE' GROUP BY id_projet) pa ON pa.id_projet = pr.id_projet " +
+            "      LEFT JOIN (SELECT id_projet, COUNT(*) AS total, " +
+            "                        COUNT(*) FILTER (WHERE status_features = 'TERMINE') AS terminees " +
+            "                 FROM fonctionnalites GROUP BY id_projet) f ON f.id_projet = pr.id_projet) c " +
+            "WHERE p.id_projet = c.id_projet " +
+            "AND (p.nombre_participants, p.nombre_fonctionnalites, p.nombre_fonctionnalites_terminees) " +
+            "    IS DISTINCT FROM (c.participants, c.fonctionnalites, c.terminees)")
+    int recalculerCompteurs();
 }
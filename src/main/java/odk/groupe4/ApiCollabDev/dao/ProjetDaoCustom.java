@@ -0,0 +1,23 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.models.Projet;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Requêtes de ProjetDao construites avec l'API Criteria.
+ */
+public interface ProjetDaoCustom {
+
+    /**
+     * Construit directement les ProjetResponseDto des projets qui satisfont la spécification,
+     * du plus récent au plus ancien (dateCreation puis id décroissants).
+     *
+     * @param specification Les critères à appliquer (voir {@link ProjetSpecifications}).
+     * @param limite        Le nombre maximal de projets à lire.
+     * @return Les projets trouvés, dans l'ordre de pagination par clé.
+     */
+    List<ProjetResponseDto> findResponses(Specification<Projet> specification, int limite);
+}
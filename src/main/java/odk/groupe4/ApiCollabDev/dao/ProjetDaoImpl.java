@@ -0,0 +1,50 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.models.Administrateur;
+import odk.groupe4.ApiCollabDev.models.Contributeur;
+import odk.groupe4.ApiCollabDev.models.Projet;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Implémentation du fragment ProjetDaoCustom, rattachée à ProjetDao par Spring Data (suffixe Impl).
+public class ProjetDaoImpl implements ProjetDaoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProjetResponseDto> findResponses(Specification<Projet> specification, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProjetResponseDto> query = cb.createQuery(ProjetResponseDto.class);
+        Root<Projet> p = query.from(Projet.class);
+        Join<Projet, Contributeur> c = p.join("createur", JoinType.LEFT);
+        Join<Projet, Administrateur> v = p.join("validateur", JoinType.LEFT);
+
+        // Même projection que ProjetDao.SELECTION_RESPONSE_DTO.
+        query.select(cb.construct(ProjetResponseDto.class,
+                p.get("id"), p.get("titre"), p.get("description"), p.get("domaine"), p.get("secteur"),
+                p.get("urlCahierDeCharge"), p.get("status"), p.get("niveau"), p.get("dateCreation"),
+                c.get("nom"), c.get("prenom"), v.get("email"),
+                p.get("nombreParticipants"), p.get("nombreFonctionnalites"), p.get("nombreFonctionnalitesTerminees")));
+
+        Predicate predicat = specification.toPredicate(p, query, cb);
+        if (predicat != null) {
+            query.where(predicat);
+        }
+        query.orderBy(cb.desc(p.get("dateCreation")), cb.desc(p.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
@@ -0,0 +1,86 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.dto.ProjetFiltreDto;
+import odk.groupe4.ApiCollabDev.models.Projet;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères réutilisables sur les projets, combinés par {@link #filtrer(ProjetFiltreDto)}.
+ * Seuls les critères renseignés produisent un prédicat : la requête générée ne contient
+ * que les colonnes filtrées et peut s'appuyer sur les index composites de la table projet.
+ */
+public final class ProjetSpecifications {
+
+    private ProjetSpecifications() {
+    }
+
+    /**
+     * Combine en ET tous les critères renseignés du filtre.
+     *
+     * @param filtre Les critères de recherche, ou null pour aucun.
+     * @return La spécification correspondante (sans prédicat si aucun critère n'est renseigné).
+     */
+    public static Specification<Projet> filtrer(ProjetFiltreDto filtre) {
+        List<Specification<Projet>> criteres = new ArrayList<>();
+        if (filtre != null) {
+            if (filtre.getStatus() != null) {
+                criteres.add(egal("status", filtre.getStatus()));
+            }
+            if (filtre.getDomaine() != null) {
+                criteres.add(egal("domaine", filtre.getDomaine()));
+            }
+            if (filtre.getSecteur() != null) {
+                criteres.add(egal("secteur", filtre.getSecteur()));
+            }
+            if (filtre.getNiveau() != null) {
+                criteres.add(egal("niveau", filtre.getNiveau()));
+            }
+            if (filtre.getIdCreateur() != null) {
+                criteres.add(creePar(filtre.getIdCreateur()));
+            }
+            if (filtre.getDateDebut() != null) {
+                criteres.add(creeDepuis(filtre.getDateDebut()));
+            }
+            if (filtre.getDateFin() != null) {
+                criteres.add(creeJusquA(filtre.getDateFin()));
+            }
+        }
+        return Specification.allOf(criteres);
+    }
+
+    // Projets dont l'attribut vaut la valeur donnée
+    public static Specification<Projet> egal(String attribut, Object valeur) {
+        return (root, query, cb) -> cb.equal(root.get(attribut), valeur);
+    }
+
+    // Projets créés par un contributeur (compare directement la clé étrangère id_createur, sans jointure)
+    public static Specification<Projet> creePar(int idCreateur) {
+        return (root, query, cb) -> cb.equal(root.get("createur").get("id"), idCreateur);
+    }
+
+    // Projets créés à partir de cette date (incluse)
+    public static Specification<Projet> creeDepuis(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateCreation"), date);
+    }
+
+    // Projets créés jusqu'à cette date (incluse)
+    public static Specification<Projet> creeJusquA(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dateCreation"), date);
+    }
+
+    // Pagination par clé : projets strictement après le couple (dateCreation, id) du curseur,
+    // dans l'ordre du plus récent au plus ancien.
+    public static Specification<Projet> apres(LocalDate dateCurseur, int idCurseur) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("dateCreation"), dateCurseur),
+                cb.and(
+                        cb.equal(root.get("dateCreation"), dateCurseur),
+                        cb.lessThan(root.get("id"), idCurseur)
+                )
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package odk.groupe4.ApiCollabDev.dao;
+
+import odk.groupe4.ApiCollabDev.dto.StatistiquesEtapeRecompenseDto;
+import odk.groupe4.ApiCollabDev.models.RecompenseContribution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecompenseContributionDao extends JpaRepository<RecompenseContribution, Integer> {
+
+    // Planifie les récompenses de contributions existantes, en une requête ; celles déjà planifiées (ou récompensées)
+    // sont ignorées. Retourne les IDs des contributions planifiées.
+    @Query(nativeQuery = true, value =
+            "INSERT INTO recompense_contribution (id_contribution, etape, tentatives, date_creation, date_prochaine_tentative) " +
+            "SELECT c.id_contribution, 'COINS', 0, LOCALTIMESTAMP, :reprise FROM contribution c " +
+            "WHERE c.id_contribution IN (:idsContributions) " +
+            "ON CONFLICT (id_contribution) DO NOTHING " +
+            "RETURNING id_contribution")
+    List<Integer> planifier(@Param("idsContributions") Collection<Integer> idsContributions,
+                            @Param("reprise") LocalDateTime reprise);
+
+    // Annule les récompenses de contributions dont aucune étape n'a encore abouti (une étape en échec est annulée en entier).
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "DELETE FROM recompense_contribution WHERE id_contribution IN (:idsContributions) AND etape = 'COINS'")
+    int annuler(@Param("idsContributions") Collection<Integer> idsContributions);
+
+    // Verrouille la ligne pour exécuter son étape courante ; vide si un autre thread (ou instance) l'exécute déjà.
+    @Query(nativeQuery = true, value =
+            "SELECT * FROM recompense_contribution WHERE id_contribution = :idContribution FOR UPDATE SKIP LOCKED")
+    Optional<RecompenseContribution> verrouiller(@Param("idContribution") int idContribution);
+
+    // Contributions dont les récompenses sont inachevées et dont la date de reprise est passée, les plus anciennes d'abord.
+    @Query(nativeQuery = true, value =
+            "SELECT id_contribution FROM recompense_contribution " +
+            "WHERE etape <> 'TERMINEE' AND date_prochaine_tentative <= :maintenant " +
+            "ORDER BY date_prochaine_tentative LIMIT :taille")
+    List<Integer> findAReprendre(@Param("maintenant") LocalDateTime maintenant, @Param("taille") int taille);
+
+    @Query("SELECT new odk.groupe4.ApiCollabDev.dto.StatistiquesEtapeRecompenseDto(r.etape, COUNT(r), " +
+           "SUM(CASE WHEN r.tentatives > 0 THEN 1 ELSE 0 END)) " +
+           "FROM RecompenseContribution r WHERE r.etape <> odk.groupe4.ApiCollabDev.models.enums.EtapeRecompense.TERMINEE " +
+           "GROUP BY r.etape ORDER BY r.etape")
+    List<StatistiquesEtapeRecompenseDto> compterEnCours();
+}
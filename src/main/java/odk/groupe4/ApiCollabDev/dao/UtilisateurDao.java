@@ -2,6 +2,9 @@ package odk.groupe4.ApiCollabDev.dao;
 
 import odk.groupe4.ApiCollabDev.models.Utilisateur;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +12,28 @@ import java.util.Optional;
 @Repository
 public interface UtilisateurDao extends JpaRepository<Utilisateur, Integer> {
     Optional<Utilisateur> findByEmail(String email);
+
+    // Lecture du seul compteur de notifications non lues (table utilisateur uniquement, sans les sous-classes)
+    @Query(nativeQuery = true, value =
+            "SELECT notifications_non_lues FROM utilisateur WHERE id_utilisateur = :id")
+    Optional<Integer> findNotificationsNonLuesById(@Param("id") int id);
+
+    // Mise à jour atomique du compteur, dans la transaction de l'écriture des notifications.
+    // Ni la version ni la date de modification ne changent : le compteur ne fait pas partie du profil.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE utilisateur SET notifications_non_lues = GREATEST(notifications_non_lues + :delta, 0) " +
+            "WHERE id_utilisateur = :id")
+    int ajusterNotificationsNonLues(@Param("id") int id, @Param("delta") int delta);
+
+    // Recalcule tous les compteurs de notifications non lues, en ne réécrivant que ceux qui ont dérivé.
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE utilisateur u SET notifications_non_lues = COALESCE(n.total, 0) " +
+            "FROM utilisateur v " +
+            "LEFT JOIN (SELECT id_utilisateur, COUNT(*) AS total FROM notification WHERE NOT lu GROUP BY id_utilisateur) n " +
+            "ON n.id_utilisateur = v.id_utilisateur " +
+            "WHERE u.id_utilisateur = v.id_utilisateur " +
+            "AND u.notifications_non_lues <> COALESCE(n.total, 0)")
+    int recalculerNotificationsNonLues();
 }
@@ -0,0 +1,16 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassementEntreeDto {
+    private int rang; // Les ex æquo partagent le même rang
+    private int idContributeur;
+    private String nom;
+    private String prenom;
+    private long score;
+}
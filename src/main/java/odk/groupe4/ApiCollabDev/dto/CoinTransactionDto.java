@@ -0,0 +1,20 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.TypeTransactionCoin;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoinTransactionDto {
+    private int id;
+    private TypeTransactionCoin type;
+    private int montant;
+    private int soldeApres;
+    private Integer reference;
+    private LocalDateTime dateCreation;
+}
@@ -0,0 +1,19 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
+
+// État d'une contribution lu pour une revue en lot, sans charger les entités
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionRevueDto {
+    private int id;
+    private ContributionStatus status;
+    private int idParticipant;
+    private int idContributeur;
+    private int idProjet;
+    private String titreFonctionnalite;
+}
@@ -0,0 +1,90 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur opaque utilisé pour la pagination par clé (keyset).
+ * Il contient la clé de tri du dernier élément renvoyé et son identifiant,
+ * afin que la page suivante reprenne exactement après cet élément.
+ */
+@Getter @AllArgsConstructor
+public class Curseur {
+    private static final String SEPARATEUR = "|";
+
+    private final String cle; // Valeur de la colonne de tri du dernier élément (ex: date de création)
+    private final int id;     // Identifiant du dernier élément, utilisé pour départager les égalités
+
+    /**
+     * Encode le curseur en un jeton opaque transmissible dans une URL.
+     *
+     * @return le jeton encodé en Base64 URL-safe
+     */
+    public String encoder() {
+        String brut = cle + SEPARATEUR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(brut.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton produit par {@link #encoder()}.
+     *
+     * @param jeton le jeton reçu du client
+     * @return le curseur correspondant
+     * @throws IllegalArgumentException si le jeton est mal formé
+     */
+    public static Curseur decoder(String jeton) {
+        try {
+            String brut = new String(Base64.getUrlDecoder().decode(jeton), StandardCharsets.UTF_8);
+            int position = brut.lastIndexOf(SEPARATEUR);
+            if (position <= 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            return new Curseur(brut.substring(0, position), Integer.parseInt(brut.substring(position + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException et les erreurs Base64 sont des IllegalArgumentException
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    /**
+     * @return la clé du curseur lue comme une date et heure (tri par date de création, d'échec...)
+     * @throws IllegalArgumentException si la clé n'est pas une date et heure
+     */
+    public LocalDateTime dateHeure() {
+        try {
+            return LocalDateTime.parse(cle);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    /**
+     * @return la clé du curseur lue comme une date
+     * @throws IllegalArgumentException si la clé n'est pas une date
+     */
+    public LocalDate date() {
+        try {
+            return LocalDate.parse(cle);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    /**
+     * @return la clé du curseur lue comme un rang de pertinence (recherche plein texte)
+     * @throws IllegalArgumentException si la clé n'est pas un nombre
+     */
+    public float rang() {
+        try {
+            return Float.parseFloat(cle);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
+
+@Data @NoArgsConstructor @AllArgsConstructor
+public class DecisionContributionDto {
+    @NotNull
+    private Integer idContribution;
+    @NotNull
+    private ContributionStatus status; // Nouveau statut de la contribution
+}
@@ -0,0 +1,20 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailEchecDto {
+    private int id;
+    private String destinataire;
+    private String sujet;
+    private int tentatives;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateEchec;
+    private String derniereErreur;
+}
@@ -0,0 +1,16 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarquerNotificationsLuesDto {
+    // IDs des notifications à marquer comme lues ; vide ou absent : toutes les notifications de l'utilisateur
+    private List<@NotNull Integer> idsNotifications;
+}
@@ -0,0 +1,19 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.DecisionModeration;
+
+import java.util.List;
+
+@Data @NoArgsConstructor @AllArgsConstructor
+public class ModerationProjetsDto {
+    @NotEmpty @Size(max = 200)
+    private List<@NotNull Integer> idsProjets; // Projets en attente à modérer
+    @NotNull
+    private DecisionModeration decision; // VALIDER (statut OUVERT) ou REJETER (projet supprimé)
+}
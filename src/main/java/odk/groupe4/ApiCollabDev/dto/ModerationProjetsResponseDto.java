@@ -0,0 +1,18 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.DecisionModeration;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationProjetsResponseDto {
+    private DecisionModeration decision;
+    private int nombreTraites;
+    private int nombreReussis;
+    private List<ResultatModerationDto> resultats;
+}
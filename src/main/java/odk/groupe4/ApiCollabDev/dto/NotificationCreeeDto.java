@@ -0,0 +1,14 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Notification tout juste créée et son destinataire, publiée aux clients connectés après le commit
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCreeeDto {
+    private int idUtilisateur;
+    private NotificationResponseDto notification;
+}
@@ -0,0 +1,18 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.Utilisateur;
+
+/**
+ * Notification à créer dans un lot (voir NotificationService.createNotifications).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationLotDto {
+    private Utilisateur utilisateur;
+    private String sujet;
+    private String message;
+}
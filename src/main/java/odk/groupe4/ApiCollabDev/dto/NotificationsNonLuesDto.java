@@ -0,0 +1,13 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationsNonLuesDto {
+    private int idUtilisateur;
+    private int nonLues;
+}
@@ -0,0 +1,33 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCurseurDto<T> {
+    private List<T> contenu;        // Éléments de la page courante
+    private int taille;             // Nombre d'éléments renvoyés
+    private String curseurSuivant;  // Jeton à renvoyer pour obtenir la page suivante, null s'il n'y en a plus
+
+    /**
+     * Construit une page à partir des éléments lus en base : on en lit un de plus que la taille demandée,
+     * sa présence indique qu'il existe une page suivante.
+     *
+     * @param lus     Les éléments lus, au plus taille + 1, dans l'ordre de la pagination.
+     * @param taille  La taille de la page.
+     * @param curseur Le curseur d'un élément (clé de tri et identifiant).
+     * @return La page, avec le curseur de son dernier élément s'il existe une page suivante.
+     */
+    public static <T> PageCurseurDto<T> construire(List<T> lus, int taille, Function<T, Curseur> curseur) {
+        boolean pageSuivante = lus.size() > taille;
+        List<T> contenu = pageSuivante ? lus.subList(0, taille) : lus;
+        String curseurSuivant = pageSuivante ? curseur.apply(contenu.get(contenu.size() - 1)).encoder() : null;
+        return new PageCurseurDto<>(contenu, contenu.size(), curseurSuivant);
+    }
+}
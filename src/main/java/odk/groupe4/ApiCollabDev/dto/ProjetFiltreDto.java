@@ -0,0 +1,34 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectLevel;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtres combinables du catalogue des projets : chaque critère laissé à null est ignoré.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor
+public class ProjetFiltreDto {
+    @Schema(description = "Filtrer par statut du projet")
+    private ProjectStatus status;
+    @Schema(description = "Filtrer par domaine du projet")
+    private ProjectDomain domaine;
+    @Schema(description = "Filtrer par secteur du projet")
+    private ProjectSector secteur;
+    @Schema(description = "Filtrer par niveau du projet")
+    private ProjectLevel niveau;
+    @Schema(description = "Filtrer par ID du créateur du projet")
+    private Integer idCreateur;
+    @Schema(description = "Date de création minimale (incluse)", example = "2025-01-01")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateDebut;
+    @Schema(description = "Date de création maximale (incluse)", example = "2025-12-31")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFin;
+}
@@ -28,4 +28,17 @@ public class ProjetResponseDto {
     private String validateurEmail;
     private int nombreParticipants;
     private int nombreFonctionnalites;
+    private int nombreFonctionnalitesTerminees;
+    private double progression; // Pourcentage de fonctionnalités terminées
+
+    // Constructeur utilisé par la projection JPQL de ProjetDao : la progression est déduite des compteurs.
+    public ProjetResponseDto(int id, String titre, String description, ProjectDomain domaine, ProjectSector secteur,
+                             String urlCahierDeCharge, ProjectStatus status, ProjectLevel niveau, LocalDate dateCreation,
+                             String createurNom, String createurPrenom, String validateurEmail,
+                             int nombreParticipants, int nombreFonctionnalites, int nombreFonctionnalitesTerminees) {
+        this(id, titre, description, domaine, secteur, urlCahierDeCharge, status, niveau, dateCreation,
+                createurNom, createurPrenom, validateurEmail,
+                nombreParticipants, nombreFonctionnalites, nombreFonctionnalitesTerminees,
+                nombreFonctionnalites == 0 ? 0 : nombreFonctionnalitesTerminees * 100.0 / nombreFonctionnalites);
+    }
 }
@@ -0,0 +1,18 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.CritereClassement;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RangClassementDto {
+    private CritereClassement critere;
+    private Integer idProjet;      // null : classement de toute la plateforme
+    private int idContributeur;
+    private int rang;
+    private long score;
+    private int nombreClasses;     // Nombre total de contributeurs classés
+}
@@ -0,0 +1,16 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejeuEmailsDto {
+    // IDs des emails en échec à remettre en file ; vide ou absent : tous les emails en échec
+    private List<@NotNull Integer> idsEmails;
+}
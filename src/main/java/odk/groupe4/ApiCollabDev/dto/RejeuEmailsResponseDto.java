@@ -0,0 +1,12 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejeuEmailsResponseDto {
+    private int rejoues; // Nombre d'emails remis en file d'envoi
+}
@@ -0,0 +1,14 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultatModerationDto {
+    private int idProjet;
+    private boolean succes;
+    private String message;
+}
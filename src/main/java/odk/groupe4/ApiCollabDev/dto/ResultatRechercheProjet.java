@@ -0,0 +1,10 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+/**
+ * Ligne renvoyée par la recherche plein texte sur les projets :
+ * l'ID du projet et son rang de pertinence pour la requête.
+ */
+public interface ResultatRechercheProjet {
+    Integer getId();
+    Float getRang();
+}
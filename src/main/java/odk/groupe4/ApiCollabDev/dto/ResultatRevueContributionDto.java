@@ -0,0 +1,16 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultatRevueContributionDto {
+    private int idContribution;
+    private ContributionStatus status;
+    private boolean succes;
+    private String message;
+}
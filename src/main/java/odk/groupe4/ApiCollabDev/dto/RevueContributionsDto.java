@@ -0,0 +1,17 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data @NoArgsConstructor @AllArgsConstructor
+public class RevueContributionsDto {
+    @NotEmpty @Size(max = 200)
+    private List<@Valid @NotNull DecisionContributionDto> decisions; // Une décision par contribution, dans n'importe quels projets
+}
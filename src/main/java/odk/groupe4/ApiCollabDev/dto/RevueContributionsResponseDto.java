@@ -0,0 +1,17 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevueContributionsResponseDto {
+    private int nombreTraites;
+    private int nombreReussis;
+    private int nombreRecompensesPlanifiees; // Contributions validées dont les récompenses ont été planifiées
+    private List<ResultatRevueContributionDto> resultats;
+}
@@ -0,0 +1,17 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesCacheDto {
+    private long succes;
+    private long echecs;
+    private long evictions;
+    private int taille;
+    private int tailleMax;
+    private double tauxSucces;
+}
@@ -0,0 +1,19 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesEmailDto {
+    private long envoyes;
+    private long echecs;
+    private double latenceMoyenneMs;
+    private double latenceMaxMs;
+    private long connexionsOuvertes;    // Connexions SMTP actuellement ouvertes (prêtées ou inactives)
+    private int connexionsDisponibles;  // Connexions SMTP inactives dans le pool
+    private int connexionsMax;
+    private double debitMaxParSeconde;
+}
@@ -0,0 +1,15 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.EtapeRecompense;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesEtapeRecompenseDto {
+    private EtapeRecompense etape;
+    private long contributions; // Contributions en attente de cette étape
+    private long enEchec;       // Dont l'étape a déjà échoué au moins une fois
+}
@@ -0,0 +1,19 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesEvenementsDto {
+    private long publies;
+    private int threads;
+    private int enAttente;              // Tâches dans la file de l'exécuteur
+    private int capaciteFile;
+    private long executesParAppelant;   // Tâches exécutées par le thread publieur, file pleine
+    private List<StatistiquesObservateurDto> observateurs;
+}
@@ -0,0 +1,18 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesObservateurDto {
+    private String observateur;
+    private String evenement;   // Type d'événement observé
+    private long recus;         // Événements confiés à l'observateur depuis le démarrage
+    private long succes;
+    private long echecs;
+    private double dureeMoyenneMs;
+    private double dureeMaxMs;
+}
@@ -0,0 +1,21 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesPlateformeDto {
+    private Map<String, Long> projetsParStatut;
+    private Map<String, Long> projetsParDomaine;
+    private Map<String, Long> projetsParSecteur;
+    private Map<String, Long> contributionsParStatut;
+    private long contributeursActifs;
+    private String source; // VUE_MATERIALISEE ou TEMPS_REEL
+    private LocalDateTime calculeLe; // Date du calcul des statistiques
+}
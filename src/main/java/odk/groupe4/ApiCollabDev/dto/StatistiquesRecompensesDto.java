@@ -0,0 +1,18 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatistiquesRecompensesDto {
+    private long planifiees;        // Contributions planifiées depuis le démarrage
+    private long etapesExecutees;   // Étapes exécutées depuis le démarrage
+    private long etapesEnEchec;     // Étapes en échec (reprises plus tard)
+    private long reprises;          // Contributions reprises par la tâche planifiée
+    private List<StatistiquesEtapeRecompenseDto> enCours; // Contributions inachevées, par étape
+}
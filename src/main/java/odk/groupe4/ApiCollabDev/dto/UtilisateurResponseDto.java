@@ -3,6 +3,7 @@ package odk.groupe4.ApiCollabDev.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import odk.groupe4.ApiCollabDev.models.enums.ModeNotification;
 
 @Data
 @NoArgsConstructor
@@ -12,6 +13,7 @@ public class UtilisateurResponseDto {
     private String email;
     private String type;
     private boolean actif;
+    private ModeNotification modeNotification;
     private String nom;
     private String prenom;
     private String telephone;
@@ -0,0 +1,49 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version d'une ressource, lue sans charger l'entité : sert à construire l'ETag fort
+ * et l'en-tête Last-Modified des réponses, et à répondre 304 aux requêtes conditionnelles.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionRessourceDto {
+    private String etag;
+    private LocalDateTime derniereModification;
+
+    // Ressource portée par une seule entité versionnée (ex : Contributeur)
+    public VersionRessourceDto(long version, LocalDateTime dateModification) {
+        this("\"" + version + "\"", dateModification);
+    }
+
+    // Ressource qui affiche aussi des données du créateur et du validateur (ex : ProjetResponseDto) :
+    // l'ETag combine les trois versions et Last-Modified retient la modification la plus récente.
+    public VersionRessourceDto(long version, LocalDateTime dateModification,
+                               Long versionCreateur, LocalDateTime dateModificationCreateur,
+                               Long versionValidateur, LocalDateTime dateModificationValidateur) {
+        this("\"" + version + "-" + (versionCreateur != null ? versionCreateur : 0)
+                        + "-" + (versionValidateur != null ? versionValidateur : 0) + "\"",
+                plusRecente(dateModification, plusRecente(dateModificationCreateur, dateModificationValidateur)));
+    }
+
+    // Date de dernière modification en millisecondes, ou -1 si elle est inconnue
+    public long derniereModificationEpochMilli() {
+        return derniereModification != null
+                ? derniereModification.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+
+    private static LocalDateTime plusRecente(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
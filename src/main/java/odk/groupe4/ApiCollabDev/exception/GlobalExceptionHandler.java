@@ -1,5 +1,6 @@
 package odk.groupe4.ApiCollabDev.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -62,6 +63,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Gère les conflits de verrouillage optimiste (la ressource a été modifiée entre la lecture et l'écriture).
+     *
+     * @param ex l'exception de verrouillage optimiste
+     * @return une réponse d'erreur invitant à relire la ressource
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        // Créer une réponse d'erreur avec le message d'erreur
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Conflit de modification",
+                "La ressource a été modifiée entre-temps, veuillez la recharger puis réessayer",
+                LocalDateTime.now(),
+                null
+        );
+        // Retourner la réponse d'erreur avec le statut HTTP 409 (Conflict)
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Gère les exceptions d'exécution.
      *
@@ -8,6 +8,7 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 
+// Un badge n'est attribué qu'une fois par participant : index unique uk_badge_participant (schema-postgresql.sql)
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class BadgeParticipant {
 
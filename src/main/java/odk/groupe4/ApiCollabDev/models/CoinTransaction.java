@@ -0,0 +1,45 @@
+package odk.groupe4.ApiCollabDev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import odk.groupe4.ApiCollabDev.models.enums.TypeTransactionCoin;
+
+import java.time.LocalDateTime;
+
+/**
+ * Écriture du registre des coins : jamais modifiée ni supprimée. Chaque écriture est insérée
+ * dans la même instruction que la mise à jour du solde du contributeur (CoinTransactionDao.enregistrer).
+ */
+@Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(name = "coin_transaction", indexes = {
+        // Historique d'un contributeur, du plus récent au plus ancien
+        @Index(name = "idx_coin_transaction_contributeur", columnList = "id_contributeur, date_creation, id_coin_transaction")
+})
+public class CoinTransaction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_coin_transaction")
+    private int id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_contributeur", nullable = false)
+    private Contributeur contributeur;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private TypeTransactionCoin type;
+
+    @Column(nullable = false)
+    private int montant; // Positif pour un crédit, négatif pour un débit
+
+    @Column(nullable = false)
+    private int soldeApres; // Solde du contributeur après l'écriture
+
+    private Integer reference; // ID de la contribution, du badge ou du participant à l'origine de l'écriture
+
+    @Column(nullable = false)
+    private LocalDateTime dateCreation;
+}
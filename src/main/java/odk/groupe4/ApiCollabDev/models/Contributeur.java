@@ -25,6 +25,8 @@ public class Contributeur extends Utilisateur {
 
     private int pointExp;
 
+    // Solde modifié uniquement par CoinService, qui l'ajuste en base avec son écriture au registre (coin_transaction)
+    @Column(updatable = false)
     private int totalCoin;
 
     // Un contributeur peut participer à plusieurs projets.
@@ -11,6 +11,10 @@ import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
 import java.time.LocalDate;
 
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(indexes = {
+        // Recomptage des contributions validées d'un participant (seuils des badges)
+        @Index(name = "idx_contribution_participant_status", columnList = "id_participant, status")
+})
 public class Contribution {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,52 @@
+package odk.groupe4.ApiCollabDev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email abandonné après le nombre maximal de tentatives d'envoi (file des lettres mortes).
+ * Retiré de email_outbox pour ne plus être réservé ; un administrateur peut le remettre en file.
+ */
+@Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(name = "email_echec", indexes = {
+        // Consultation des échecs, du plus récent au plus ancien
+        @Index(name = "idx_email_echec_date", columnList = "date_echec, id_email_echec")
+})
+public class EmailEchec {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_email_echec")
+    private int id;
+
+    @Column(length = 60, nullable = false)
+    private String destinataire;
+
+    @Column(length = 50)
+    private String sujet;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(columnDefinition = "TEXT")
+    private String messageHtml; // Version HTML du message, envoyée avec le texte (null : texte seul)
+
+    private int tentatives; // Nombre de tentatives effectuées avant l'abandon
+
+    private LocalDateTime dateCreation; // Date de mise en file de l'email d'origine
+
+    @Column(nullable = false)
+    private LocalDateTime dateEchec;
+
+    private String derniereErreur;
+
+    // La notification à l'origine de l'email ; sans clé étrangère : la table notification est partitionnée
+    // (sa clé primaire inclut date_creation) et ses partitions anciennes sont supprimées en entier.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_notification", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Notification notification;
+}
@@ -0,0 +1,62 @@
+package odk.groupe4.ApiCollabDev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import odk.groupe4.ApiCollabDev.models.enums.StatutEmail;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email à envoyer, écrit dans la même transaction que la notification correspondante
+ * puis envoyé en arrière-plan par EmailOutboxDispatcher.
+ */
+@Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(name = "email_outbox", indexes = {
+        // Réservation des emails à envoyer, dans l'ordre d'écriture
+        @Index(name = "idx_email_outbox_statut", columnList = "statut, id_email"),
+        // Regroupement des emails différés par destinataire (mode DIGEST)
+        @Index(name = "idx_email_outbox_digest", columnList = "statut, destinataire, date_creation")
+})
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_email")
+    private long id;
+
+    @Column(length = 60, nullable = false)
+    private String destinataire; // Adresse email du destinataire
+
+    @Column(length = 50)
+    private String sujet;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(columnDefinition = "TEXT")
+    private String messageHtml; // Version HTML du message, envoyée avec le texte (null : texte seul)
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private StatutEmail statut;
+
+    private int tentatives; // Nombre de tentatives d'envoi
+
+    private LocalDateTime dateCreation;
+
+    private LocalDateTime dateReservation; // Date de réservation par un dispatcher
+
+    private LocalDateTime dateEnvoi;
+
+    private LocalDateTime dateProchaineTentative; // Après un échec : pas de nouvel envoi avant cette date (null : dès que possible)
+
+    private String derniereErreur;
+
+    // La notification à l'origine de l'email ; sans clé étrangère : la table notification est partitionnée
+    // (sa clé primaire inclut date_creation) et ses partitions anciennes sont supprimées en entier.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_notification", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Notification notification;
+}
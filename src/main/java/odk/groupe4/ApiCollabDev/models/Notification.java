@@ -5,8 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(indexes = {
+        // Boîte de réception d'un utilisateur, de la plus récente à la plus ancienne (pagination par clé)
+        @Index(name = "idx_notification_utilisateur_date", columnList = "id_utilisateur, date_creation, id_notification")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,6 +26,13 @@ public class Notification {
 
     private String message;
 
+    @CreationTimestamp @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime dateCreation;
+
+    @ColumnDefault("false") @Column(nullable = false)
+    private boolean lu; // Marquée comme lue par l'utilisateur
+
     // Une notification est envoyée à un utilisateur spécifique
     @ManyToOne
     @JoinColumn(name = "id_utilisateur")
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import odk.groupe4.ApiCollabDev.models.enums.ParticipantProfil;
 import odk.groupe4.ApiCollabDev.models.enums.ParticipantStatus;
 
@@ -33,6 +34,16 @@ public class Participant {
     // Indique si le participant a débloqué le projet
     private boolean estDebloque;
 
+    // Compteur dénormalisé des contributions validées, tenu à jour par ParticipantDao (seuils des badges)
+    // et recalculé en masse par CompteurReparationService.
+    @ColumnDefault("0") @Column(nullable = false, insertable = false, updatable = false)
+    private int nombreContributionsValidees;
+
+    // Révision de la ligne, incrémentée par ParticipantDao à chaque changement de statut ou de compteur :
+    // les classements (ClassementService) ignorent une mise à jour plus ancienne que la dernière appliquée.
+    @ColumnDefault("0") @Column(nullable = false, insertable = false, updatable = false)
+    private long revision;
+
     // Le projet auquel le participant est associé
     @ManyToOne
     @JoinColumn(name = "id_projet")
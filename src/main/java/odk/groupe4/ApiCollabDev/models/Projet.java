@@ -5,18 +5,31 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectLevel;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+// Seules les colonnes modifiées sont mises à jour : un save() du projet n'écrase pas les compteurs
+@DynamicUpdate
+// Index utilisés par la pagination par clé (dateCreation, id) et par les filtres du catalogue des projets
+@Table(indexes = {
+        @Index(name = "idx_projet_date_creation", columnList = "date_creation, id_projet"),
+        @Index(name = "idx_projet_status_date_creation", columnList = "status, date_creation, id_projet"),
+        @Index(name = "idx_projet_status_domaine_secteur", columnList = "status, domaine, secteur, date_creation, id_projet"),
+        @Index(name = "idx_projet_createur", columnList = "id_createur, date_creation, id_projet")
+})
 public class Projet {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_projet")
@@ -43,6 +56,24 @@ public class Projet {
 
     private LocalDate dateCreation; // Date de création du projet
 
+    // Incrémentée à chaque modification : verrouillage optimiste et ETag des réponses
+    @Version @ColumnDefault("0") @Column(nullable = false)
+    private long version;
+
+    @UpdateTimestamp @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime dateModification; // Date de la dernière modification du projet
+
+    // Compteurs dénormalisés, tenus à jour dans la transaction de chaque écriture concernée
+    // et recalculés en masse par CompteurReparationService.
+    @ColumnDefault("0") @Column(nullable = false)
+    private int nombreParticipants; // Nombre de participants acceptés
+
+    @ColumnDefault("0") @Column(nullable = false)
+    private int nombreFonctionnalites; // Nombre de fonctionnalités du projet
+
+    @ColumnDefault("0") @Column(nullable = false)
+    private int nombreFonctionnalitesTerminees; // Nombre de fonctionnalités au statut TERMINE
+
     // Un projet est crée par un contributeur
     @ManyToOne @JoinColumn(name = "id_createur")
     private Contributeur createur;
@@ -0,0 +1,37 @@
+package odk.groupe4.ApiCollabDev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import odk.groupe4.ApiCollabDev.models.enums.EtapeRecompense;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avancement des récompenses d'une contribution validée : une ligne par contribution, écrite dans la même
+ * transaction que la validation, puis avancée étape par étape par RecompensePipelineService.
+ * La ligne est conservée une fois terminée : une contribution n'est récompensée qu'une fois.
+ */
+@Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Table(name = "recompense_contribution")
+public class RecompenseContribution {
+    @Id
+    @Column(name = "id_contribution")
+    private int idContribution; // ID de la contribution validée
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private EtapeRecompense etape; // Prochaine étape à exécuter (TERMINEE : toutes exécutées)
+
+    private int tentatives; // Échecs successifs de l'étape courante
+
+    private LocalDateTime dateCreation;
+
+    private LocalDateTime dateProchaineTentative; // Reprise par la tâche planifiée à partir de cette date
+
+    private LocalDateTime dateFin;
+
+    private String derniereErreur;
+}
@@ -5,7 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import odk.groupe4.ApiCollabDev.models.enums.ModeNotification;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,6 +38,24 @@ public class Utilisateur {
     @Column(nullable = false)
     private boolean actif; // actif par défaut
 
+    // Envoi des emails de notification : un par notification, ou un récapitulatif par fenêtre
+    @Enumerated(EnumType.STRING) @ColumnDefault("'INSTANTANE'")
+    @Column(length = 20, nullable = false)
+    private ModeNotification modeNotification = ModeNotification.INSTANTANE;
+
+    // Incrémentée à chaque modification de l'utilisateur ou de sa sous-classe (Contributeur, Administrateur) :
+    // verrouillage optimiste et ETag des réponses
+    @Version @ColumnDefault("0") @Column(nullable = false)
+    private long version;
+
+    @UpdateTimestamp @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime dateModification; // Date de la dernière modification de l'utilisateur
+
+    // Nombre de notifications non lues, tenu à jour par UtilisateurDao.ajusterNotificationsNonLues
+    // et jamais écrit par l'entité (pas de perte de mise à jour, pas de changement de version).
+    @ColumnDefault("0") @Column(nullable = false, insertable = false, updatable = false)
+    private int notificationsNonLues;
+
     // Un utilisateur peut avoir plusieurs notifications
     @OneToMany(mappedBy = "utilisateur", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Notification> notifications = new HashSet<>();
@@ -0,0 +1,6 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+public enum CritereClassement {
+    COINS,                  // Solde de coins du contributeur
+    CONTRIBUTIONS_VALIDEES  // Contributions validées (tous projets, ou dans le projet)
+}
@@ -0,0 +1,6 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+public enum DecisionModeration {
+    VALIDER,
+    REJETER
+}
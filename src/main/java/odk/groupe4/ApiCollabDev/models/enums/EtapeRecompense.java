@@ -0,0 +1,14 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+// Étapes du traitement d'une contribution validée, exécutées dans cet ordre
+public enum EtapeRecompense {
+    COINS,            // Coins de la validation
+    FONCTIONNALITE,   // Fonctionnalité terminée et compteur du projet
+    BADGES,           // Compteur du participant, badges atteints, leurs coins et leurs notifications
+    NOTIFICATION,     // Notification de la validation au contributeur
+    TERMINEE;
+
+    public EtapeRecompense suivante() {
+        return this == TERMINEE ? TERMINEE : values()[ordinal() + 1];
+    }
+}
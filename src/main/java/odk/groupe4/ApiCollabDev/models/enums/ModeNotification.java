@@ -0,0 +1,6 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+public enum ModeNotification {
+    INSTANTANE, // Un email par notification
+    DIGEST      // Les notifications sont regroupées en un seul email par fenêtre
+}
@@ -0,0 +1,10 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+public enum StatutEmail {
+    EN_ATTENTE, // En attente d'envoi par EmailOutboxDispatcher
+    EN_COURS,   // Réservé par un dispatcher, envoi en cours
+    ENVOYE,
+    ECHEC,      // Ancien statut des emails abandonnés, désormais déplacés dans email_echec
+    DIFFERE,    // Destinataire en mode DIGEST : attend d'être regroupé
+    REGROUPE    // Intégré à un email récapitulatif
+}
@@ -0,0 +1,34 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+import java.util.List;
+
+/**
+ * Types de notifications, avec les paramètres ({nom}) que leurs modèles peuvent utiliser,
+ * dans l'ordre où ils sont passés à ModelesNotificationService.
+ */
+public enum TypeNotification {
+    PROJET_PROPOSE("titre", "createur"),
+    PROJET_VALIDE("titre"),
+    PROJET_REJETE("titre"),
+    NIVEAU_ATTRIBUE("niveau", "titre"),
+    PROJET_DEMARRE("titre"),
+    PROJET_TERMINE("titre"),
+    CONTRIBUTION_VALIDEE("fonctionnalite"),
+    CONTRIBUTION_REJETEE("fonctionnalite"),
+    PARTICIPATION_ACCEPTEE("projet"),
+    PARTICIPATION_REFUSEE("projet"),
+    COMMENTAIRE_POSTE("projet"),
+    BADGE_OBTENU("badge", "contributions", "coins"),
+    RECAPITULATIF("nombre", "elements"),        // Email récapitulatif du mode DIGEST
+    RECAPITULATIF_ELEMENT("sujet", "message");  // Une notification dans le récapitulatif
+
+    private final List<String> parametres;
+
+    TypeNotification(String... parametres) {
+        this.parametres = List.of(parametres);
+    }
+
+    public List<String> getParametres() {
+        return parametres;
+    }
+}
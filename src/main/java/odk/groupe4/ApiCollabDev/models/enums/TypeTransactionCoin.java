@@ -0,0 +1,9 @@
+package odk.groupe4.ApiCollabDev.models.enums;
+
+public enum TypeTransactionCoin {
+    SOLDE_INITIAL,          // Solde existant avant la tenue du registre
+    INSCRIPTION,
+    CONTRIBUTION_VALIDEE,
+    BADGE_OBTENU,
+    DEVERROUILLAGE_PROJET   // Débit
+}
@@ -0,0 +1,9 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+// Un participant a posté un commentaire sur son projet
+public record CommentairePoste(int idCommentaire,
+                               int idAuteur,
+                               int idContributeurAuteur,
+                               int idProjet,
+                               String titreProjet) implements EvenementDomaine {
+}
@@ -0,0 +1,7 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+// Une contribution a été rejetée par un gestionnaire du projet
+public record ContributionRejetee(int idContribution,
+                                  int idContributeur,
+                                  String titreFonctionnalite) implements EvenementDomaine {
+}
@@ -0,0 +1,10 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+import java.util.List;
+
+// Des contributions d'un même participant ont été validées par un gestionnaire (une seule, ou plusieurs
+// lors d'une revue en lot) ; leurs récompenses sont planifiées dans la même transaction (RecompensePipelineService)
+public record ContributionsValidees(int idParticipant,
+                                    int idContributeur,
+                                    List<Integer> idsContributions) implements EvenementDomaine {
+}
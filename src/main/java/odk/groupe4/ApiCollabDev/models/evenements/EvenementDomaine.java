@@ -0,0 +1,16 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+/**
+ * Fait métier publié sur l'{@link odk.groupe4.ApiCollabDev.service.EvenementBus} une fois la transaction validée.
+ * Un événement ne porte que des identifiants et les libellés nécessaires aux notifications :
+ * les observateurs relisent l'état dont ils ont besoin dans leur propre transaction.
+ */
+public sealed interface EvenementDomaine permits
+        ContributionsValidees,
+        ContributionRejetee,
+        ProjetDemarre,
+        ProjetTermine,
+        ParticipantAccepte,
+        ParticipantRefuse,
+        CommentairePoste {
+}
@@ -0,0 +1,8 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+// Une demande de participation à un projet a été acceptée
+public record ParticipantAccepte(int idParticipant,
+                                 int idContributeur,
+                                 int idProjet,
+                                 String titreProjet) implements EvenementDomaine {
+}
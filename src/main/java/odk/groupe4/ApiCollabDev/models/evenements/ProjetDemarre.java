@@ -0,0 +1,5 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+// Un projet ouvert est passé en cours
+public record ProjetDemarre(int idProjet, String titre) implements EvenementDomaine {
+}
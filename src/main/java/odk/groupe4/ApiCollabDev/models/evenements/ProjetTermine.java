@@ -0,0 +1,5 @@
+package odk.groupe4.ApiCollabDev.models.evenements;
+
+// Un projet en cours a été terminé
+public record ProjetTermine(int idProjet, String titre) implements EvenementDomaine {
+}
@@ -1,8 +1,17 @@
 package odk.groupe4.ApiCollabDev.models.interfaces;
 
-import odk.groupe4.ApiCollabDev.models.Commentaire;
-import odk.groupe4.ApiCollabDev.models.Participant;
+import odk.groupe4.ApiCollabDev.models.evenements.EvenementDomaine;
 
-public interface NotificationObserver {
-    void recevoir(Commentaire commentaire, Participant auteur);
+/**
+ * Observateur d'événements métier, inscrit automatiquement auprès de l'EvenementBus.
+ * recevoir() est appelé après le commit de la transaction qui a publié l'événement, sur un thread
+ * du bus : une implémentation qui écrit en base ouvre sa propre transaction (REQUIRES_NEW).
+ *
+ * @param <E> Le type d'événement observé ; EvenementDomaine pour les observer tous.
+ */
+public interface NotificationObserver<E extends EvenementDomaine> {
+
+    Class<E> typeEvenement();
+
+    void recevoir(E evenement);
 }
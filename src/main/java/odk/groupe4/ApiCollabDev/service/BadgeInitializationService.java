@@ -1,5 +1,6 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
 import odk.groupe4.ApiCollabDev.dao.AdministrateurDao;
 import odk.groupe4.ApiCollabDev.dao.BadgeDao;
 import odk.groupe4.ApiCollabDev.models.Administrateur;
@@ -16,16 +17,20 @@ public class BadgeInitializationService {
 
     private final BadgeDao badgeDao;
     private final AdministrateurDao administrateurDao;
+    private final SeuilsBadgesIndex seuilsBadgesIndex;
 
     @Autowired
-    public BadgeInitializationService(BadgeDao badgeDao, AdministrateurDao administrateurDao) {
+    public BadgeInitializationService(BadgeDao badgeDao, AdministrateurDao administrateurDao, SeuilsBadgesIndex seuilsBadgesIndex) {
         this.badgeDao = badgeDao;
         this.administrateurDao = administrateurDao;
+        this.seuilsBadgesIndex = seuilsBadgesIndex;
     }
 
     /**
-     * Méthode pour réinitialiser ou mettre à jour les badges par défaut
+     * Méthode pour réinitialiser ou mettre à jour les badges par défaut, en une transaction.
+     * L'index des seuils (SeuilsBadgesIndex) est reconstruit après le commit.
      */
+    @Transactional
     public void reinitialiserBadges() {
         Administrateur adminSysteme = obtenirOuCreerAdminSysteme();
 
@@ -38,6 +43,9 @@ public class BadgeInitializationService {
         creerOuMettreAJourBadge(TypeBadge.ARGENT, "Badge Argent attribué après 10 contributions validées", 10, 50, adminSysteme);
         creerOuMettreAJourBadge(TypeBadge.OR, "Badge Or attribué après 20 contributions validées", 20, 100, adminSysteme);
         creerOuMettreAJourBadge(TypeBadge.PLATINE, "Badge Platine attribué après 50 contributions validées", 50, 200, adminSysteme);
+
+        // Seuils et coins des badges modifiés : l'index est reconstruit une fois pour tous les badges
+        seuilsBadgesIndex.reconstruireApresCommit();
     }
 
     /**
@@ -17,11 +17,13 @@ import java.util.stream.Collectors;
 public class BadgeService {
     private final BadgeDao badgeDao;
     private final AdministrateurDao administrateurDao;
+    private final SeuilsBadgesIndex seuilsBadgesIndex;
 
     @Autowired
-    public BadgeService(BadgeDao badgeDao, AdministrateurDao administrateurDao) {
+    public BadgeService(BadgeDao badgeDao, AdministrateurDao administrateurDao, SeuilsBadgesIndex seuilsBadgesIndex) {
         this.badgeDao = badgeDao;
         this.administrateurDao = administrateurDao;
+        this.seuilsBadgesIndex = seuilsBadgesIndex;
     }
 
     /**
@@ -46,6 +48,8 @@ public class BadgeService {
 
         // Enregistrement du badge
         Badge savedBadge = badgeDao.save(badge);
+        // Les seuils des badges en mémoire sont reconstruits
+        seuilsBadgesIndex.reconstruireApresCommit();
         // Retourne les détails du badge créé
         return mapToResponseDto(savedBadge);
     }
@@ -95,6 +99,8 @@ public class BadgeService {
 
         // Enregistrement du badge mis à jour
         Badge updatedBadge = badgeDao.save(badge);
+        // Les seuils des badges en mémoire sont reconstruits
+        seuilsBadgesIndex.reconstruireApresCommit();
         // Retourne les détails du badge mis à jour
         return mapToResponseDto(updatedBadge);
     }
@@ -116,6 +122,8 @@ public class BadgeService {
 
         // Enregistrement du badge mis à jour
         Badge updatedBadge = badgeDao.save(badge);
+        // Les seuils des badges en mémoire sont reconstruits
+        seuilsBadgesIndex.reconstruireApresCommit();
         // Retourne les détails du badge mis à jour
         return mapToResponseDto(updatedBadge);
     }
@@ -132,6 +140,8 @@ public class BadgeService {
         }
         // Suppression du badge
         badgeDao.deleteById(idBadge);
+        // Les seuils des badges en mémoire sont reconstruits
+        seuilsBadgesIndex.reconstruireApresCommit();
     }
 
     /**
@@ -0,0 +1,150 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesCacheDto;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache en lecture de la première page du catalogue des projets ouverts, par couple (domaine, secteur).
+ * Les entrées expirent après un TTL et le nombre d'entrées est borné (LRU).
+ * Les services qui modifient un projet ouvert évincent les clés concernées après le commit.
+ */
+@Component
+public class CatalogueProjetsCache {
+
+    // Clé du cache : un filtre null signifie "tous les domaines" ou "tous les secteurs".
+    private record Cle(ProjectDomain domaine, ProjectSector secteur) {}
+
+    private record Entree(List<ProjetResponseDto> projets, long expireA) {}
+
+    private final Map<Cle, Entree> entrees;
+    private final long ttlNanos;
+    private final int tailleMax;
+    private final LongSupplier horloge; // Temps en nanosecondes (System.nanoTime, remplaçable dans les tests)
+
+    // Incrémenté à chaque éviction : un chargement commencé avant n'est pas mis en cache.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder succes = new LongAdder();
+    private final LongAdder echecs = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public CatalogueProjetsCache(@Value("${collabdev.cache.projets-ouverts.taille-max:128}") int tailleMax,
+                                 @Value("${collabdev.cache.projets-ouverts.ttl:PT5M}") Duration ttl) {
+        this(tailleMax, ttl, System::nanoTime);
+    }
+
+    CatalogueProjetsCache(int tailleMax, Duration ttl, LongSupplier horloge) {
+        this.tailleMax = tailleMax;
+        this.ttlNanos = ttl.toNanos();
+        this.horloge = horloge;
+        this.entrees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cle, Entree> plusAncienne) {
+                return size() > CatalogueProjetsCache.this.tailleMax;
+            }
+        };
+    }
+
+    /**
+     * Retourne la première page mise en cache pour ce filtre, ou la charge et la met en cache.
+     *
+     * @param domaine  Le domaine filtré, ou null.
+     * @param secteur  Le secteur filtré, ou null.
+     * @param chargeur La lecture en base à effectuer en cas d'absence.
+     * @return Les projets de la première page (liste non modifiable).
+     */
+    public List<ProjetResponseDto> obtenir(ProjectDomain domaine, ProjectSector secteur,
+                                           Supplier<List<ProjetResponseDto>> chargeur) {
+        Cle cle = new Cle(domaine, secteur);
+        synchronized (entrees) {
+            Entree entree = entrees.get(cle);
+            if (entree != null && entree.expireA() - horloge.getAsLong() > 0) {
+                succes.increment();
+                return entree.projets();
+            }
+        }
+        echecs.increment();
+
+        // La lecture en base se fait hors verrou pour ne pas bloquer les autres clés.
+        long generationAvant = generation.get();
+        List<ProjetResponseDto> projets = List.copyOf(chargeur.get());
+        synchronized (entrees) {
+            if (generation.get() == generationAvant) {
+                entrees.put(cle, new Entree(projets, horloge.getAsLong() + ttlNanos));
+            }
+        }
+        return projets;
+    }
+
+    /**
+     * Évince les clés du catalogue qui affichent un projet de ce domaine et de ce secteur :
+     * (domaine, secteur), (domaine, tous), (tous, secteur) et (tous, tous).
+     * Si une transaction est active, l'éviction a lieu après son commit.
+     */
+    public void evincerApresCommit(ProjectDomain domaine, ProjectSector secteur) {
+        Set<Cle> cles = Set.of(
+                new Cle(domaine, secteur),
+                new Cle(domaine, null),
+                new Cle(null, secteur),
+                new Cle(null, null)
+        );
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evincer(cles);
+                }
+            });
+        } else {
+            evincer(cles);
+        }
+    }
+
+    // Retourne les compteurs de succès et d'échecs du cache
+    public StatistiquesCacheDto getStatistiques() {
+        long nbSucces = succes.sum();
+        long nbEchecs = echecs.sum();
+        long total = nbSucces + nbEchecs;
+        int taille;
+        synchronized (entrees) {
+            taille = entrees.size();
+        }
+        return new StatistiquesCacheDto(
+                nbSucces,
+                nbEchecs,
+                evictions.sum(),
+                taille,
+                tailleMax,
+                total == 0 ? 0.0 : nbSucces * 100.0 / total
+        );
+    }
+
+    private void evincer(Set<Cle> cles) {
+        synchronized (entrees) {
+            generation.incrementAndGet();
+            for (Cle cle : cles) {
+                if (entrees.remove(cle) != null) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+}
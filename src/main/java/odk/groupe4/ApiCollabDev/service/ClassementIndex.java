@@ -0,0 +1,213 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Classement trié par score décroissant (à score égal, par ID croissant), en skip list indexable :
+ * chaque lien mémorise le nombre d'éléments qu'il enjambe, ce qui donne le rang d'un élément
+ * et l'accès au n-ième élément en O(log n), comme l'insertion et la suppression.
+ * Non synchronisé : l'appelant protège les accès concurrents (ClassementService).
+ */
+public final class ClassementIndex {
+    private static final int NIVEAU_MAX = 32;
+
+    /** Élément du classement, avec son rang (1 pour le premier ; les ex æquo partagent le même rang). */
+    public record Entree(int rang, int id, long score) {}
+
+    private static final class Noeud {
+        final int id;
+        final long score;
+        final Noeud[] suivants;
+        final int[] largeurs; // Nombre d'éléments enjambés par chaque lien (jusqu'à la fin de la liste si le lien est nul)
+
+        Noeud(int id, long score, int niveau) {
+            this.id = id;
+            this.score = score;
+            this.suivants = new Noeud[niveau];
+            this.largeurs = new int[niveau];
+        }
+    }
+
+    private final Noeud tete = new Noeud(0, 0, NIVEAU_MAX);
+    private final Map<Integer, Long> scores = new HashMap<>();
+    private int niveau = 1;
+
+    public int taille() {
+        return scores.size();
+    }
+
+    public boolean contient(int id) {
+        return scores.containsKey(id);
+    }
+
+    /**
+     * @return Le score de l'élément, ou null s'il n'est pas classé.
+     */
+    public Long score(int id) {
+        return scores.get(id);
+    }
+
+    /**
+     * Ajoute un élément ou change son score.
+     */
+    public void mettreAJour(int id, long score) {
+        Long ancien = scores.put(id, score);
+        if (ancien != null) {
+            if (ancien == score) {
+                return;
+            }
+            supprimerNoeud(id, ancien);
+        }
+        inserer(id, score);
+    }
+
+    public void retirer(int id) {
+        Long ancien = scores.remove(id);
+        if (ancien != null) {
+            supprimerNoeud(id, ancien);
+        }
+    }
+
+    /**
+     * @return L'élément avec son rang, ou null s'il n'est pas classé.
+     */
+    public Entree rang(int id) {
+        Long score = scores.get(id);
+        if (score == null) {
+            return null;
+        }
+        // Rang de compétition : 1 + nombre d'éléments de score strictement supérieur
+        return new Entree(compterAvant(score, Integer.MIN_VALUE) + 1, id, score);
+    }
+
+    /**
+     * @param debut  Position du premier élément (0 pour le premier).
+     * @param nombre Nombre maximal d'éléments.
+     * @return Les éléments de la page, dans l'ordre du classement.
+     */
+    public List<Entree> page(int debut, int nombre) {
+        List<Entree> entrees = new ArrayList<>(Math.max(0, Math.min(nombre, taille() - debut)));
+        if (debut < 0 || debut >= taille() || nombre <= 0) {
+            return entrees;
+        }
+        Noeud courant = noeudALaPosition(debut + 1);
+        // Rang du premier élément de la page : ses ex æquo qui le précèdent partagent son rang
+        int rang = compterAvant(courant.score, Integer.MIN_VALUE) + 1;
+        Noeud precedent = null;
+        for (int position = debut + 1; courant != null && entrees.size() < nombre; position++) {
+            if (precedent != null && courant.score != precedent.score) {
+                rang = position;
+            }
+            entrees.add(new Entree(rang, courant.id, courant.score));
+            precedent = courant;
+            courant = courant.suivants[0];
+        }
+        return entrees;
+    }
+
+    // a se classe avant b
+    private static boolean precede(long scoreA, int idA, long scoreB, int idB) {
+        return scoreA > scoreB || (scoreA == scoreB && idA < idB);
+    }
+
+    // Nombre d'éléments classés avant (score, id)
+    private int compterAvant(long score, int id) {
+        int rang = 0;
+        Noeud x = tete;
+        for (int i = niveau - 1; i >= 0; i--) {
+            while (x.suivants[i] != null && precede(x.suivants[i].score, x.suivants[i].id, score, id)) {
+                rang += x.largeurs[i];
+                x = x.suivants[i];
+            }
+        }
+        return rang;
+    }
+
+    // Noeud à la position donnée (1 pour le premier)
+    private Noeud noeudALaPosition(int position) {
+        int parcourus = 0;
+        Noeud x = tete;
+        for (int i = niveau - 1; i >= 0; i--) {
+            while (x.suivants[i] != null && parcourus + x.largeurs[i] <= position) {
+                parcourus += x.largeurs[i];
+                x = x.suivants[i];
+            }
+            if (parcourus == position) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    private void inserer(int id, long score) {
+        Noeud[] precedents = new Noeud[NIVEAU_MAX];
+        int[] rangs = new int[NIVEAU_MAX];
+        Noeud x = tete;
+        for (int i = niveau - 1; i >= 0; i--) {
+            rangs[i] = i == niveau - 1 ? 0 : rangs[i + 1];
+            while (x.suivants[i] != null && precede(x.suivants[i].score, x.suivants[i].id, score, id)) {
+                rangs[i] += x.largeurs[i];
+                x = x.suivants[i];
+            }
+            precedents[i] = x;
+        }
+        int niveauNoeud = niveauAleatoire();
+        if (niveauNoeud > niveau) {
+            for (int i = niveau; i < niveauNoeud; i++) {
+                rangs[i] = 0;
+                precedents[i] = tete;
+                tete.largeurs[i] = scores.size() - 1; // Taille avant l'insertion (le score est déjà enregistré)
+            }
+            niveau = niveauNoeud;
+        }
+        Noeud noeud = new Noeud(id, score, niveauNoeud);
+        for (int i = 0; i < niveauNoeud; i++) {
+            noeud.suivants[i] = precedents[i].suivants[i];
+            precedents[i].suivants[i] = noeud;
+            noeud.largeurs[i] = precedents[i].largeurs[i] - (rangs[0] - rangs[i]);
+            precedents[i].largeurs[i] = (rangs[0] - rangs[i]) + 1;
+        }
+        for (int i = niveauNoeud; i < niveau; i++) {
+            precedents[i].largeurs[i]++;
+        }
+    }
+
+    private void supprimerNoeud(int id, long score) {
+        Noeud[] precedents = new Noeud[NIVEAU_MAX];
+        Noeud x = tete;
+        for (int i = niveau - 1; i >= 0; i--) {
+            while (x.suivants[i] != null && precede(x.suivants[i].score, x.suivants[i].id, score, id)) {
+                x = x.suivants[i];
+            }
+            precedents[i] = x;
+        }
+        Noeud cible = x.suivants[0];
+        if (cible == null || cible.id != id || cible.score != score) {
+            return;
+        }
+        for (int i = 0; i < niveau; i++) {
+            if (precedents[i].suivants[i] == cible) {
+                precedents[i].largeurs[i] += cible.largeurs[i] - 1;
+                precedents[i].suivants[i] = cible.suivants[i];
+            } else {
+                precedents[i].largeurs[i]--;
+            }
+        }
+        while (niveau > 1 && tete.suivants[niveau - 1] == null) {
+            niveau--;
+        }
+    }
+
+    // Niveau d'un nouveau noeud : 1, puis un niveau de plus avec une probabilité de 1/4
+    private static int niveauAleatoire() {
+        int niveauNoeud = 1;
+        while (niveauNoeud < NIVEAU_MAX && (ThreadLocalRandom.current().nextInt() & 3) == 0) {
+            niveauNoeud++;
+        }
+        return niveauNoeud;
+    }
+}
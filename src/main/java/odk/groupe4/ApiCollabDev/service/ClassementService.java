@@ -0,0 +1,349 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import odk.groupe4.ApiCollabDev.dto.ClassementDto;
+import odk.groupe4.ApiCollabDev.dto.ClassementEntreeDto;
+import odk.groupe4.ApiCollabDev.dto.RangClassementDto;
+import odk.groupe4.ApiCollabDev.models.Contributeur;
+import odk.groupe4.ApiCollabDev.models.enums.CritereClassement;
+import odk.groupe4.ApiCollabDev.models.enums.ParticipantStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Classements des contributeurs (plateforme et projets ; par coins et par contributions validées), tenus en mémoire
+ * dans des ClassementIndex : le top N et le rang d'un contributeur se lisent en O(log n), sans tri en base.
+ * Les classements sont construits depuis la base au démarrage puis chaque nuit, et mis à jour après le commit
+ * des transactions qui changent un solde (CoinService) ou un compteur de contributions validées.
+ * Les callbacks après commit de deux transactions peuvent s'exécuter dans le désordre : chaque mise à jour porte
+ * la version de la ligne modifiée (version de l'utilisateur pour un solde, révision du participant),
+ * et une mise à jour qui n'est pas plus récente que la dernière appliquée est ignorée.
+ */
+@Service
+public class ClassementService {
+    private static final Logger log = LoggerFactory.getLogger(ClassementService.class);
+    public static final int TAILLE_PAR_DEFAUT = 10;
+    public static final int TAILLE_MAX = 100;
+
+    private final ContributeurDao contributeurDao;
+    private final ParticipantDao participantDao;
+    private final ProjetDao projetDao;
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+    private final Object reconstruction = new Object();
+    private Etat etat;                          // Protégé par verrou
+    private List<Consumer<Etat>> journal;       // Mises à jour reçues pendant une reconstruction, rejouées ensuite
+
+    @Autowired
+    public ClassementService(ContributeurDao contributeurDao, ParticipantDao participantDao, ProjetDao projetDao) {
+        this.contributeurDao = contributeurDao;
+        this.participantDao = participantDao;
+        this.projetDao = projetDao;
+    }
+
+    /**
+     * Retourne les premiers d'un classement.
+     *
+     * @param critere  COINS ou CONTRIBUTIONS_VALIDEES.
+     * @param idProjet L'ID du projet, ou null pour le classement de la plateforme.
+     * @param taille   Le nombre de contributeurs souhaité (borné à {@link #TAILLE_MAX}).
+     * @return Les premiers du classement, avec leur rang et leur score.
+     * @throws RuntimeException si le projet n'est pas trouvé.
+     */
+    public ClassementDto getClassement(CritereClassement critere, Integer idProjet, int taille) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_MAX));
+        List<ClassementIndex.Entree> premiers;
+        int nombreClasses;
+        verrou.readLock().lock();
+        try {
+            ClassementIndex index = etat().index(critere, idProjet);
+            premiers = index == null ? List.of() : index.page(0, tailleBornee);
+            nombreClasses = index == null ? 0 : index.taille();
+        } finally {
+            verrou.readLock().unlock();
+        }
+        if (nombreClasses == 0 && idProjet != null && !projetDao.existsById(idProjet)) {
+            throw new RuntimeException("Projet non trouvé avec l'ID: " + idProjet);
+        }
+
+        // Noms des contributeurs de la page, en une requête
+        Map<Integer, Contributeur> contributeurs = contributeurDao.findAllById(
+                        premiers.stream().map(ClassementIndex.Entree::id).toList()).stream()
+                .collect(Collectors.toMap(Contributeur::getId, Function.identity()));
+        List<ClassementEntreeDto> entrees = new ArrayList<>(premiers.size());
+        for (ClassementIndex.Entree entree : premiers) {
+            Contributeur contributeur = contributeurs.get(entree.id());
+            entrees.add(new ClassementEntreeDto(entree.rang(), entree.id(),
+                    contributeur != null ? contributeur.getNom() : null,
+                    contributeur != null ? contributeur.getPrenom() : null,
+                    entree.score()));
+        }
+        return new ClassementDto(critere, idProjet, nombreClasses, entrees);
+    }
+
+    /**
+     * Retourne le rang d'un contributeur dans un classement.
+     *
+     * @param idContributeur L'ID du contributeur.
+     * @param critere        COINS ou CONTRIBUTIONS_VALIDEES.
+     * @param idProjet       L'ID du projet, ou null pour le classement de la plateforme.
+     * @return Le rang et le score du contributeur (les ex æquo partagent le même rang).
+     * @throws RuntimeException si le contributeur n'est pas classé (introuvable, ou pas participant du projet).
+     */
+    public RangClassementDto getRang(int idContributeur, CritereClassement critere, Integer idProjet) {
+        ClassementIndex.Entree entree;
+        int nombreClasses;
+        verrou.readLock().lock();
+        try {
+            ClassementIndex index = etat().index(critere, idProjet);
+            entree = index == null ? null : index.rang(idContributeur);
+            nombreClasses = index == null ? 0 : index.taille();
+        } finally {
+            verrou.readLock().unlock();
+        }
+        if (entree == null) {
+            if (!contributeurDao.existsById(idContributeur)) {
+                throw new RuntimeException("Contributeur non trouvé avec l'ID: " + idContributeur);
+            }
+            throw new RuntimeException(idProjet != null
+                    ? "Le contributeur " + idContributeur + " ne participe pas au projet " + idProjet
+                    : "Le contributeur " + idContributeur + " n'est pas encore classé");
+        }
+        return new RangClassementDto(critere, idProjet, idContributeur, entree.rang(), entree.score(), nombreClasses);
+    }
+
+    /**
+     * Nouveau solde d'un contributeur, pris en compte après le commit de la transaction en cours,
+     * avec la version de l'utilisateur incrémentée par la même instruction.
+     */
+    public void soldeModifie(int idContributeur, int solde, long version) {
+        apresCommit(etat -> etat.solde(idContributeur, solde, version));
+    }
+
+    /**
+     * Participation acceptée ou nouveau compteur de contributions validées, pris en compte après le commit,
+     * avec la révision du participant incrémentée par la même instruction.
+     */
+    public void participationModifiee(int idParticipant, int idProjet, int idContributeur, int nombreValidees, long revision) {
+        apresCommit(etat -> etat.participation(idParticipant, idProjet, idContributeur, nombreValidees, revision));
+    }
+
+    /**
+     * Participation qui n'est plus acceptée, retirée des classements après le commit.
+     */
+    public void participationRetiree(int idParticipant, long revision) {
+        apresCommit(etat -> etat.retirerParticipation(idParticipant, revision));
+    }
+
+    /**
+     * Reconstruit les classements depuis la base, sans bloquer les lectures pendant le chargement :
+     * les mises à jour reçues entre-temps sont rejouées sur les nouveaux classements.
+     * Exécuté au démarrage, puis selon la planification collabdev.classement.reconstruction.cron.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${collabdev.classement.reconstruction.cron:0 45 3 * * *}")
+    public void reconstruire() {
+        synchronized (reconstruction) {
+            verrou.writeLock().lock();
+            try {
+                journal = new ArrayList<>();
+            } finally {
+                verrou.writeLock().unlock();
+            }
+
+            Etat nouvel = new Etat();
+            try {
+                for (Object[] solde : contributeurDao.findSoldes()) {
+                    nouvel.solde(((Number) solde[0]).intValue(), ((Number) solde[1]).longValue(), ((Number) solde[2]).longValue());
+                }
+                // Les participations non acceptées ne sont pas classées, mais leur révision écarte
+                // une acceptation plus ancienne rejouée depuis le journal
+                for (Object[] participation : participantDao.findParticipationsClassement()) {
+                    int idParticipant = ((Number) participation[0]).intValue();
+                    long revision = ((Number) participation[4]).longValue();
+                    if (participation[5] == ParticipantStatus.ACCEPTE) {
+                        nouvel.participation(idParticipant, ((Number) participation[1]).intValue(),
+                                ((Number) participation[2]).intValue(), ((Number) participation[3]).intValue(), revision);
+                    } else {
+                        nouvel.retirerParticipation(idParticipant, revision);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Les classements courants restent en place
+                arreterJournal();
+                throw e;
+            }
+
+            verrou.writeLock().lock();
+            try {
+                journal.forEach(miseAJour -> miseAJour.accept(nouvel));
+                journal = null;
+                etat = nouvel;
+            } finally {
+                verrou.writeLock().unlock();
+            }
+            log.info("Classements reconstruits : {} contributeur(s), {} projet(s)",
+                    nouvel.coins.taille(), nouvel.coinsParProjet.size());
+        }
+    }
+
+    private void arreterJournal() {
+        verrou.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // Classements courants, construits à la première lecture s'ils ne le sont pas encore (appelé sous le verrou de lecture)
+    private Etat etat() {
+        if (etat == null) {
+            verrou.readLock().unlock();
+            try {
+                reconstruire();
+            } finally {
+                verrou.readLock().lock();
+            }
+        }
+        return etat;
+    }
+
+    // Applique une mise à jour après le commit (immédiatement s'il n'y a pas de transaction),
+    // pour que les classements ne reflètent jamais une modification annulée
+    private void apresCommit(Consumer<Etat> miseAJour) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appliquer(miseAJour);
+                }
+            });
+        } else {
+            appliquer(miseAJour);
+        }
+    }
+
+    private void appliquer(Consumer<Etat> miseAJour) {
+        verrou.writeLock().lock();
+        try {
+            if (etat != null) {
+                miseAJour.accept(etat);
+            }
+            if (journal != null) {
+                journal.add(miseAJour);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // Ensemble des classements, modifié sous le verrou d'écriture
+    private static final class Etat {
+        private record Participation(int idProjet, int idContributeur, int nombreValidees) {}
+
+        final ClassementIndex coins = new ClassementIndex();
+        final ClassementIndex contributions = new ClassementIndex();
+        final Map<Integer, ClassementIndex> coinsParProjet = new HashMap<>();
+        final Map<Integer, ClassementIndex> contributionsParProjet = new HashMap<>();
+        final Map<Integer, Participation> participations = new HashMap<>();       // Par ID de participant
+        final Map<Integer, Set<Integer>> projetsParContributeur = new HashMap<>();
+        final Map<Integer, Long> valideesParContributeur = new HashMap<>();
+        final Map<Integer, Long> versionsSoldes = new HashMap<>();           // Par ID de contributeur
+        final Map<Integer, Long> revisionsParticipations = new HashMap<>();  // Par ID de participant, retirés compris
+
+        ClassementIndex index(CritereClassement critere, Integer idProjet) {
+            if (idProjet == null) {
+                return critere == CritereClassement.COINS ? coins : contributions;
+            }
+            return (critere == CritereClassement.COINS ? coinsParProjet : contributionsParProjet).get(idProjet);
+        }
+
+        // Vrai si la version est plus récente que la dernière appliquée, qu'elle remplace
+        private static boolean plusRecente(Map<Integer, Long> versions, int id, long version) {
+            Long derniere = versions.get(id);
+            if (derniere != null && derniere >= version) {
+                return false;
+            }
+            versions.put(id, version);
+            return true;
+        }
+
+        void solde(int idContributeur, long solde, long version) {
+            if (!plusRecente(versionsSoldes, idContributeur, version)) {
+                return;
+            }
+            coins.mettreAJour(idContributeur, solde);
+            if (!contributions.contient(idContributeur)) {
+                contributions.mettreAJour(idContributeur, 0);
+            }
+            for (int idProjet : projetsParContributeur.getOrDefault(idContributeur, Set.of())) {
+                coinsParProjet.get(idProjet).mettreAJour(idContributeur, solde);
+            }
+        }
+
+        void participation(int idParticipant, int idProjet, int idContributeur, int nombreValidees, long revision) {
+            if (!plusRecente(revisionsParticipations, idParticipant, revision)) {
+                return;
+            }
+            Participation ancienne = participations.put(idParticipant, new Participation(idProjet, idContributeur, nombreValidees));
+            long delta = nombreValidees - (ancienne != null ? ancienne.nombreValidees() : 0);
+            contributions.mettreAJour(idContributeur, valideesParContributeur.merge(idContributeur, delta, Long::sum));
+            contributionsParProjet.computeIfAbsent(idProjet, id -> new ClassementIndex()).mettreAJour(idContributeur, nombreValidees);
+            if (projetsParContributeur.computeIfAbsent(idContributeur, id -> new HashSet<>()).add(idProjet)) {
+                Long solde = coins.score(idContributeur);
+                coinsParProjet.computeIfAbsent(idProjet, id -> new ClassementIndex())
+                        .mettreAJour(idContributeur, solde != null ? solde : 0);
+            }
+        }
+
+        void retirerParticipation(int idParticipant, long revision) {
+            if (!plusRecente(revisionsParticipations, idParticipant, revision)) {
+                return;
+            }
+            Participation participation = participations.remove(idParticipant);
+            if (participation == null) {
+                return;
+            }
+            int idContributeur = participation.idContributeur();
+            contributions.mettreAJour(idContributeur,
+                    valideesParContributeur.merge(idContributeur, (long) -participation.nombreValidees(), Long::sum));
+            retirerDuProjet(contributionsParProjet, participation.idProjet(), idContributeur);
+            retirerDuProjet(coinsParProjet, participation.idProjet(), idContributeur);
+            Set<Integer> projets = projetsParContributeur.get(idContributeur);
+            if (projets != null) {
+                projets.remove(participation.idProjet());
+            }
+        }
+
+        private static void retirerDuProjet(Map<Integer, ClassementIndex> parProjet, int idProjet, int idContributeur) {
+            ClassementIndex index = parProjet.get(idProjet);
+            if (index != null) {
+                index.retirer(idContributeur);
+                if (index.taille() == 0) {
+                    parProjet.remove(idProjet);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.transaction.Transactional;
+import odk.groupe4.ApiCollabDev.dao.CoinTransactionDao;
+import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
+import odk.groupe4.ApiCollabDev.dto.CoinTransactionDto;
+import odk.groupe4.ApiCollabDev.dto.Curseur;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
+import odk.groupe4.ApiCollabDev.models.enums.TypeTransactionCoin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Registre des coins des contributeurs (table coin_transaction).
+ * Le solde (contributeur.total_coin) n'est modifié que par ce service, toujours avec son écriture au registre :
+ * la somme des montants d'un contributeur est égale à son solde.
+ */
+@Service
+public class CoinService {
+    public static final int TAILLE_PAGE_PAR_DEFAUT = 20;
+    public static final int TAILLE_PAGE_MAX = 100;
+
+    private final CoinTransactionDao coinTransactionDao;
+    private final ContributeurDao contributeurDao;
+    private final ClassementService classementService;
+
+    @Autowired
+    public CoinService(CoinTransactionDao coinTransactionDao, ContributeurDao contributeurDao, ClassementService classementService) {
+        this.coinTransactionDao = coinTransactionDao;
+        this.contributeurDao = contributeurDao;
+        this.classementService = classementService;
+    }
+
+    /**
+     * Crédite des coins à un contributeur, dans la transaction de l'appelant s'il y en a une.
+     *
+     * @param idContributeur L'ID du contributeur.
+     * @param type           L'événement à l'origine du crédit.
+     * @param montant        Le nombre de coins crédités (positif ou nul).
+     * @param reference      L'ID de l'objet à l'origine du crédit (contribution, badge...), ou null.
+     * @return Le nouveau solde du contributeur.
+     * @throws RuntimeException si le contributeur n'est pas trouvé.
+     */
+    @Transactional
+    public int crediter(int idContributeur, TypeTransactionCoin type, int montant, Integer reference) {
+        if (montant < 0) {
+            throw new IllegalArgumentException("Le montant d'un crédit doit être positif");
+        }
+        return enregistrer(idContributeur, type, montant, reference).orElseThrow(
+                () -> new RuntimeException("Contributeur non trouvé avec l'ID: " + idContributeur));
+    }
+
+    /**
+     * Débite des coins si le solde est suffisant, dans la transaction de l'appelant s'il y en a une.
+     * La vérification du solde et le débit forment une seule instruction : deux débits simultanés
+     * ne peuvent pas rendre le solde négatif.
+     *
+     * @param idContributeur L'ID du contributeur.
+     * @param type           L'événement à l'origine du débit.
+     * @param prix           Le nombre de coins débités (positif ou nul).
+     * @param reference      L'ID de l'objet à l'origine du débit, ou null.
+     * @return Le nouveau solde, ou vide si le solde est insuffisant.
+     * @throws RuntimeException si le contributeur n'est pas trouvé.
+     */
+    @Transactional
+    public OptionalInt debiter(int idContributeur, TypeTransactionCoin type, int prix, Integer reference) {
+        if (prix < 0) {
+            throw new IllegalArgumentException("Le montant d'un débit doit être positif");
+        }
+        OptionalInt solde = enregistrer(idContributeur, type, -prix, reference);
+        if (solde.isEmpty() && !contributeurDao.existsById(idContributeur)) {
+            throw new RuntimeException("Contributeur non trouvé avec l'ID: " + idContributeur);
+        }
+        return solde;
+    }
+
+    // Écriture au registre ; le nouveau solde est transmis aux classements avec la version de l'utilisateur
+    // incrémentée par la même instruction. Vide si rien n'est écrit (contributeur introuvable ou solde insuffisant).
+    private OptionalInt enregistrer(int idContributeur, TypeTransactionCoin type, int montant, Integer reference) {
+        List<Object[]> ecriture = coinTransactionDao.enregistrer(idContributeur, type.name(), montant, reference);
+        if (ecriture.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        int solde = ((Number) ecriture.get(0)[0]).intValue();
+        classementService.soldeModifie(idContributeur, solde, ((Number) ecriture.get(0)[1]).longValue());
+        return OptionalInt.of(solde);
+    }
+
+    /**
+     * Lit une page de l'historique des coins d'un contributeur, du plus récent au plus ancien.
+     *
+     * @param idContributeur L'ID du contributeur.
+     * @param curseur        Le curseur renvoyé par la page précédente, ou null pour la première page.
+     * @param taille         Le nombre d'écritures souhaité (borné à {@link #TAILLE_PAGE_MAX}).
+     * @return Une page d'écritures avec le curseur de la page suivante.
+     * @throws RuntimeException si le contributeur n'est pas trouvé.
+     */
+    public PageCurseurDto<CoinTransactionDto> getHistorique(int idContributeur, String curseur, int taille) {
+        if (!contributeurDao.existsById(idContributeur)) {
+            throw new RuntimeException("Contributeur non trouvé avec l'ID: " + idContributeur);
+        }
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        // On lit une écriture de plus que demandé pour savoir s'il existe une page suivante.
+        Limit limite = Limit.of(tailleBornee + 1);
+        List<CoinTransactionDto> transactions;
+        if (curseur == null || curseur.isBlank()) {
+            transactions = coinTransactionDao.findPremierePage(idContributeur, limite);
+        } else {
+            Curseur position = Curseur.decoder(curseur);
+            transactions = coinTransactionDao.findPageApres(idContributeur, position.dateHeure(), position.getId(), limite);
+        }
+        return PageCurseurDto.construire(transactions, tailleBornee,
+                transaction -> new Curseur(transaction.getDateCreation().toString(), transaction.getId()));
+    }
+}
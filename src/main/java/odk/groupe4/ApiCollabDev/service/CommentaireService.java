@@ -1,11 +1,13 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
 import odk.groupe4.ApiCollabDev.dao.CommentaireDao;
 import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
 import odk.groupe4.ApiCollabDev.dto.CommentaireRequestDto;
 import odk.groupe4.ApiCollabDev.dto.CommentaireResponseDto;
 import odk.groupe4.ApiCollabDev.models.Commentaire;
 import odk.groupe4.ApiCollabDev.models.Participant;
+import odk.groupe4.ApiCollabDev.models.evenements.CommentairePoste;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,11 +19,13 @@ public class CommentaireService {
 
     private final CommentaireDao commentaireDao ;
     private final ParticipantDao participantDao;
+    private final EvenementBus evenementBus;
 
     @Autowired
-    public CommentaireService(CommentaireDao commentaireDao, ParticipantDao participantDao) {
+    public CommentaireService(CommentaireDao commentaireDao, ParticipantDao participantDao, EvenementBus evenementBus) {
         this.commentaireDao = commentaireDao;
         this.participantDao = participantDao;
+        this.evenementBus = evenementBus;
     }
 
     /**
@@ -31,6 +35,7 @@ public class CommentaireService {
      * @param dto les données du commentaire à créer
      * @return le commentaire créé
      */
+    @Transactional
     public CommentaireResponseDto creerCommentaire(int id, CommentaireRequestDto dto){
         // Vérification de l'existence du participant
         Participant participant = participantDao.findById(id)
@@ -45,6 +50,14 @@ public class CommentaireService {
         commentaire.setAuteur(participant);
         // Enregistrement du commentaire dans la base de données
         commentaireDao.save(commentaire);
+        // Les autres participants du projet sont notifiés après le commit
+        evenementBus.publier(new CommentairePoste(
+                commentaire.getId(),
+                participant.getId(),
+                participant.getContributeur().getId(),
+                participant.getProjet().getId(),
+                participant.getProjet().getTitre()
+        ));
 
         return mapToResponseDto(commentaire);
     }
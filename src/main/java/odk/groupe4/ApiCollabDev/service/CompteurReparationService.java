@@ -0,0 +1,66 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.transaction.Transactional;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import odk.groupe4.ApiCollabDev.dao.UtilisateurDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CompteurReparationService {
+    private static final Logger log = LoggerFactory.getLogger(CompteurReparationService.class);
+
+    private final ProjetDao projetDao;
+    private final UtilisateurDao utilisateurDao;
+    private final ParticipantDao participantDao;
+
+    @Autowired
+    public CompteurReparationService(ProjetDao projetDao, UtilisateurDao utilisateurDao, ParticipantDao participantDao) {
+        this.projetDao = projetDao;
+        this.utilisateurDao = utilisateurDao;
+        this.participantDao = participantDao;
+    }
+
+    /**
+     * Recalcule en masse les compteurs dénormalisés des projets
+     * (participants acceptés, fonctionnalités, fonctionnalités terminées).
+     * Exécuté au démarrage, puis selon la planification collabdev.compteurs.reparation.cron.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${collabdev.compteurs.reparation.cron:0 30 3 * * *}")
+    public void recalculerCompteursProjets() {
+        int corriges = projetDao.recalculerCompteurs();
+        log.info("Réparation des compteurs : {} projet(s) corrigé(s)", corriges);
+    }
+
+    /**
+     * Recalcule les compteurs de notifications non lues des utilisateurs.
+     * Exécuté au démarrage, puis selon la même planification que les compteurs des projets.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${collabdev.compteurs.reparation.cron:0 30 3 * * *}")
+    public void recalculerNotificationsNonLues() {
+        int corriges = utilisateurDao.recalculerNotificationsNonLues();
+        log.info("Réparation des compteurs : {} utilisateur(s) corrigé(s)", corriges);
+    }
+
+    /**
+     * Recalcule les compteurs de contributions validées des participants (seuils des badges).
+     * Exécuté au démarrage, puis selon la même planification que les compteurs des projets.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${collabdev.compteurs.reparation.cron:0 30 3 * * *}")
+    public void recalculerContributionsValidees() {
+        int corriges = participantDao.recalculerContributionsValidees();
+        log.info("Réparation des compteurs : {} participant(s) corrigé(s)", corriges);
+    }
+}
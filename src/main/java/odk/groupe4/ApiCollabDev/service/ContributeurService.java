@@ -6,6 +6,7 @@ import odk.groupe4.ApiCollabDev.dao.UtilisateurDao;
 import odk.groupe4.ApiCollabDev.dto.ContributeurRequestDto;
 import odk.groupe4.ApiCollabDev.dto.ContributeurResponseDto;
 import odk.groupe4.ApiCollabDev.dto.ContributeurSoldeDto;
+import odk.groupe4.ApiCollabDev.dto.VersionRessourceDto;
 import odk.groupe4.ApiCollabDev.models.Contributeur;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -49,6 +50,16 @@ public class ContributeurService {
         return mapToResponseDto(contributeur);
     }
 
+    /**
+     * Récupère la version d'un contributeur sans le charger, pour les GET conditionnels (ETag / Last-Modified).
+     * @param id L'ID du contributeur.
+     * @return La version et la date de dernière modification du contributeur.
+     */
+    public VersionRessourceDto getVersionContributeur(int id) {
+        return contributeurDao.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Contributeur non trouvé avec l'ID: " + id));
+    }
+
     /**
      * Mettre à jour un contributeur existant.
      * @param id L'ID du contributeur à mettre à jour.
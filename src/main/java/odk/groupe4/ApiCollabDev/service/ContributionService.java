@@ -1,19 +1,36 @@
 package odk.groupe4.ApiCollabDev.service;
 
 import jakarta.transaction.Transactional;
-import odk.groupe4.ApiCollabDev.dao.*;
+import odk.groupe4.ApiCollabDev.dao.ContributionDao;
+import odk.groupe4.ApiCollabDev.dao.FonctionnaliteDao;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
 import odk.groupe4.ApiCollabDev.dto.ContributionDto;
 import odk.groupe4.ApiCollabDev.dto.ContributionResponseDto;
+import odk.groupe4.ApiCollabDev.dto.ContributionRevueDto;
 import odk.groupe4.ApiCollabDev.dto.ContributionSoumiseDto;
-import odk.groupe4.ApiCollabDev.models.*;
+import odk.groupe4.ApiCollabDev.dto.DecisionContributionDto;
+import odk.groupe4.ApiCollabDev.dto.ResultatRevueContributionDto;
+import odk.groupe4.ApiCollabDev.dto.RevueContributionsResponseDto;
+import odk.groupe4.ApiCollabDev.models.Contribution;
+import odk.groupe4.ApiCollabDev.models.Fonctionnalite;
+import odk.groupe4.ApiCollabDev.models.Participant;
 import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
-import odk.groupe4.ApiCollabDev.models.enums.FeaturesStatus;
 import odk.groupe4.ApiCollabDev.models.enums.ParticipantProfil;
+import odk.groupe4.ApiCollabDev.models.enums.ParticipantStatus;
+import odk.groupe4.ApiCollabDev.models.evenements.ContributionRejetee;
+import odk.groupe4.ApiCollabDev.models.evenements.ContributionsValidees;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,29 +38,26 @@ public class ContributionService {
     private final ContributionDao contributionDao;
     private final ParticipantDao participantDao;
     private final FonctionnaliteDao fonctionnaliteDao;
-    private final ContributeurDao contributeurDao;
-    private final ParametreCoinDao parametreCoinDao;
-    private final BadgeDao badgeDao;
-    private final BadgeParticipantDao badgeParticipantDao;
-    private final NotificationService notificationService;
+    private final EvenementBus evenementBus;
+    private final RecompensePipelineService recompensePipelineService;
+    private final ClassementService classementService;
+    private final RecompenseEtapeService recompenseEtapeService;
 
     @Autowired
     public ContributionService(ContributionDao contributionDao,
                                ParticipantDao participantDao,
                                FonctionnaliteDao fonctionnaliteDao,
-                               ContributeurDao contributeurDao,
-                               ParametreCoinDao parametreCoinDao,
-                               BadgeDao badgeDao,
-                               BadgeParticipantDao badgeParticipantDao,
-                               NotificationService notificationService) {
+                               EvenementBus evenementBus,
+                               RecompensePipelineService recompensePipelineService,
+                               ClassementService classementService,
+                               RecompenseEtapeService recompenseEtapeService) {
         this.contributionDao = contributionDao;
         this.participantDao = participantDao;
         this.fonctionnaliteDao = fonctionnaliteDao;
-        this.contributeurDao = contributeurDao;
-        this.parametreCoinDao = parametreCoinDao;
-        this.badgeDao = badgeDao;
-        this.badgeParticipantDao = badgeParticipantDao;
-        this.notificationService = notificationService;
+        this.evenementBus = evenementBus;
+        this.recompensePipelineService = recompensePipelineService;
+        this.classementService = classementService;
+        this.recompenseEtapeService = recompenseEtapeService;
     }
 
     public List<ContributionDto> afficherLaListeDesContribution(ContributionStatus status) {
@@ -116,88 +130,155 @@ public class ContributionService {
             throw new IllegalArgumentException("Seul un gestionnaire peut mettre à jour le statut d'une contribution");
         }
 
+        ContributionStatus ancienStatus = contribution.getStatus();
         contribution.setStatus(newStatus);
         contribution.setGestionnaire(gestionnaire);
 
-        if (newStatus == ContributionStatus.VALIDE) {
-            recompenseCoins(contribution.getParticipant());
-            MiseAJourStatutFonctionnalite(contribution.getFonctionnalite());
-            assignerBadges(contribution.getParticipant());
+        Contribution savedContribution = contributionDao.save(contribution);
+
+        // Les récompenses (coins, fonctionnalité, badges, notification) sont planifiées dans cette transaction
+        // et exécutées après le commit, étape par étape : le gestionnaire n'attend que la mise à jour du statut
+        Participant participant = contribution.getParticipant();
+        Fonctionnalite fonctionnalite = contribution.getFonctionnalite();
+        if (newStatus == ContributionStatus.VALIDE && ancienStatus != ContributionStatus.VALIDE) {
+            List<Integer> planifiees = recompensePipelineService.planifier(List.of(contribution.getId()));
+            if (!planifiees.isEmpty()) {
+                evenementBus.publier(new ContributionsValidees(
+                        participant.getId(),
+                        participant.getContributeur().getId(),
+                        planifiees
+                ));
+            } else {
+                // Déjà récompensée puis dévalidée : pas de nouvelle récompense, mais le compteur est recompté
+                contributionDao.flush();
+                recompenseEtapeService.attribuerBadges(participant);
+            }
+        } else if (ancienStatus == ContributionStatus.VALIDE && newStatus != ContributionStatus.VALIDE) {
+            // Récompenses pas encore commencées : annulées. Déjà commencées : acquises, le compteur est recompté.
+            recompensePipelineService.annuler(List.of(contribution.getId()));
+            contributionDao.flush();
+            reclasser(participantDao.recompterApresDevalidation(List.of(participant.getId())));
         }
 
-        if (newStatus == ContributionStatus.VALIDE || newStatus == ContributionStatus.REJETE) {
-            Participant participant = contribution.getParticipant();
-            String sujet = newStatus == ContributionStatus.VALIDE
-                    ? "Contribution validée"
-                    : "Contribution rejetée";
-            String message = newStatus == ContributionStatus.VALIDE
-                    ? "Votre contribution pour la fonctionnalité '" + contribution.getFonctionnalite().getTitre() + "' a été validée."
-                    : "Votre contribution pour la fonctionnalité '" + contribution.getFonctionnalite().getTitre() + "' a été rejetée.";
-
-            notificationService.createNotification(
-                    participant.getContributeur(),
-                    sujet,
-                    message
-            );
+        if (newStatus == ContributionStatus.REJETE) {
+            evenementBus.publier(new ContributionRejetee(
+                    contribution.getId(),
+                    participant.getContributeur().getId(),
+                    fonctionnalite.getTitre()
+            ));
         }
 
-        Contribution savedContribution = contributionDao.save(contribution);
         return mapToResponseDto(savedContribution);
     }
 
-    private void recompenseCoins(Participant participant) {
-        ParametreCoin coinConfig = parametreCoinDao.findByTypeEvenementLien("CONTRIBUTION_VALIDEE")
-                .orElseThrow(() -> new IllegalStateException("Coin configuration pour CONTRIBUTION_VALIDEE non trouvée"));
+    /**
+     * Valide ou rejette un lot de contributions, dans un ou plusieurs projets, en une seule transaction.
+     * Les droits du gestionnaire sont vérifiés une fois par projet ; les contributions qui reçoivent le même statut
+     * du même gestionnaire sont mises à jour en une requête. Les récompenses des contributions validées sont planifiées
+     * en une requête et distribuées après le commit, un événement par participant.
+     * Une contribution introuvable, en double ou hors des projets du gestionnaire est signalée sans faire échouer le lot.
+     *
+     * @param decisions      Les contributions à revoir et leur nouveau statut.
+     * @param idContributeur L'ID du contributeur, gestionnaire des projets concernés.
+     * @return Le résultat de la revue pour chaque contribution, dans l'ordre de la demande.
+     */
+    @Transactional
+    public RevueContributionsResponseDto revoirContributions(List<DecisionContributionDto> decisions, int idContributeur) {
+        // Toutes les contributions du lot, puis les droits du gestionnaire sur leurs projets : deux requêtes
+        Set<Integer> ids = decisions.stream().map(DecisionContributionDto::getIdContribution).collect(Collectors.toSet());
+        Map<Integer, ContributionRevueDto> contributions = contributionDao.findPourRevue(ids).stream()
+                .collect(Collectors.toMap(ContributionRevueDto::getId, Function.identity()));
+        Set<Integer> idsProjets = contributions.values().stream().map(ContributionRevueDto::getIdProjet).collect(Collectors.toSet());
+        Map<Integer, Participant> gestionnaires = idsProjets.isEmpty() ? Map.of()
+                : participantDao.findGestionnaires(idContributeur, idsProjets).stream()
+                        .collect(Collectors.toMap(p -> p.getProjet().getId(), Function.identity(), (a, b) -> a));
+
+        List<ResultatRevueContributionDto> resultats = new ArrayList<>(decisions.size());
+        Map<Participant, Map<ContributionStatus, List<Integer>>> miseAJour = new LinkedHashMap<>();
+        Map<Integer, ContributionRevueDto> validees = new LinkedHashMap<>();
+        List<ContributionRevueDto> devalidees = new ArrayList<>();
+        List<ContributionRevueDto> rejetees = new ArrayList<>();
+        Set<Integer> traitees = new HashSet<>();
+        for (DecisionContributionDto decision : decisions) {
+            int idContribution = decision.getIdContribution();
+            ContributionStatus status = decision.getStatus();
+            ContributionRevueDto contribution = contributions.get(idContribution);
+            if (!traitees.add(idContribution)) {
+                resultats.add(new ResultatRevueContributionDto(idContribution, status, false, "Contribution en double dans la revue"));
+                continue;
+            }
+            if (contribution == null) {
+                resultats.add(new ResultatRevueContributionDto(idContribution, status, false, "Contribution introuvable"));
+                continue;
+            }
+            Participant gestionnaire = gestionnaires.get(contribution.getIdProjet());
+            if (gestionnaire == null) {
+                resultats.add(new ResultatRevueContributionDto(idContribution, status, false,
+                        "Seul un gestionnaire du projet peut mettre à jour le statut d'une contribution"));
+                continue;
+            }
 
-        Contributeur contributeur = participant.getContributeur();
-        contributeur.setTotalCoin(contributeur.getTotalCoin() + coinConfig.getValeur());
-        contributeurDao.save(contributeur);
-    }
+            miseAJour.computeIfAbsent(gestionnaire, g -> new EnumMap<>(ContributionStatus.class))
+                    .computeIfAbsent(status, st -> new ArrayList<>())
+                    .add(idContribution);
+            if (status == ContributionStatus.VALIDE && contribution.getStatus() != ContributionStatus.VALIDE) {
+                validees.put(idContribution, contribution);
+            } else if (contribution.getStatus() == ContributionStatus.VALIDE && status != ContributionStatus.VALIDE) {
+                devalidees.add(contribution);
+            }
+            if (status == ContributionStatus.REJETE) {
+                rejetees.add(contribution);
+            }
+            resultats.add(new ResultatRevueContributionDto(idContribution, status, true, "Statut mis à jour"));
+        }
 
-    private void MiseAJourStatutFonctionnalite(Fonctionnalite fonctionnalite) {
-        if (fonctionnalite != null) {
-            fonctionnalite.setStatusFeatures(FeaturesStatus.TERMINE);
-            fonctionnaliteDao.save(fonctionnalite);
+        // Une requête par (gestionnaire, statut) : en pratique une ou deux par projet
+        miseAJour.forEach((gestionnaire, parStatut) -> parStatut.forEach(
+                (status, idsContributions) -> contributionDao.mettreAJourStatut(idsContributions, status, gestionnaire)));
+
+        // Contributions qui ne sont plus validées : récompenses non commencées annulées, compteurs recomptés une fois par participant
+        if (!devalidees.isEmpty()) {
+            recompensePipelineService.annuler(devalidees.stream().map(ContributionRevueDto::getId).toList());
+            reclasser(participantDao.recompterApresDevalidation(
+                    devalidees.stream().map(ContributionRevueDto::getIdParticipant).collect(Collectors.toSet())));
         }
+
+        // Récompenses planifiées en une requête, puis un événement par participant
+        List<Integer> planifiees = recompensePipelineService.planifier(validees.keySet());
+        planifiees.stream()
+                .map(validees::get)
+                .collect(Collectors.groupingBy(ContributionRevueDto::getIdParticipant, LinkedHashMap::new, Collectors.toList()))
+                .forEach((idParticipant, parParticipant) -> evenementBus.publier(new ContributionsValidees(
+                        idParticipant,
+                        parParticipant.get(0).getIdContributeur(),
+                        parParticipant.stream().map(ContributionRevueDto::getId).toList()
+                )));
+        // Contributions déjà récompensées puis dévalidées : compteurs recomptés une fois par participant
+        Set<Integer> participantsRevalides = validees.values().stream()
+                .filter(contribution -> !planifiees.contains(contribution.getId()))
+                .map(ContributionRevueDto::getIdParticipant)
+                .collect(Collectors.toSet());
+        if (!participantsRevalides.isEmpty()) {
+            participantDao.findAllById(participantsRevalides).forEach(recompenseEtapeService::attribuerBadges);
+        }
+
+        rejetees.forEach(contribution -> evenementBus.publier(new ContributionRejetee(
+                contribution.getId(),
+                contribution.getIdContributeur(),
+                contribution.getTitreFonctionnalite()
+        )));
+
+        int reussis = (int) resultats.stream().filter(ResultatRevueContributionDto::isSucces).count();
+        return new RevueContributionsResponseDto(resultats.size(), reussis, planifiees.size(), resultats);
     }
 
-    private void assignerBadges(Participant participant) {
-        // Compter le nombre total de contributions validées du participant
-        int nombreValidation = contributionDao.findByParticipantIdAndStatus(participant.getId(), ContributionStatus.VALIDE).size();
-
-        // Récupérer tous les badges triés par nombre de contributions croissant
-        List<Badge> badgesDisponibles = badgeDao.findAllOrderByNombreContributionAsc();
-
-        // Parcourir les badges et attribuer ceux pour lesquels le participant est éligible
-        for (Badge badge : badgesDisponibles) {
-            if (nombreValidation >= badge.getNombreContribution()) {
-                // Vérifier si le participant a déjà ce badge
-                boolean hasBadge = badgeParticipantDao.findByParticipantIdAndBadgeId(participant.getId(), badge.getId()).isPresent();
-
-                if (!hasBadge) {
-                    // Attribuer le badge
-                    BadgeParticipant badgeParticipant = new BadgeParticipant();
-                    badgeParticipant.setBadge(badge);
-                    badgeParticipant.setParticipant(participant);
-                    badgeParticipant.setDateAcquisition(LocalDate.now());
-                    badgeParticipantDao.save(badgeParticipant);
-
-                    // Attribuer les coins de récompense
-                    Contributeur contributeur = participant.getContributeur();
-                    contributeur.setTotalCoin(contributeur.getTotalCoin() + badge.getCoin_recompense());
-                    contributeurDao.save(contributeur);
-
-                    // Notifier le participant
-                    notificationService.createNotification(
-                            contributeur,
-                            "Nouveau badge obtenu !",
-                            "Félicitations ! Vous avez obtenu le badge " + badge.getType() +
-                                    " pour avoir atteint " + badge.getNombreContribution() + " contributions validées. " +
-                                    "Vous recevez " + badge.getCoin_recompense() + " coins en récompense !"
-                    );
-
-                    System.out.println("Badge " + badge.getType() + " attribué au participant " + participant.getId());
-                }
+    // Compteurs recomptés après des dévalidations, [id, projet, contributeur, validées, statut, révision] :
+    // seuls les participants acceptés sont classés
+    private void reclasser(List<Object[]> recomptes) {
+        for (Object[] recompte : recomptes) {
+            if (ParticipantStatus.ACCEPTE.name().equals(recompte[4])) {
+                classementService.participationModifiee(((Number) recompte[0]).intValue(), ((Number) recompte[1]).intValue(),
+                        ((Number) recompte[2]).intValue(), ((Number) recompte[3]).intValue(), ((Number) recompte[5]).longValue());
             }
         }
     }
@@ -0,0 +1,43 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Délai avant une nouvelle tentative : exponentiel (delaiInitial × 2^(tentatives-1), plafonné à delaiMax),
+ * tiré au hasard entre sa moitié et sa totalité. Les échecs survenus au même moment (serveur SMTP indisponible,
+ * base surchargée) ne sont pas tous retentés ensemble.
+ */
+public final class DelaiExponentiel {
+
+    private final long delaiInitialMs;
+    private final long delaiMaxMs;
+    private final LongUnaryOperator tirage; // Nombre au hasard dans [0, borne) (ThreadLocalRandom, remplaçable dans les tests)
+
+    public DelaiExponentiel(Duration delaiInitial, Duration delaiMax) {
+        this(delaiInitial, delaiMax, borne -> ThreadLocalRandom.current().nextLong(borne));
+    }
+
+    DelaiExponentiel(Duration delaiInitial, Duration delaiMax, LongUnaryOperator tirage) {
+        if (delaiInitial.isNegative() || delaiMax.compareTo(delaiInitial) < 0) {
+            throw new IllegalArgumentException("Le délai initial doit être positif et inférieur ou égal au délai maximal");
+        }
+        this.delaiInitialMs = delaiInitial.toMillis();
+        this.delaiMaxMs = delaiMax.toMillis();
+        this.tirage = tirage;
+    }
+
+    /**
+     * Délai avant la tentative suivante, après {@code tentatives} échecs.
+     */
+    public Duration avantTentative(int tentatives) {
+        int exposant = Math.max(tentatives - 1, 0);
+        // Plafond atteint avant que le décalage ne déborde
+        long delaiMs = exposant >= Long.numberOfLeadingZeros(delaiInitialMs) - 1
+                ? delaiMaxMs
+                : Math.min(delaiInitialMs << exposant, delaiMaxMs);
+        long moitie = delaiMs / 2;
+        return Duration.ofMillis(moitie + tirage.applyAsLong(delaiMs - moitie + 1));
+    }
+}
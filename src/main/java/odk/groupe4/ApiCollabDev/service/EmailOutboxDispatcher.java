@@ -0,0 +1,120 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.annotation.PreDestroy;
+import odk.groupe4.ApiCollabDev.models.EmailOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Vide la file email_outbox en arrière-plan : chaque lot réservé est réparti en sous-lots,
+ * envoyés en parallèle sur des threads virtuels, chacun sur une connexion SMTP du pool.
+ */
+@Component
+public class EmailOutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final int tailleLot;
+    private final int tentativesMax;
+    private final Duration expirationReservation;
+    private final int concurrence;
+    private final Duration retention;
+    private final int taillePurge;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 EmailService emailService,
+                                 @Value("${collabdev.email.outbox.taille-lot:50}") int tailleLot,
+                                 @Value("${collabdev.email.outbox.concurrence:4}") int concurrence,
+                                 @Value("${collabdev.email.outbox.tentatives-max:5}") int tentativesMax,
+                                 @Value("${collabdev.email.outbox.expiration-reservation:PT5M}") Duration expirationReservation,
+                                 @Value("${collabdev.email.outbox.retention:P30D}") Duration retention,
+                                 @Value("${collabdev.email.outbox.purge.taille-lot:1000}") int taillePurge) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailService = emailService;
+        this.tailleLot = tailleLot;
+        this.tentativesMax = tentativesMax;
+        this.expirationReservation = expirationReservation;
+        this.concurrence = concurrence;
+        this.retention = retention;
+        this.taillePurge = taillePurge;
+    }
+
+    /**
+     * Réserve et envoie les emails en attente, lot après lot, jusqu'à vider la file.
+     */
+    @Scheduled(fixedDelayString = "${collabdev.email.outbox.intervalle:PT2S}")
+    public void distribuer() {
+        List<EmailOutbox> lot;
+        do {
+            lot = emailOutboxService.reserverLot(tailleLot, expirationReservation);
+            // Autant de sous-lots que d'envois simultanés autorisés, dans l'ordre de la file
+            int tailleSousLot = Math.max(1, (lot.size() + concurrence - 1) / concurrence);
+            List<Future<?>> envois = new ArrayList<>(concurrence);
+            for (int debut = 0; debut < lot.size(); debut += tailleSousLot) {
+                List<EmailOutbox> sousLot = lot.subList(debut, Math.min(debut + tailleSousLot, lot.size()));
+                envois.add(executor.submit(() -> emailService.envoyerLot(sousLot, emailOutboxService::marquerEnvoye, this::echec)));
+            }
+            attendre(envois);
+        } while (lot.size() == tailleLot);
+    }
+
+    /**
+     * Supprime les emails envoyés ou regroupés plus anciens que la période de conservation, lot après lot,
+     * chaque lot dans sa propre transaction.
+     */
+    @Scheduled(cron = "${collabdev.email.outbox.purge.cron:0 15 4 * * *}")
+    public void purger() {
+        LocalDateTime limite = LocalDateTime.now().minus(retention);
+        int supprimes = 0;
+        int lot;
+        do {
+            lot = emailOutboxService.purgerLot(limite, taillePurge);
+            supprimes += lot;
+        } while (lot == taillePurge);
+        if (supprimes > 0) {
+            log.info("Rétention des emails : {} email(s) envoyé(s) ou regroupé(s) supprimé(s)", supprimes);
+        }
+    }
+
+    // Enregistre l'échec d'un envoi dans la file
+    private void echec(EmailOutbox email, Exception e) {
+        log.warn("Échec de l'envoi de l'email {} à {} (tentative {}) : {}",
+                email.getId(), email.getDestinataire(), email.getTentatives(), e.getMessage());
+        emailOutboxService.marquerEchec(email, e.getMessage(), tentativesMax);
+    }
+
+    private void attendre(List<Future<?>> envois) {
+        for (Future<?> envoi : envois) {
+            try {
+                envoi.get();
+            } catch (ExecutionException e) {
+                log.error("Erreur inattendue du dispatcher d'emails", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void arreter() {
+        // Attend la fin des envois en cours ; les emails non envoyés restent dans la file.
+        executor.close();
+    }
+}
@@ -0,0 +1,214 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.transaction.Transactional;
+import odk.groupe4.ApiCollabDev.dao.EmailEchecDao;
+import odk.groupe4.ApiCollabDev.dao.EmailOutboxDao;
+import odk.groupe4.ApiCollabDev.dto.Curseur;
+import odk.groupe4.ApiCollabDev.dto.EmailEchecDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
+import odk.groupe4.ApiCollabDev.models.EmailOutbox;
+import odk.groupe4.ApiCollabDev.models.Notification;
+import odk.groupe4.ApiCollabDev.models.enums.ModeNotification;
+import odk.groupe4.ApiCollabDev.models.enums.StatutEmail;
+import odk.groupe4.ApiCollabDev.models.enums.TypeNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * File d'attente transactionnelle des emails (table email_outbox).
+ * Les emails sont ajoutés dans la transaction de la notification, puis réservés et
+ * marqués envoyés ou en échec par EmailOutboxDispatcher. Un email en échec est retenté
+ * avec un délai exponentiel aléatoire, puis déplacé dans les lettres mortes (table email_echec).
+ */
+@Service
+public class EmailOutboxService {
+    public static final int TAILLE_PAGE_PAR_DEFAUT = 20;
+    public static final int TAILLE_PAGE_MAX = 100;
+    private static final int TAILLE_MAX_ERREUR = 255;
+
+    private final EmailOutboxDao emailOutboxDao;
+    private final EmailEchecDao emailEchecDao;
+    private final DelaiExponentiel delaiRetentative;
+    private final ModelesNotificationService modelesNotificationService;
+
+    @Autowired
+    public EmailOutboxService(EmailOutboxDao emailOutboxDao,
+                              EmailEchecDao emailEchecDao,
+                              ModelesNotificationService modelesNotificationService,
+                              @Value("${collabdev.email.outbox.delai-initial:PT30S}") Duration delaiInitial,
+                              @Value("${collabdev.email.outbox.delai-max:PT1H}") Duration delaiMax) {
+        this.emailOutboxDao = emailOutboxDao;
+        this.emailEchecDao = emailEchecDao;
+        this.delaiRetentative = new DelaiExponentiel(delaiInitial, delaiMax);
+        this.modelesNotificationService = modelesNotificationService;
+    }
+
+    /**
+     * Ajoute à la file l'email d'une notification, dans la transaction en cours.
+     * @param notification La notification enregistrée à envoyer par email.
+     */
+    @Transactional
+    public void ajouter(Notification notification) {
+        // Un utilisateur sans adresse email n'a que la notification.
+        if (notification.getUtilisateur().getEmail() == null) {
+            return;
+        }
+        emailOutboxDao.save(nouvelEmail(notification));
+    }
+
+    /**
+     * Regroupe les emails différés (destinataires en mode DIGEST) : pour chaque destinataire dont le plus
+     * ancien email différé date d'avant la limite, un email récapitulatif est mis EN_ATTENTE
+     * et les emails d'origine passent REGROUPE.
+     * @param limite Les destinataires dont un email différé est antérieur à cette date sont regroupés.
+     * @param taille Le nombre maximal de destinataires traités.
+     * @return Le nombre d'emails récapitulatifs créés.
+     */
+    @Transactional
+    public int regrouperDifferes(LocalDateTime limite, int taille) {
+        Map<String, List<EmailOutbox>> parDestinataire = emailOutboxDao.verrouillerDifferes(limite, taille).stream()
+                .collect(Collectors.groupingBy(EmailOutbox::getDestinataire, LinkedHashMap::new, Collectors.toList()));
+        LocalDateTime maintenant = LocalDateTime.now();
+        parDestinataire.forEach((destinataire, emails) -> {
+            emailOutboxDao.save(nouveauRecapitulatif(destinataire, emails, maintenant));
+            emails.forEach(email -> {
+                email.setStatut(StatutEmail.REGROUPE);
+                email.setDateEnvoi(maintenant);
+            });
+        });
+        return parDestinataire.size();
+    }
+
+    /**
+     * Réserve un lot d'emails à envoyer : ils passent EN_COURS et leur nombre de tentatives est incrémenté.
+     * Un email resté EN_COURS plus longtemps que l'expiration (dispatcher arrêté en plein envoi) est réservé à nouveau.
+     * @param taille     Le nombre maximal d'emails à réserver.
+     * @param expiration La durée au-delà de laquelle une réservation est considérée comme abandonnée.
+     * @return Les emails réservés, dans l'ordre d'écriture.
+     */
+    @Transactional
+    public List<EmailOutbox> reserverLot(int taille, Duration expiration) {
+        LocalDateTime maintenant = LocalDateTime.now();
+        List<EmailOutbox> lot = emailOutboxDao.verrouillerLot(maintenant, maintenant.minus(expiration), taille);
+        lot.forEach(email -> {
+            email.setStatut(StatutEmail.EN_COURS);
+            email.setTentatives(email.getTentatives() + 1);
+            email.setDateReservation(maintenant);
+        });
+        return lot;
+    }
+
+    /**
+     * Supprime, dans sa propre transaction, un lot d'emails envoyés ou regroupés créés avant la limite :
+     * leur corps n'est plus utile une fois l'email parti, la table ne garde que la période de conservation.
+     * @return Le nombre d'emails supprimés (inférieur à la taille quand il n'en reste plus).
+     */
+    @Transactional
+    public int purgerLot(LocalDateTime limite, int taille) {
+        return emailOutboxDao.purgerTermines(limite, taille);
+    }
+
+    // Marque un email comme envoyé
+    @Transactional
+    public void marquerEnvoye(EmailOutbox email) {
+        emailOutboxDao.terminer(email.getId(), StatutEmail.ENVOYE, LocalDateTime.now(), null);
+    }
+
+    /**
+     * Enregistre l'échec d'un envoi : l'email repasse EN_ATTENTE et sera retenté après un délai
+     * exponentiel aléatoire, ou est déplacé dans les lettres mortes s'il a atteint le nombre maximal de tentatives.
+     */
+    @Transactional
+    public void marquerEchec(EmailOutbox email, String erreur, int tentativesMax) {
+        String message = erreur != null && erreur.length() > TAILLE_MAX_ERREUR
+                ? erreur.substring(0, TAILLE_MAX_ERREUR)
+                : erreur;
+        LocalDateTime maintenant = LocalDateTime.now();
+        if (email.getTentatives() >= tentativesMax) {
+            emailEchecDao.archiver(email.getId(), maintenant, message);
+        } else {
+            emailOutboxDao.reprogrammer(email.getId(), maintenant.plus(delaiRetentative.avantTentative(email.getTentatives())), message);
+        }
+    }
+
+    /**
+     * Lit une page des emails en échec, du plus récent au plus ancien, par clé (dateEchec, id).
+     *
+     * @param curseur Le curseur renvoyé par la page précédente, ou null pour la première page.
+     * @param taille  Le nombre d'emails souhaité (borné à {@link #TAILLE_PAGE_MAX}).
+     * @return La page demandée et le curseur de la page suivante (null s'il n'y en a plus).
+     */
+    public PageCurseurDto<EmailEchecDto> getEchecs(String curseur, int taille) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        // On lit un email de plus que demandé pour savoir s'il existe une page suivante.
+        Limit limite = Limit.of(tailleBornee + 1);
+        List<EmailEchecDto> echecs;
+        if (curseur == null || curseur.isBlank()) {
+            echecs = emailEchecDao.findPremierePage(limite);
+        } else {
+            Curseur position = Curseur.decoder(curseur);
+            echecs = emailEchecDao.findPageApres(position.dateHeure(), position.getId(), limite);
+        }
+        return PageCurseurDto.construire(echecs, tailleBornee,
+                echec -> new Curseur(echec.getDateEchec().toString(), echec.getId()));
+    }
+
+    /**
+     * Remet en file d'envoi des emails en échec, avec un nouveau compteur de tentatives, en une seule instruction.
+     * @param ids Les IDs des emails en échec, ou null/vide pour tous les remettre en file.
+     * @return Le nombre d'emails remis en file.
+     */
+    @Transactional
+    public int rejouerEchecs(Collection<Integer> ids) {
+        return ids == null || ids.isEmpty() ? emailEchecDao.rejouerTout() : emailEchecDao.rejouer(ids);
+    }
+
+    private EmailOutbox nouvelEmail(Notification notification) {
+        EmailOutbox email = new EmailOutbox();
+        email.setDestinataire(notification.getUtilisateur().getEmail());
+        email.setSujet(notification.getSujet());
+        email.setMessage(notification.getMessage());
+        // En mode DIGEST, l'email attend le prochain récapitulatif
+        email.setStatut(notification.getUtilisateur().getModeNotification() == ModeNotification.DIGEST
+                ? StatutEmail.DIFFERE
+                : StatutEmail.EN_ATTENTE);
+        email.setDateCreation(LocalDateTime.now());
+        email.setNotification(notification);
+        return email;
+    }
+
+    // Un seul email listant les notifications regroupées, dans l'ordre où elles ont été créées (texte et HTML)
+    private EmailOutbox nouveauRecapitulatif(String destinataire, List<EmailOutbox> emails, LocalDateTime maintenant) {
+        Locale langue = modelesNotificationService.getLangueParDefaut();
+        StringBuilder elementsTexte = new StringBuilder(emails.size() * 128);
+        StringBuilder elementsHtml = new StringBuilder(emails.size() * 160);
+        for (EmailOutbox email : emails) {
+            modelesNotificationService.rendre(TypeNotification.RECAPITULATIF_ELEMENT, langue, ModelesNotificationService.Format.TEXTE,
+                    elementsTexte, email.getSujet(), email.getMessage());
+            modelesNotificationService.rendre(TypeNotification.RECAPITULATIF_ELEMENT, langue, ModelesNotificationService.Format.HTML,
+                    elementsHtml, email.getSujet(), email.getMessage());
+        }
+        ModelesNotificationService.Rendu rendu = modelesNotificationService.rendre(
+                TypeNotification.RECAPITULATIF, langue, emails.size(), elementsTexte);
+        EmailOutbox recapitulatif = new EmailOutbox();
+        recapitulatif.setDestinataire(destinataire);
+        recapitulatif.setSujet(rendu.sujet());
+        recapitulatif.setMessage(rendu.message());
+        recapitulatif.setMessageHtml(modelesNotificationService.rendreHtml(
+                TypeNotification.RECAPITULATIF, langue, emails.size(), new ModelesNotificationService.Html(elementsHtml)));
+        recapitulatif.setStatut(StatutEmail.EN_ATTENTE);
+        recapitulatif.setDateCreation(maintenant);
+        return recapitulatif;
+    }
+}
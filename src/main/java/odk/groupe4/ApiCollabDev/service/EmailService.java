@@ -1,30 +1,113 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesEmailDto;
+import odk.groupe4.ApiCollabDev.models.EmailOutbox;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Envoi des emails sur les connexions SMTP réutilisées de SmtpTransportPool,
+ * avec un débit global limité (collabdev.email.smtp.debit-max messages par seconde).
+ */
 @Service
 public class EmailService {
 
-    @Autowired
-    private JavaMailSender javaMailSender;
+    private final JavaMailSender javaMailSender;
+    private final SmtpTransportPool smtpTransportPool;
+    private final LimiteurDebit limiteurDebit;
+    private final double debitMax;
+    private final String expediteur;
 
-    @Value("${spring.mail.username}")
-    private String expediteur;
+    private final LongAdder envoyes = new LongAdder();
+    private final LongAdder echecs = new LongAdder();
+    private final LongAdder latenceTotaleNanos = new LongAdder();
+    private final LongAccumulator latenceMaxNanos = new LongAccumulator(Math::max, 0);
+
+    @Autowired
+    public EmailService(JavaMailSender javaMailSender,
+                        SmtpTransportPool smtpTransportPool,
+                        @Value("${collabdev.email.smtp.debit-max:10}") double debitMax,
+                        @Value("${collabdev.email.smtp.rafale:10}") int rafale,
+                        @Value("${spring.mail.username}") String expediteur) {
+        this.javaMailSender = javaMailSender;
+        this.smtpTransportPool = smtpTransportPool;
+        this.limiteurDebit = new LimiteurDebit(debitMax, rafale);
+        this.debitMax = debitMax;
+        this.expediteur = expediteur;
+    }
 
     /**
-     * Envoie un email simple.
+     * Envoie un lot d'emails de la file sur une même connexion SMTP (utilisé par EmailOutboxDispatcher).
+     * Si la connexion est perdue en cours de lot, une autre est empruntée pour la suite.
      *
-     * @param to      L'adresse email du destinataire.
-     * @param sujet   Le sujet de l'email.
-     * @param contenu Le contenu de l'email.
-     * @return Un message indiquant le succès ou l'échec de l'envoi.
+     * @param emails Les emails à envoyer, dans l'ordre.
+     * @param succes Appelé pour chaque email envoyé.
+     * @param echec  Appelé pour chaque email non envoyé, avec l'erreur.
      */
-    public String envoyerEmail(String to, String sujet, String contenu){
+    public void envoyerLot(List<EmailOutbox> emails, Consumer<EmailOutbox> succes, BiConsumer<EmailOutbox, Exception> echec) {
+        Transport transport = null;
         try {
+            for (EmailOutbox email : emails) {
+                try {
+                    if (transport == null) {
+                        transport = smtpTransportPool.emprunter();
+                    }
+                    envoyer(transport, email.getDestinataire(), email.getSujet(), email.getMessage(), email.getMessageHtml());
+                } catch (MessagingException e) {
+                    echecs.increment();
+                    // Un destinataire refusé n'invalide pas la connexion ; toute autre erreur, si.
+                    if (transport != null && !(e instanceof SendFailedException)) {
+                        smtpTransportPool.rendre(transport, false);
+                        transport = null;
+                    }
+                    echec.accept(email, e);
+                    continue;
+                }
+                succes.accept(email);
+            }
+        } finally {
+            if (transport != null) {
+                smtpTransportPool.rendre(transport, true);
+            }
+        }
+    }
+
+    // Retourne les compteurs d'envoi, la latence SMTP et l'état du pool de connexions
+    public StatistiquesEmailDto getStatistiques() {
+        long nbEnvoyes = envoyes.sum();
+        return new StatistiquesEmailDto(
+                nbEnvoyes,
+                echecs.sum(),
+                nbEnvoyes == 0 ? 0.0 : latenceTotaleNanos.sum() / 1e6 / nbEnvoyes,
+                latenceMaxNanos.get() / 1e6,
+                smtpTransportPool.getConnexionsOuvertes(),
+                smtpTransportPool.getConnexionsDisponibles(),
+                smtpTransportPool.getConnexionsMax(),
+                debitMax
+        );
+    }
+
+    // Envoie un email sur une connexion empruntée, après avoir obtenu un jeton du limiteur de débit
+    private void envoyer(Transport transport, String to, String sujet, String contenu, String contenuHtml) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        if (contenuHtml == null) {
             // Création du message email
             SimpleMailMessage message = new SimpleMailMessage();
             // Configuration des champs de l'email
@@ -32,13 +115,31 @@ public class EmailService {
             message.setTo(to); // Le destinataire est passé en paramètre
             message.setSubject(sujet); // Le sujet de l'email est passé en paramètre
             message.setText(contenu); // Le contenu de l'email est passé en paramètre
-            // Envoi de l'email
-            javaMailSender.send(message);
-            // Retourne un message de succès
-            return "Message envoyé avec succès !";
-        } catch (Exception e) {
-            // En cas d'erreur lors de l'envoi, retourne un message d'erreur
-            return "Erreur lors de l'envoie de l'email !";
+            message.setSentDate(new Date());
+            message.copyTo(new MimeMailMessage(mimeMessage));
+        } else {
+            // Texte et HTML en alternative : le client de messagerie affiche la version qu'il sait lire
+            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, true, StandardCharsets.UTF_8.name());
+            message.setFrom(expediteur);
+            message.setTo(to);
+            message.setSubject(sujet);
+            message.setText(contenu, contenuHtml);
+            message.setSentDate(new Date());
+        }
+        mimeMessage.saveChanges();
+
+        try {
+            limiteurDebit.acquerir();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Envoi interrompu", e);
         }
+        // Envoi de l'email
+        long debut = System.nanoTime();
+        transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+        long latence = System.nanoTime() - debut;
+        envoyes.increment();
+        latenceTotaleNanos.add(latence);
+        latenceMaxNanos.accumulate(latence);
     }
 }
@@ -0,0 +1,167 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.annotation.PreDestroy;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesEvenementsDto;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesObservateurDto;
+import odk.groupe4.ApiCollabDev.models.evenements.EvenementDomaine;
+import odk.groupe4.ApiCollabDev.models.interfaces.NotificationObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bus des événements métier. Les services publient un événement dans leur transaction ;
+ * il n'est distribué aux observateurs (NotificationObserver) qu'après le commit, une tâche par observateur,
+ * sur un pool de threads borné. La requête ne porte donc que l'écriture de l'état : récompenses,
+ * badges et notifications suivent en arrière-plan, chacun dans sa transaction.
+ * File pleine, la tâche est exécutée par le thread publieur : le bus ralentit les requêtes plutôt que
+ * de perdre un événement. Les événements sont en mémoire : un arrêt brutal perd ceux qui sont en attente.
+ */
+@Service
+public class EvenementBus {
+    private static final Logger log = LoggerFactory.getLogger(EvenementBus.class);
+
+    private final List<Inscription<?>> inscriptions;
+    private final ThreadPoolExecutor executeur;
+    private final int capaciteFile;
+    private final Duration attenteArret;
+
+    private final LongAdder publies = new LongAdder();
+    private final LongAdder executesParAppelant = new LongAdder();
+
+    @Autowired
+    public EvenementBus(List<NotificationObserver<?>> observateurs,
+                        @Value("${collabdev.evenements.threads:4}") int threads,
+                        @Value("${collabdev.evenements.file:1000}") int capaciteFile,
+                        @Value("${collabdev.evenements.attente-arret:PT10S}") Duration attenteArret) {
+        this.inscriptions = observateurs.stream().<Inscription<?>>map(Inscription::new).toList();
+        this.capaciteFile = capaciteFile;
+        this.attenteArret = attenteArret;
+        this.executeur = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capaciteFile),
+                Thread.ofPlatform().name("evenements-", 1).factory(),
+                (tache, pool) -> {
+                    if (pool.isShutdown()) {
+                        log.warn("Bus d'événements arrêté : tâche ignorée");
+                        return;
+                    }
+                    executesParAppelant.increment();
+                    tache.run();
+                }
+        );
+        log.info("Bus d'événements : {} observateur(s), {} thread(s)", inscriptions.size(), threads);
+    }
+
+    /**
+     * Publie un événement après le commit de la transaction en cours (immédiatement s'il n'y en a pas).
+     * Une transaction annulée ne publie rien.
+     * @param evenement L'événement à distribuer aux observateurs de son type.
+     */
+    public void publier(EvenementDomaine evenement) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    distribuer(evenement);
+                }
+            });
+        } else {
+            distribuer(evenement);
+        }
+    }
+
+    // Retourne les compteurs du bus et de chaque observateur
+    public StatistiquesEvenementsDto getStatistiques() {
+        return new StatistiquesEvenementsDto(
+                publies.sum(),
+                executeur.getMaximumPoolSize(),
+                executeur.getQueue().size(),
+                capaciteFile,
+                executesParAppelant.sum(),
+                inscriptions.stream().map(Inscription::statistiques).toList()
+        );
+    }
+
+    // Laisse aux tâches en file le temps de se terminer avant la fermeture du contexte
+    @PreDestroy
+    public void arreter() throws InterruptedException {
+        executeur.shutdown();
+        if (!executeur.awaitTermination(attenteArret.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Bus d'événements : {} tâche(s) abandonnée(s) à l'arrêt", executeur.shutdownNow().size());
+        }
+    }
+
+    private void distribuer(EvenementDomaine evenement) {
+        publies.increment();
+        for (Inscription<?> inscription : inscriptions) {
+            if (inscription.accepte(evenement)) {
+                inscription.recus.increment();
+                executeur.execute(() -> inscription.livrer(evenement));
+            }
+        }
+    }
+
+    // Un observateur et ses compteurs
+    private static final class Inscription<E extends EvenementDomaine> {
+        private final NotificationObserver<E> observateur;
+        private final String nom;
+        private final LongAdder recus = new LongAdder();
+        private final LongAdder succes = new LongAdder();
+        private final LongAdder echecs = new LongAdder();
+        private final LongAdder dureeTotaleNanos = new LongAdder();
+        private final LongAccumulator dureeMaxNanos = new LongAccumulator(Math::max, 0);
+
+        private Inscription(NotificationObserver<E> observateur) {
+            this.observateur = observateur;
+            // Classe réelle, sans le suffixe du proxy transactionnel
+            this.nom = ClassUtils.getUserClass(observateur).getSimpleName();
+        }
+
+        private boolean accepte(EvenementDomaine evenement) {
+            return observateur.typeEvenement().isInstance(evenement);
+        }
+
+        private void livrer(EvenementDomaine evenement) {
+            long debut = System.nanoTime();
+            try {
+                observateur.recevoir(observateur.typeEvenement().cast(evenement));
+                succes.increment();
+            } catch (RuntimeException e) {
+                echecs.increment();
+                log.error("Observateur {} en échec sur {}", nom, evenement, e);
+            } finally {
+                long duree = System.nanoTime() - debut;
+                dureeTotaleNanos.add(duree);
+                dureeMaxNanos.accumulate(duree);
+            }
+        }
+
+        private StatistiquesObservateurDto statistiques() {
+            long nbTraites = succes.sum() + echecs.sum();
+            return new StatistiquesObservateurDto(
+                    nom,
+                    observateur.typeEvenement().getSimpleName(),
+                    recus.sum(),
+                    succes.sum(),
+                    echecs.sum(),
+                    nbTraites == 0 ? 0.0 : dureeTotaleNanos.sum() / 1e6 / nbTraites,
+                    dureeMaxNanos.get() / 1e6
+            );
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import odk.groupe4.ApiCollabDev.dao.ContributionDao;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Export NDJSON (un objet JSON par ligne) des projets, participants et contributions.
+ * Les lignes sont lues en flux depuis la base et écrites au fur et à mesure :
+ * la mémoire utilisée ne dépend pas de la taille des tables.
+ */
+@Service
+public class ExportService {
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    // Nombre de lignes écrites entre deux vidages du flux de sortie vers le client.
+    private static final int LIGNES_PAR_VIDAGE = 500;
+
+    private final ProjetDao projetDao;
+    private final ParticipantDao participantDao;
+    private final ContributionDao contributionDao;
+    private final ObjectWriter writer;
+    private final TransactionTemplate transactionLecture;
+
+    @Autowired
+    public ExportService(ProjetDao projetDao,
+                         ParticipantDao participantDao,
+                         ContributionDao contributionDao,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.projetDao = projetDao;
+        this.participantDao = participantDao;
+        this.contributionDao = contributionDao;
+        // Un objet JSON par ligne ; le flux de la réponse reste ouvert, il est fermé par le conteneur.
+        this.writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.transactionLecture = new TransactionTemplate(transactionManager);
+        this.transactionLecture.setReadOnly(true);
+    }
+
+    // Écrit tous les projets au format NDJSON
+    public void exporterProjets(OutputStream sortie) {
+        exporter("projets", projetDao::streamAllResponses, sortie);
+    }
+
+    // Écrit tous les participants au format NDJSON
+    public void exporterParticipants(OutputStream sortie) {
+        exporter("participants", participantDao::streamAllResponses, sortie);
+    }
+
+    // Écrit toutes les contributions au format NDJSON
+    public void exporterContributions(OutputStream sortie) {
+        exporter("contributions", contributionDao::streamAll, sortie);
+    }
+
+    /**
+     * Parcourt le flux dans une transaction en lecture seule (nécessaire au curseur JDBC)
+     * et écrit chaque ligne, en vidant le flux de sortie toutes les {@value #LIGNES_PAR_VIDAGE} lignes.
+     */
+    private <T> void exporter(String nom, Supplier<Stream<T>> source, OutputStream sortie) {
+        long lignes = transactionLecture.execute(status -> {
+            long compteur = 0;
+            try (Stream<T> flux = source.get();
+                 SequenceWriter sequence = writer.writeValues(sortie)) {
+                for (T ligne : (Iterable<T>) flux::iterator) {
+                    sequence.write(ligne);
+                    if (++compteur % LIGNES_PAR_VIDAGE == 0) {
+                        sequence.flush();
+                    }
+                }
+                // Dernière ligne terminée par un saut de ligne, comme les précédentes.
+                sequence.flush();
+                if (compteur > 0) {
+                    sortie.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Export des " + nom + " interrompu", e);
+            }
+            return compteur;
+        });
+        log.info("Export des {} terminé : {} ligne(s)", nom, lignes);
+    }
+}
@@ -1,5 +1,6 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
 import odk.groupe4.ApiCollabDev.dao.FonctionnaliteDao;
 import odk.groupe4.ApiCollabDev.dao.ProjetDao;
 import odk.groupe4.ApiCollabDev.dto.FonctionnaliteNewDto;
@@ -31,6 +32,7 @@ public class FonctionnaliteService {
      * @param dto      les données de la nouvelle fonctionnalité
      * @return un DTO de la fonctionnalité ajoutée
      */
+    @Transactional
     public FonctionnaliteResponseDto ajouterFonctionnalite(int idProjet, FonctionnaliteNewDto dto) {
         // Vérifie si le projet existe
         Projet projet = projetDao.findById(idProjet)
@@ -46,6 +48,8 @@ public class FonctionnaliteService {
 
         // Enregistre la fonctionnalité dans la base de données
         Fonctionnalite savedFonctionnalite = fonctionnaliteDao.save(fonctionnalite);
+        // Met à jour le compteur de fonctionnalités du projet
+        projetDao.ajusterNombreFonctionnalites(idProjet, 1);
         // Retourne le DTO de la fonctionnalité ajoutée
         return mapToResponseDto(savedFonctionnalite);
     }
@@ -97,13 +101,22 @@ public class FonctionnaliteService {
      *
      * @param id l'ID de la fonctionnalité à supprimer
      */
+    @Transactional
     public void deleteFonctionnalite(int id) {
         // Vérifie si la fonctionnalité existe avant de la supprimer
-        if (!fonctionnaliteDao.existsById(id)) {
-            throw new RuntimeException("Fonctionnalité non trouvée avec l'ID: " + id);
-        }
+        Fonctionnalite fonctionnalite = fonctionnaliteDao.findById(id)
+                .orElseThrow(() -> new RuntimeException("Fonctionnalité non trouvée avec l'ID: " + id));
         // Supprime la fonctionnalité de la base de données
-        fonctionnaliteDao.deleteById(id);
+        fonctionnaliteDao.delete(fonctionnalite);
+
+        // Met à jour les compteurs du projet auquel la fonctionnalité appartenait
+        if (fonctionnalite.getProjet() != null) {
+            int idProjet = fonctionnalite.getProjet().getId();
+            projetDao.ajusterNombreFonctionnalites(idProjet, -1);
+            if (fonctionnalite.getStatusFeatures() == FeaturesStatus.TERMINE) {
+                projetDao.ajusterNombreFonctionnalitesTerminees(idProjet, -1);
+            }
+        }
     }
 
     /**
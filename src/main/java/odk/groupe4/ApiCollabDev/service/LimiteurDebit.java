@@ -0,0 +1,62 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur de débit à seau de jetons : au plus {@code parSeconde} autorisations par seconde,
+ * avec une rafale de {@code rafale} autorisations après une période d'inactivité.
+ * Un appelant en excès réserve son jeton puis attend qu'il soit disponible (ordre d'arrivée respecté).
+ */
+public final class LimiteurDebit {
+
+    private final double jetonsParNano;
+    private final double rafale;
+    private final ReentrantLock verrou = new ReentrantLock();
+    private final LongSupplier horloge; // Temps en nanosecondes (System.nanoTime, remplaçable dans les tests)
+
+    private double jetons;
+    private long derniereRecharge;
+
+    public LimiteurDebit(double parSeconde, int rafale) {
+        this(parSeconde, rafale, System::nanoTime);
+    }
+
+    LimiteurDebit(double parSeconde, int rafale, LongSupplier horloge) {
+        if (parSeconde <= 0 || rafale < 1) {
+            throw new IllegalArgumentException("Le débit et la rafale doivent être strictement positifs");
+        }
+        this.jetonsParNano = parSeconde / TimeUnit.SECONDS.toNanos(1);
+        this.rafale = rafale;
+        this.horloge = horloge;
+        this.jetons = rafale;
+        this.derniereRecharge = horloge.getAsLong();
+    }
+
+    /**
+     * Prend un jeton, en attendant si le débit maximal est atteint.
+     * @throws InterruptedException si le thread est interrompu pendant l'attente.
+     */
+    public void acquerir() throws InterruptedException {
+        long attenteNanos = reserver();
+        if (attenteNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(attenteNanos);
+        }
+    }
+
+    // Réserve un jeton et retourne le délai avant qu'il soit disponible (0 s'il l'est déjà)
+    long reserver() {
+        verrou.lock();
+        try {
+            long maintenant = horloge.getAsLong();
+            jetons = Math.min(rafale, jetons + (maintenant - derniereRecharge) * jetonsParNano);
+            derniereRecharge = maintenant;
+            // Le solde peut devenir négatif : il représente les jetons déjà réservés par les appelants en attente.
+            jetons -= 1;
+            return jetons >= 0 ? 0 : (long) (-jetons / jetonsParNano);
+        } finally {
+            verrou.unlock();
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.models.enums.TypeNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Modèles des sujets et messages de notification, par type (TypeNotification) et par langue.
+ * Les fichiers modeles_<langue>.properties sont compilés une fois (textes fixes et positions des paramètres),
+ * puis relus seulement quand l'un d'eux change : le rendu ne fait que concaténer, sans analyse ni Map.
+ * Une langue sans modèle pour un type retombe sur la langue par défaut, qui doit tous les définir.
+ */
+@Service
+public class ModelesNotificationService {
+    private static final Logger log = LoggerFactory.getLogger(ModelesNotificationService.class);
+
+    private static final String PREFIXE_FICHIER = "modeles_";
+    private static final String SUFFIXE_FICHIER = ".properties";
+
+    public enum Format { TEXTE, HTML }
+
+    // Sujet et message rendus en texte brut
+    public record Rendu(String sujet, String message) {}
+
+    // Paramètre déjà au format HTML, inséré sans échappement
+    public record Html(CharSequence contenu) {}
+
+    private final ResourcePatternResolver resolveur;
+    private final String motif;
+    private final Locale langueParDefaut;
+
+    // Remplacé en entier au rechargement : un rendu voit toujours un jeu de modèles cohérent
+    private volatile Catalogue catalogue;
+
+    @Autowired
+    public ModelesNotificationService(ResourceLoader resourceLoader,
+                                      @Value("${collabdev.notifications.modeles.emplacement:classpath:notifications/}") String emplacement,
+                                      @Value("${collabdev.notifications.modeles.langue:fr}") String langueParDefaut) throws IOException {
+        this.resolveur = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.motif = emplacement + PREFIXE_FICHIER + "*" + SUFFIXE_FICHIER;
+        this.langueParDefaut = Locale.forLanguageTag(langueParDefaut);
+        // Un modèle invalide au démarrage empêche l'application de démarrer
+        this.catalogue = charger(resolveur.getResources(motif));
+    }
+
+    /**
+     * Rend le sujet et le message d'une notification dans la langue par défaut.
+     *
+     * @param type    Le type de notification.
+     * @param valeurs Les paramètres du type, dans l'ordre de {@link TypeNotification#getParametres()}.
+     * @return Le sujet et le message en texte brut.
+     */
+    public Rendu rendre(TypeNotification type, Object... valeurs) {
+        return rendre(type, langueParDefaut, valeurs);
+    }
+
+    public Rendu rendre(TypeNotification type, Locale langue, Object... valeurs) {
+        Modeles modeles = catalogue.modeles(langue, type);
+        verifierValeurs(type, valeurs);
+        return new Rendu(modeles.sujet.rendre(valeurs, false), modeles.texte.rendre(valeurs, false));
+    }
+
+    // Rend le message au format HTML (paramètres échappés)
+    public String rendreHtml(TypeNotification type, Locale langue, Object... valeurs) {
+        Modeles modeles = catalogue.modeles(langue, type);
+        verifierValeurs(type, valeurs);
+        return modeles.html.rendre(valeurs, true);
+    }
+
+    /**
+     * Ajoute le message rendu à un tampon existant, sans chaîne intermédiaire
+     * (éléments d'un récapitulatif, par exemple).
+     */
+    public void rendre(TypeNotification type, Locale langue, Format format, StringBuilder destination, Object... valeurs) {
+        Modeles modeles = catalogue.modeles(langue, type);
+        verifierValeurs(type, valeurs);
+        if (format == Format.HTML) {
+            modeles.html.rendre(valeurs, true, destination);
+        } else {
+            modeles.texte.rendre(valeurs, false, destination);
+        }
+    }
+
+    public Locale getLangueParDefaut() {
+        return langueParDefaut;
+    }
+
+    /**
+     * Recompile les modèles si un fichier a été ajouté, supprimé ou modifié.
+     * En cas d'erreur, les modèles en cours restent utilisés.
+     */
+    @Scheduled(fixedDelayString = "${collabdev.notifications.modeles.verification:PT30S}")
+    public void verifier() {
+        try {
+            Resource[] fichiers = resolveur.getResources(motif);
+            if (!signature(fichiers).equals(catalogue.signature)) {
+                catalogue = charger(fichiers);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.error("Rechargement des modèles de notification impossible : modèles précédents conservés", e);
+        }
+    }
+
+    private void verifierValeurs(TypeNotification type, Object[] valeurs) {
+        if (valeurs.length != type.getParametres().size()) {
+            throw new IllegalArgumentException("Le modèle " + type + " attend les paramètres " + type.getParametres());
+        }
+    }
+
+    private Catalogue charger(Resource[] fichiers) throws IOException {
+        Map<Locale, Properties> sources = new HashMap<>();
+        for (Resource fichier : fichiers) {
+            String nom = fichier.getFilename();
+            String langue = nom.substring(PREFIXE_FICHIER.length(), nom.length() - SUFFIXE_FICHIER.length());
+            Properties proprietes = new Properties();
+            try (Reader lecteur = new InputStreamReader(fichier.getInputStream(), StandardCharsets.UTF_8)) {
+                proprietes.load(lecteur);
+            }
+            sources.put(Locale.forLanguageTag(langue.replace('_', '-')), proprietes);
+        }
+        Properties parDefaut = sources.get(langueParDefaut);
+        if (parDefaut == null) {
+            throw new IllegalStateException("Aucun modèle de notification pour la langue par défaut : " + motif);
+        }
+
+        Map<Locale, EnumMap<TypeNotification, Modeles>> parLangue = new HashMap<>();
+        EnumMap<TypeNotification, Modeles> modelesParDefaut = new EnumMap<>(TypeNotification.class);
+        for (TypeNotification type : TypeNotification.values()) {
+            Modeles modeles = Modeles.compiler(type, parDefaut);
+            if (modeles == null) {
+                throw new IllegalStateException("Modèle de notification manquant pour " + type + " (" + langueParDefaut + ")");
+            }
+            modelesParDefaut.put(type, modeles);
+        }
+        parLangue.put(langueParDefaut, modelesParDefaut);
+        sources.forEach((langue, proprietes) -> {
+            if (!langue.equals(langueParDefaut)) {
+                EnumMap<TypeNotification, Modeles> modeles = new EnumMap<>(modelesParDefaut);
+                for (TypeNotification type : TypeNotification.values()) {
+                    Modeles traduits = Modeles.compiler(type, proprietes);
+                    if (traduits != null) {
+                        modeles.put(type, traduits);
+                    }
+                }
+                parLangue.put(langue, modeles);
+            }
+        });
+        log.info("Modèles de notification compilés pour {} langue(s) : {}", parLangue.size(), parLangue.keySet());
+        return new Catalogue(signature(fichiers), parLangue, modelesParDefaut);
+    }
+
+    // Noms et dates de modification des fichiers de modèles
+    private static String signature(Resource[] fichiers) throws IOException {
+        List<String> elements = new ArrayList<>(fichiers.length);
+        for (Resource fichier : fichiers) {
+            elements.add(fichier.getFilename() + "@" + fichier.lastModified());
+        }
+        elements.sort(null);
+        return String.join(",", elements);
+    }
+
+    // Modèles compilés de toutes les langues, et langues déjà résolues (fr-FR -> fr, par exemple)
+    private static final class Catalogue {
+        private final String signature;
+        private final Map<Locale, EnumMap<TypeNotification, Modeles>> parLangue;
+        private final EnumMap<TypeNotification, Modeles> parDefaut;
+        private final Map<Locale, EnumMap<TypeNotification, Modeles>> resolues = new ConcurrentHashMap<>();
+
+        private Catalogue(String signature,
+                          Map<Locale, EnumMap<TypeNotification, Modeles>> parLangue,
+                          EnumMap<TypeNotification, Modeles> parDefaut) {
+            this.signature = signature;
+            this.parLangue = parLangue;
+            this.parDefaut = parDefaut;
+        }
+
+        private Modeles modeles(Locale langue, TypeNotification type) {
+            return resolues.computeIfAbsent(langue, this::resoudre).get(type);
+        }
+
+        private EnumMap<TypeNotification, Modeles> resoudre(Locale langue) {
+            EnumMap<TypeNotification, Modeles> modeles = parLangue.get(langue);
+            if (modeles == null) {
+                modeles = parLangue.get(Locale.forLanguageTag(langue.getLanguage()));
+            }
+            return modeles != null ? modeles : parDefaut;
+        }
+    }
+
+    // Sujet, texte et HTML d'un type de notification
+    private record Modeles(Modele sujet, Modele texte, Modele html) {
+
+        // Retourne null si le fichier ne définit pas ce type
+        private static Modeles compiler(TypeNotification type, Properties proprietes) {
+            String sujet = proprietes.getProperty(type + ".sujet");
+            String texte = proprietes.getProperty(type + ".texte");
+            if (sujet == null || texte == null) {
+                return null;
+            }
+            String html = proprietes.getProperty(type + ".html");
+            return new Modeles(
+                    Modele.compiler(type, sujet, false),
+                    Modele.compiler(type, texte, false),
+                    // Sans modèle HTML, le texte est échappé et ses retours à la ligne deviennent des <br>
+                    html != null ? Modele.compiler(type, html, false) : Modele.compiler(type, texte, true)
+            );
+        }
+    }
+
+    /**
+     * Un modèle compilé : textes fixes et, entre eux, l'indice du paramètre à insérer.
+     * litteraux a toujours un élément de plus que parametres.
+     */
+    private static final class Modele {
+        private final String[] litteraux;
+        private final int[] parametres;
+        private final int longueurFixe;
+
+        private Modele(String[] litteraux, int[] parametres) {
+            this.litteraux = litteraux;
+            this.parametres = parametres;
+            int longueur = 0;
+            for (String litteral : litteraux) {
+                longueur += litteral.length();
+            }
+            this.longueurFixe = longueur;
+        }
+
+        private static Modele compiler(TypeNotification type, String source, boolean versHtml) {
+            List<String> litteraux = new ArrayList<>();
+            List<Integer> parametres = new ArrayList<>();
+            StringBuilder litteral = new StringBuilder();
+            int i = 0;
+            while (i < source.length()) {
+                char c = source.charAt(i);
+                if (c == '{' && i + 1 < source.length() && source.charAt(i + 1) == '{') {
+                    litteral.append('{');
+                    i += 2;
+                } else if (c == '{') {
+                    int fin = source.indexOf('}', i);
+                    if (fin < 0) {
+                        throw new IllegalStateException("Accolade non fermée dans le modèle " + type + " : " + source);
+                    }
+                    String nom = source.substring(i + 1, fin);
+                    int indice = type.getParametres().indexOf(nom);
+                    if (indice < 0) {
+                        throw new IllegalStateException("Paramètre {" + nom + "} inconnu pour le modèle " + type
+                                + " (attendus : " + type.getParametres() + ")");
+                    }
+                    litteraux.add(versHtml ? versHtml(litteral) : litteral.toString());
+                    parametres.add(indice);
+                    litteral.setLength(0);
+                    i = fin + 1;
+                } else {
+                    litteral.append(c);
+                    i++;
+                }
+            }
+            litteraux.add(versHtml ? versHtml(litteral) : litteral.toString());
+            return new Modele(litteraux.toArray(String[]::new), parametres.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private String rendre(Object[] valeurs, boolean echapper) {
+            if (parametres.length == 0) {
+                return litteraux[0];
+            }
+            StringBuilder tampon = new StringBuilder(longueurFixe + 24 * parametres.length);
+            rendre(valeurs, echapper, tampon);
+            return tampon.toString();
+        }
+
+        private void rendre(Object[] valeurs, boolean echapper, StringBuilder tampon) {
+            for (int i = 0; i < parametres.length; i++) {
+                tampon.append(litteraux[i]);
+                Object valeur = valeurs[parametres[i]];
+                if (valeur instanceof Html html) {
+                    tampon.append(html.contenu());
+                } else if (echapper) {
+                    echapperHtml(String.valueOf(valeur), tampon);
+                } else {
+                    tampon.append(valeur);
+                }
+            }
+            tampon.append(litteraux[parametres.length]);
+        }
+
+        private static String versHtml(CharSequence texte) {
+            StringBuilder html = new StringBuilder(texte.length() + 16);
+            echapperHtml(texte, html);
+            return html.toString().replace("\n", "<br>");
+        }
+
+        private static void echapperHtml(CharSequence texte, StringBuilder tampon) {
+            for (int i = 0; i < texte.length(); i++) {
+                char c = texte.charAt(i);
+                switch (c) {
+                    case '&' -> tampon.append("&amp;");
+                    case '<' -> tampon.append("&lt;");
+                    case '>' -> tampon.append("&gt;");
+                    case '"' -> tampon.append("&quot;");
+                    case '\'' -> tampon.append("&#39;");
+                    default -> tampon.append(c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Mode DIGEST : les emails de notification des utilisateurs concernés sont différés dans email_outbox,
+ * puis regroupés en un seul email par utilisateur et par fenêtre (collabdev.email.digest.fenetre).
+ * Les récapitulatifs sont ensuite envoyés par EmailOutboxDispatcher comme les autres emails.
+ */
+@Service
+public class NotificationDigestService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private final EmailOutboxService emailOutboxService;
+    private final Duration fenetre;
+    private final int tailleLot;
+
+    @Autowired
+    public NotificationDigestService(EmailOutboxService emailOutboxService,
+                                     @Value("${collabdev.email.digest.fenetre:PT1H}") Duration fenetre,
+                                     @Value("${collabdev.email.digest.taille-lot:100}") int tailleLot) {
+        this.emailOutboxService = emailOutboxService;
+        this.fenetre = fenetre;
+        this.tailleLot = tailleLot;
+    }
+
+    /**
+     * Regroupe, destinataire par destinataire, les emails différés depuis plus d'une fenêtre.
+     * Chaque lot est traité dans sa propre transaction.
+     */
+    @Scheduled(fixedDelayString = "${collabdev.email.digest.intervalle:PT1M}")
+    public void regrouper() {
+        int total = 0;
+        int regroupes;
+        do {
+            regroupes = emailOutboxService.regrouperDifferes(LocalDateTime.now().minus(fenetre), tailleLot);
+            total += regroupes;
+        } while (regroupes == tailleLot);
+        if (total > 0) {
+            log.info("Mode digest : {} email(s) récapitulatif(s) mis en file", total);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.transaction.Transactional;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.models.enums.TypeNotification;
+import odk.groupe4.ApiCollabDev.models.evenements.CommentairePoste;
+import odk.groupe4.ApiCollabDev.models.evenements.ContributionRejetee;
+import odk.groupe4.ApiCollabDev.models.evenements.ContributionsValidees;
+import odk.groupe4.ApiCollabDev.models.evenements.EvenementDomaine;
+import odk.groupe4.ApiCollabDev.models.evenements.ParticipantAccepte;
+import odk.groupe4.ApiCollabDev.models.evenements.ParticipantRefuse;
+import odk.groupe4.ApiCollabDev.models.evenements.ProjetDemarre;
+import odk.groupe4.ApiCollabDev.models.evenements.ProjetTermine;
+import odk.groupe4.ApiCollabDev.models.interfaces.NotificationObserver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Notifie les utilisateurs concernés par chaque événement métier (notification, flux SSE et email).
+ */
+@Service
+public class NotificationEvenementObserver implements NotificationObserver<EvenementDomaine> {
+
+    private final NotificationService notificationService;
+    private final ParticipantDao participantDao;
+
+    @Autowired
+    public NotificationEvenementObserver(NotificationService notificationService, ParticipantDao participantDao) {
+        this.notificationService = notificationService;
+        this.participantDao = participantDao;
+    }
+
+    @Override
+    public Class<EvenementDomaine> typeEvenement() {
+        return EvenementDomaine.class;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void recevoir(EvenementDomaine evenement) {
+        switch (evenement) {
+            // Notifiée par la dernière étape des récompenses (RecompenseEtapeService), une seule fois
+            case ContributionsValidees e -> { }
+            case ContributionRejetee e -> notifier(e.idContributeur(), TypeNotification.CONTRIBUTION_REJETEE, e.titreFonctionnalite());
+            // Tous les participants du projet sont notifiés, en un seul lot
+            case ProjetDemarre e -> notificationService.createNotifications(
+                    participantDao.findContributeurIdsByProjetId(e.idProjet()), TypeNotification.PROJET_DEMARRE, e.titre());
+            case ProjetTermine e -> notificationService.createNotifications(
+                    participantDao.findContributeurIdsByProjetId(e.idProjet()), TypeNotification.PROJET_TERMINE, e.titre());
+            case ParticipantAccepte e -> notifier(e.idContributeur(), TypeNotification.PARTICIPATION_ACCEPTEE, e.titreProjet());
+            case ParticipantRefuse e -> notifier(e.idContributeur(), TypeNotification.PARTICIPATION_REFUSEE, e.titreProjet());
+            // Les autres participants du projet sont notifiés, pas l'auteur
+            case CommentairePoste e -> {
+                List<Integer> destinataires = participantDao.findContributeurIdsByProjetId(e.idProjet()).stream()
+                        .filter(id -> id != e.idContributeurAuteur())
+                        .distinct()
+                        .toList();
+                notificationService.createNotifications(destinataires, TypeNotification.COMMENTAIRE_POSTE, e.titreProjet());
+            }
+        }
+    }
+
+    private void notifier(int idUtilisateur, TypeNotification type, Object... valeurs) {
+        notificationService.createNotifications(List.of(idUtilisateur), type, valeurs);
+    }
+}
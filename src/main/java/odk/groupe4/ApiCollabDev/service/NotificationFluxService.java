@@ -0,0 +1,236 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.NotificationDao;
+import odk.groupe4.ApiCollabDev.dao.UtilisateurDao;
+import odk.groupe4.ApiCollabDev.dto.NotificationCreeeDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diffusion en direct des notifications par Server-Sent Events.
+ * Chaque connexion a sa propre file bornée, vidée par un thread virtuel : un client lent ne bloque
+ * ni les autres clients ni la transaction qui publie. Si sa file déborde, la connexion est fermée
+ * et le client, en se reconnectant avec Last-Event-ID, rejoue les notifications manquées depuis la table.
+ * Le registre des abonnés est en mémoire : chaque instance ne diffuse qu'à ses propres connexions.
+ */
+@Service
+public class NotificationFluxService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationFluxService.class);
+
+    // Événements placés dans la file d'une connexion (id = id de la notification)
+    private record Evenement(int id, NotificationResponseDto notification) {}
+
+    private static final Evenement BATTEMENT = new Evenement(-1, null);
+    private static final Evenement FIN = new Evenement(-2, null);
+
+    private final NotificationDao notificationDao;
+    private final UtilisateurDao utilisateurDao;
+    private final NotificationPartitionService notificationPartitionService;
+    private final long delaiExpirationMs;
+    private final int tailleTampon;
+    private final int taillePageRejeu;
+
+    // Connexions ouvertes, par ID d'utilisateur (plusieurs onglets possibles)
+    private final Map<Integer, Set<Abonnement>> abonnements = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationFluxService(NotificationDao notificationDao,
+                                   UtilisateurDao utilisateurDao,
+                                   NotificationPartitionService notificationPartitionService,
+                                   @Value("${collabdev.notifications.flux.expiration:PT30M}") Duration expiration,
+                                   @Value("${collabdev.notifications.flux.tampon:100}") int tailleTampon,
+                                   @Value("${collabdev.notifications.flux.rejeu-max:100}") int taillePageRejeu) {
+        this.notificationDao = notificationDao;
+        this.utilisateurDao = utilisateurDao;
+        this.notificationPartitionService = notificationPartitionService;
+        this.delaiExpirationMs = expiration.toMillis();
+        this.tailleTampon = tailleTampon;
+        this.taillePageRejeu = taillePageRejeu;
+    }
+
+    /**
+     * Ouvre un flux de notifications pour un utilisateur.
+     *
+     * @param idUtilisateur L'ID de l'utilisateur.
+     * @param dernierId     Le Last-Event-ID envoyé par le navigateur à la reconnexion, ou null :
+     *                      toutes les notifications créées depuis (dans la période de conservation)
+     *                      sont rejouées, par pages, avant le direct.
+     * @return L'émetteur SSE de la connexion.
+     * @throws RuntimeException si l'utilisateur n'est pas trouvé.
+     */
+    public SseEmitter abonner(int idUtilisateur, Integer dernierId) {
+        if (!utilisateurDao.existsById(idUtilisateur)) {
+            throw new RuntimeException("Utilisateur non trouvé avec l'ID: " + idUtilisateur);
+        }
+        SseEmitter emetteur = new SseEmitter(delaiExpirationMs);
+        Abonnement abonnement = new Abonnement(idUtilisateur, emetteur);
+        // Inscription avant le rejeu : les notifications publiées pendant le rejeu attendent dans la file.
+        abonnements.computeIfAbsent(idUtilisateur, id -> ConcurrentHashMap.newKeySet()).add(abonnement);
+        emetteur.onCompletion(abonnement::fermer);
+        emetteur.onTimeout(abonnement::fermer);
+        emetteur.onError(erreur -> abonnement.fermer());
+        Thread.ofVirtual().name("notifications-sse-" + idUtilisateur).start(() -> abonnement.diffuser(dernierId));
+        return emetteur;
+    }
+
+    /**
+     * Publie des notifications aux connexions de leurs destinataires, après le commit de la transaction en cours
+     * (immédiatement s'il n'y en a pas). Une transaction annulée ne publie rien.
+     * @param notifications Les notifications créées, avec leur destinataire.
+     */
+    public void publierApresCommit(List<NotificationCreeeDto> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publier(notifications);
+                }
+            });
+        } else {
+            publier(notifications);
+        }
+    }
+
+    /**
+     * Envoie un battement à toutes les connexions : les proxys ne coupent pas un flux inactif,
+     * et une connexion rompue côté client est détectée à l'écriture.
+     */
+    @Scheduled(fixedRateString = "${collabdev.notifications.flux.battement:PT15S}")
+    public void envoyerBattements() {
+        abonnements.values().forEach(connexions -> connexions.forEach(Abonnement::battre));
+    }
+
+    public int getNombreConnexions() {
+        return abonnements.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void publier(List<NotificationCreeeDto> notifications) {
+        for (NotificationCreeeDto creee : notifications) {
+            Set<Abonnement> connexions = abonnements.get(creee.getIdUtilisateur());
+            if (connexions != null) {
+                Evenement evenement = new Evenement(creee.getNotification().getId(), creee.getNotification());
+                connexions.forEach(abonnement -> abonnement.publier(evenement));
+            }
+        }
+    }
+
+    // Une connexion SSE : sa file bornée et le thread virtuel qui la vide
+    private final class Abonnement {
+        private final int idUtilisateur;
+        private final SseEmitter emetteur;
+        private final BlockingQueue<Evenement> file;
+        private volatile boolean fermee;
+
+        private Abonnement(int idUtilisateur, SseEmitter emetteur) {
+            this.idUtilisateur = idUtilisateur;
+            this.emetteur = emetteur;
+            // Une place de plus pour FIN, même file pleine
+            this.file = new ArrayBlockingQueue<>(tailleTampon + 1);
+        }
+
+        private void publier(Evenement evenement) {
+            if (fermee) {
+                return;
+            }
+            if (file.remainingCapacity() <= 1 || !file.offer(evenement)) {
+                // Client trop lent : on ferme ; il rejouera depuis son Last-Event-ID.
+                log.debug("Flux de notifications de l'utilisateur {} saturé : fermeture", idUtilisateur);
+                fermer();
+            }
+        }
+
+        // Un battement n'est utile que si la file est vide ; il ne prend jamais la place réservée à FIN
+        private void battre() {
+            if (!fermee && file.isEmpty()) {
+                file.offer(BATTEMENT);
+            }
+        }
+
+        // Rejoue les notifications manquées puis diffuse la file jusqu'à la fermeture
+        private void diffuser(Integer dernierId) {
+            int rejoueJusquA = 0;
+            try {
+                if (dernierId != null) {
+                    // Rejeu par pages jusqu'à rattraper le direct : aucune notification manquée n'est sautée.
+                    LocalDateTime depuis = notificationPartitionService.debutConservation();
+                    rejoueJusquA = dernierId;
+                    List<NotificationResponseDto> page;
+                    do {
+                        page = notificationDao.findApres(idUtilisateur, depuis, rejoueJusquA, Limit.of(taillePageRejeu));
+                        for (NotificationResponseDto notification : page) {
+                            envoyer(notification);
+                            rejoueJusquA = notification.getId();
+                        }
+                    } while (page.size() == taillePageRejeu && !fermee);
+                }
+                Evenement evenement;
+                while ((evenement = file.take()) != FIN) {
+                    if (evenement == BATTEMENT) {
+                        emetteur.send(SseEmitter.event().comment("battement"));
+                    } else if (evenement.id() > rejoueJusquA) {
+                        // Une notification déjà envoyée par le rejeu n'est pas renvoyée.
+                        envoyer(evenement.notification());
+                    }
+                }
+                emetteur.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté : la fin de la requête asynchrone appelle fermer()
+                log.debug("Flux de notifications de l'utilisateur {} interrompu : {}", idUtilisateur, e.getMessage());
+                fermer();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emetteur.complete();
+            } finally {
+                retirer();
+            }
+        }
+
+        private void envoyer(NotificationResponseDto notification) throws IOException {
+            emetteur.send(SseEmitter.event()
+                    .id(Integer.toString(notification.getId()))
+                    .name("notification")
+                    .data(notification, MediaType.APPLICATION_JSON));
+        }
+
+        // Demande l'arrêt du thread de diffusion (sans toucher à l'émetteur, qui peut être en cours d'écriture)
+        private void fermer() {
+            if (!fermee) {
+                fermee = true;
+                retirer();
+                // Les événements en attente ne seront plus envoyés : la place est libérée pour FIN.
+                file.clear();
+                file.offer(FIN);
+            }
+        }
+
+        private void retirer() {
+            abonnements.computeIfPresent(idUtilisateur, (id, connexions) -> {
+                connexions.remove(this);
+                return connexions.isEmpty() ? null : connexions;
+            });
+        }
+    }
+}
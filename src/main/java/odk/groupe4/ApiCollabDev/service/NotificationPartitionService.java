@@ -0,0 +1,155 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.UtilisateurDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Partitionnement mensuel de la table notification (PostgreSQL, partitionnement déclaratif par date_creation).
+ * La table créée par Hibernate est convertie en table partitionnée par schema-postgresql.sql, avant l'ouverture
+ * du serveur HTTP ; une tâche planifiée crée ensuite les partitions des mois à venir et supprime en entier
+ * les partitions sorties de la période de conservation, au lieu de supprimer les notifications ligne à ligne.
+ */
+@Service
+public class NotificationPartitionService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationPartitionService.class);
+
+    private static final String PREFIXE_PARTITION = "notification_";
+    private static final String PARTITION_DEFAUT = "notification_defaut";
+    private static final DateTimeFormatter FORMAT_MOIS = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final UtilisateurDao utilisateurDao;
+    private final int retentionMois;
+    private final int moisAvance;
+
+    @Autowired
+    public NotificationPartitionService(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        UtilisateurDao utilisateurDao,
+                                        @Value("${collabdev.notifications.retention-mois:12}") int retentionMois,
+                                        @Value("${collabdev.notifications.partitions.mois-avance:3}") int moisAvance) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.utilisateurDao = utilisateurDao;
+        this.retentionMois = retentionMois;
+        this.moisAvance = moisAvance;
+    }
+
+    /**
+     * Début de la période de conservation : les notifications plus anciennes sont supprimées avec leur partition.
+     * Les lectures de la boîte de réception s'y limitent, ce qui exclut d'emblée les partitions plus anciennes.
+     */
+    public LocalDateTime debutConservation() {
+        return YearMonth.now().minusMonths(retentionMois).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * Crée au démarrage les partitions manquantes du mois courant et des mois à venir.
+     * La table est déjà partitionnée : ces créations ne réécrivent aucune ligne.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        transaction.executeWithoutResult(statut -> {
+            verrouiller();
+            creerPartitions(YearMonth.now());
+        });
+    }
+
+    /**
+     * Crée les partitions des prochains mois et supprime celles dont tout le mois précède la période de conservation.
+     */
+    @Scheduled(cron = "${collabdev.notifications.partitions.cron:0 0 4 * * *}")
+    public void maintenir() {
+        transaction.executeWithoutResult(statut -> {
+            verrouiller();
+            creerPartitions(YearMonth.now());
+            YearMonth premierMoisConserve = YearMonth.from(debutConservation());
+            int supprimees = 0;
+            for (String partition : partitions()) {
+                YearMonth mois = moisDe(partition);
+                if (mois != null && mois.isBefore(premierMoisConserve)) {
+                    // DROP d'une partition : instantané, sans ligne morte à nettoyer par le vacuum
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    supprimees++;
+                }
+            }
+            // Lignes égarées dans la partition par défaut (hors des mois créés) : peu nombreuses, supprimées ligne à ligne
+            int lignesSupprimees = jdbcTemplate.update("DELETE FROM " + PARTITION_DEFAUT + " WHERE date_creation < ?",
+                    debutConservation());
+            if (supprimees > 0 || lignesSupprimees > 0) {
+                // Des notifications non lues ont pu disparaître avec leur partition ou de la partition par défaut.
+                utilisateurDao.recalculerNotificationsNonLues();
+                log.info("Rétention des notifications : {} partition(s) et {} ligne(s) de la partition par défaut supprimée(s)",
+                        supprimees, lignesSupprimees);
+            }
+        });
+    }
+
+    // Verrou consultatif, libéré à la fin de la transaction : une seule instance crée ou supprime des partitions
+    // à la fois (le même que celui de la conversion de la table dans schema-postgresql.sql).
+    private void verrouiller() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('notification_partition'))::text", String.class);
+    }
+
+    // Partitions du mois courant et des mois à venir, et partition par défaut pour les dates hors de ces mois
+    private void creerPartitions(YearMonth moisCourant) {
+        for (int i = 0; i <= moisAvance; i++) {
+            creerPartition(moisCourant.plusMonths(i));
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PARTITION_DEFAUT + " PARTITION OF notification DEFAULT");
+    }
+
+    private void creerPartition(YearMonth mois) {
+        String nom = PREFIXE_PARTITION + mois.format(FORMAT_MOIS);
+        LocalDateTime debut = mois.atDay(1).atStartOfDay();
+        LocalDateTime fin = mois.plusMonths(1).atDay(1).atStartOfDay();
+        // PostgreSQL refuse la partition si la partition par défaut contient déjà des lignes de ce mois :
+        // elles y restent (l'erreur annulerait toute la transaction).
+        Boolean lignesParDefaut = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('" + PARTITION_DEFAUT + "') IS NOT NULL AND to_regclass('" + nom + "') IS NULL " +
+                "AND EXISTS (SELECT 1 FROM notification WHERE tableoid = to_regclass('" + PARTITION_DEFAUT + "') " +
+                "AND date_creation >= ? AND date_creation < ?)", Boolean.class, debut, fin);
+        if (Boolean.TRUE.equals(lignesParDefaut)) {
+            log.warn("Partition {} non créée : la partition par défaut contient déjà des notifications de ce mois", nom);
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + nom + " PARTITION OF notification " +
+                "FOR VALUES FROM ('" + debut + "') TO ('" + fin + "')");
+    }
+
+    // Noms des partitions mensuelles de la table notification
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'notification'::regclass", String.class);
+    }
+
+    // Mois d'une partition d'après son nom (notification_aaaa_mm), null pour la partition par défaut
+    private YearMonth moisDe(String partition) {
+        if (!partition.startsWith(PREFIXE_PARTITION) || partition.equals(PARTITION_DEFAUT)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PREFIXE_PARTITION.length()), FORMAT_MOIS);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -1,30 +1,68 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
+import odk.groupe4.ApiCollabDev.dao.NotificationBatchDao;
 import odk.groupe4.ApiCollabDev.dao.NotificationDao;
+import odk.groupe4.ApiCollabDev.dao.UtilisateurDao;
+import odk.groupe4.ApiCollabDev.dto.Curseur;
+import odk.groupe4.ApiCollabDev.dto.NotificationCreeeDto;
 import odk.groupe4.ApiCollabDev.dto.NotificationDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationLotDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationResponseDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationsNonLuesDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
 import odk.groupe4.ApiCollabDev.models.Notification;
 import odk.groupe4.ApiCollabDev.models.Utilisateur;
+import odk.groupe4.ApiCollabDev.models.enums.TypeNotification;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 @Service
 public class NotificationService {
+    public static final int TAILLE_PAGE_PAR_DEFAUT = 20;
+    public static final int TAILLE_PAGE_MAX = 100;
 
     private NotificationDao notificationRepository;
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+    private NotificationBatchDao notificationBatchDao;
+    private UtilisateurDao utilisateurDao;
+    private NotificationFluxService notificationFluxService;
+    private NotificationPartitionService notificationPartitionService;
+    private ModelesNotificationService modelesNotificationService;
 
     @Autowired
-    public NotificationService(NotificationDao notificationRepository, EmailService emailService) {
+    public NotificationService(NotificationDao notificationRepository,
+                               EmailOutboxService emailOutboxService,
+                               NotificationBatchDao notificationBatchDao,
+                               UtilisateurDao utilisateurDao,
+                               NotificationFluxService notificationFluxService,
+                               NotificationPartitionService notificationPartitionService,
+                               ModelesNotificationService modelesNotificationService) {
         this.notificationRepository = notificationRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
+        this.notificationBatchDao = notificationBatchDao;
+        this.utilisateurDao = utilisateurDao;
+        this.notificationFluxService = notificationFluxService;
+        this.notificationPartitionService = notificationPartitionService;
+        this.modelesNotificationService = modelesNotificationService;
     }
 
     /**
-     * Crée une notification pour un utilisateur et envoie un email.
+     * Crée une notification pour un utilisateur et met l'email correspondant en file d'envoi.
+     * La notification et l'email sont écrits dans la même transaction (celle de l'appelant s'il y en a une) ;
+     * l'email est envoyé en arrière-plan par EmailOutboxDispatcher.
      * @param utilisateur L'utilisateur à notifier.
      * @param sujet       Le sujet de la notification.
      * @param message     Le message de la notification.
      */
+    @Transactional
     public void createNotification(Utilisateur utilisateur, String sujet, String message) {
         // Création d'une nouvelle notification
         Notification notification = new Notification();
@@ -34,19 +72,84 @@ public class NotificationService {
         notification.setMessage(message);
         // Enregistrement de la notification dans la base de données
         notificationRepository.save(notification);
+        utilisateurDao.ajusterNotificationsNonLues(utilisateur.getId(), 1);
 
-        // Envoie de la notification par email :
-        System.out.println(
-                emailService.envoyerEmail(utilisateur.getEmail(), sujet, message)
-        );
+        // Mise en file de l'email de notification
+        emailOutboxService.ajouter(notification);
+        // Diffusion aux clients connectés (flux SSE), une fois la notification validée
+        notificationFluxService.publierApresCommit(List.of(nouvelleNotificationCreee(notification)));
+    }
+
+    /**
+     * Crée une notification à partir de son modèle (voir ModelesNotificationService).
+     * @param utilisateur L'utilisateur à notifier.
+     * @param type        Le type de notification.
+     * @param valeurs     Les paramètres du modèle, dans l'ordre de {@link TypeNotification#getParametres()}.
+     */
+    @Transactional
+    public void createNotification(Utilisateur utilisateur, TypeNotification type, Object... valeurs) {
+        ModelesNotificationService.Rendu rendu = modelesNotificationService.rendre(type, valeurs);
+        createNotification(utilisateur, rendu.sujet(), rendu.message());
+    }
+
+    /**
+     * Crée un lot de notifications et met les emails correspondants en file d'envoi,
+     * en une seule instruction SQL dans la transaction de l'appelant s'il y en a une.
+     * @param notifications Les notifications à créer.
+     */
+    @Transactional
+    public void createNotifications(List<NotificationLotDto> notifications) {
+        List<Integer> idsUtilisateurs = new ArrayList<>(notifications.size());
+        List<String> sujets = new ArrayList<>(notifications.size());
+        List<String> messages = new ArrayList<>(notifications.size());
+        for (NotificationLotDto notification : notifications) {
+            idsUtilisateurs.add(notification.getUtilisateur().getId());
+            sujets.add(notification.getSujet());
+            messages.add(notification.getMessage());
+        }
+        notificationFluxService.publierApresCommit(notificationBatchDao.inserer(idsUtilisateurs, sujets, messages));
+    }
+
+    /**
+     * Envoie la même notification à plusieurs utilisateurs (administrateurs, participants d'un projet...) :
+     * toutes les notifications et leurs emails sont écrits en une seule instruction SQL,
+     * dans la transaction de l'appelant s'il y en a une.
+     * @param idsUtilisateurs Les IDs des utilisateurs à notifier.
+     * @param sujet           Le sujet de la notification.
+     * @param message         Le message de la notification.
+     */
+    @Transactional
+    public void createNotifications(Collection<Integer> idsUtilisateurs, String sujet, String message) {
+        int nombre = idsUtilisateurs.size();
+        notificationFluxService.publierApresCommit(notificationBatchDao.inserer(
+                new ArrayList<>(idsUtilisateurs),
+                Collections.nCopies(nombre, sujet),
+                Collections.nCopies(nombre, message)
+        ));
+    }
+
+    /**
+     * Envoie la même notification, rendue une seule fois à partir de son modèle, à plusieurs utilisateurs.
+     * @param idsUtilisateurs Les IDs des utilisateurs à notifier.
+     * @param type            Le type de notification.
+     * @param valeurs         Les paramètres du modèle, dans l'ordre de {@link TypeNotification#getParametres()}.
+     */
+    @Transactional
+    public void createNotifications(Collection<Integer> idsUtilisateurs, TypeNotification type, Object... valeurs) {
+        if (idsUtilisateurs.isEmpty()) {
+            return;
+        }
+        ModelesNotificationService.Rendu rendu = modelesNotificationService.rendre(type, valeurs);
+        createNotifications(idsUtilisateurs, rendu.sujet(), rendu.message());
     }
 
     /**
-     * Ajoute une notification à partir d'un DTO et envoie un email.
+     * Ajoute une notification à partir d'un DTO et met l'email correspondant en file d'envoi.
      *
      * @param notificationDto Le DTO contenant les informations de la notification.
      * @return La notification créée et enregistrée.
      */
+    @Transactional
     public Notification ajouterNotification(NotificationDto notificationDto) {
         // Création d'une nouvelle notification à partir du DTO
         Notification notification = new Notification();
@@ -56,13 +159,95 @@ public class NotificationService {
         notification.setUtilisateur(notificationDto.getContributeur());
         // Sauvegarde de la notification dans la base de données
         Notification savedNotification = notificationRepository.save(notification);
-        // Envoi de l'email de notification
-        emailService.envoyerEmail(
-                notificationDto.getContributeur().getEmail(),
-                notificationDto.getSujet(),
-                notificationDto.getContenu()
-        );
+        utilisateurDao.ajusterNotificationsNonLues(notificationDto.getContributeur().getId(), 1);
+        // Mise en file de l'email de notification
+        emailOutboxService.ajouter(savedNotification);
+        notificationFluxService.publierApresCommit(List.of(nouvelleNotificationCreee(savedNotification)));
         // Retourne la notification enregistrée
         return savedNotification;
     }
+
+    /**
+     * Lit une page de la boîte de réception d'un utilisateur, de la plus récente à la plus ancienne,
+     * par clé (dateCreation, id) à partir d'un curseur opaque.
+     *
+     * @param idUtilisateur    L'ID de l'utilisateur.
+     * @param nonLuesSeulement true pour ne lister que les notifications non lues.
+     * @param curseur          Le curseur renvoyé par la page précédente, ou null pour la première page.
+     * @param taille           Le nombre de notifications souhaité (borné à {@link #TAILLE_PAGE_MAX}).
+     * @return La page demandée et le curseur de la page suivante (null s'il n'y en a plus).
+     * @throws RuntimeException si l'utilisateur n'est pas trouvé.
+     */
+    public PageCurseurDto<NotificationResponseDto> getNotifications(int idUtilisateur, boolean nonLuesSeulement,
+                                                                    String curseur, int taille) {
+        if (!utilisateurDao.existsById(idUtilisateur)) {
+            throw new RuntimeException("Utilisateur non trouvé avec l'ID: " + idUtilisateur);
+        }
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        // On lit une notification de plus que demandé pour savoir s'il existe une page suivante.
+        Limit limite = Limit.of(tailleBornee + 1);
+        // Les notifications sorties de la période de conservation (partitions à supprimer) ne sont pas lues.
+        LocalDateTime depuis = notificationPartitionService.debutConservation();
+        List<NotificationResponseDto> notifications;
+        if (curseur == null || curseur.isBlank()) {
+            notifications = notificationRepository.findPremierePage(idUtilisateur, nonLuesSeulement, depuis, limite);
+        } else {
+            Curseur position = Curseur.decoder(curseur);
+            notifications = notificationRepository.findPageApres(idUtilisateur, nonLuesSeulement, depuis,
+                    position.dateHeure(), position.getId(), limite);
+        }
+        return PageCurseurDto.construire(notifications, tailleBornee,
+                notification -> new Curseur(notification.getDateCreation().toString(), notification.getId()));
+    }
+
+    /**
+     * Retourne le nombre de notifications non lues d'un utilisateur, lu dans son compteur
+     * (une seule ligne, sans parcourir ses notifications).
+     *
+     * @param idUtilisateur L'ID de l'utilisateur.
+     * @return Le nombre de notifications non lues.
+     * @throws RuntimeException si l'utilisateur n'est pas trouvé.
+     */
+    public NotificationsNonLuesDto getNombreNonLues(int idUtilisateur) {
+        int nonLues = utilisateurDao.findNotificationsNonLuesById(idUtilisateur)
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé avec l'ID: " + idUtilisateur));
+        return new NotificationsNonLuesDto(idUtilisateur, nonLues);
+    }
+
+    /**
+     * Marque comme lues des notifications d'un utilisateur, en une seule requête,
+     * et décrémente son compteur du nombre de notifications réellement passées à lu.
+     *
+     * @param idUtilisateur    L'ID de l'utilisateur.
+     * @param idsNotifications Les IDs des notifications à marquer, ou null/vide pour toutes ses notifications.
+     * @return Le nombre de notifications non lues restantes.
+     * @throws RuntimeException si l'utilisateur n'est pas trouvé.
+     */
+    @Transactional
+    public NotificationsNonLuesDto marquerLues(int idUtilisateur, Collection<Integer> idsNotifications) {
+        if (!utilisateurDao.existsById(idUtilisateur)) {
+            throw new RuntimeException("Utilisateur non trouvé avec l'ID: " + idUtilisateur);
+        }
+        // Les notifications d'un autre utilisateur ou déjà lues sont ignorées.
+        LocalDateTime depuis = notificationPartitionService.debutConservation();
+        int marquees = idsNotifications == null || idsNotifications.isEmpty()
+                ? notificationRepository.marquerToutesLues(idUtilisateur, depuis)
+                : notificationRepository.marquerLues(idUtilisateur, idsNotifications, depuis);
+        if (marquees > 0) {
+            utilisateurDao.ajusterNotificationsNonLues(idUtilisateur, -marquees);
+        }
+        return getNombreNonLues(idUtilisateur);
+    }
+
+    private NotificationCreeeDto nouvelleNotificationCreee(Notification notification) {
+        return new NotificationCreeeDto(
+                notification.getUtilisateur().getId(),
+                new NotificationResponseDto(
+                        notification.getId(),
+                        notification.getSujet(),
+                        notification.getMessage(),
+                        notification.getDateCreation(),
+                        notification.isLu())
+        );
+    }
 }
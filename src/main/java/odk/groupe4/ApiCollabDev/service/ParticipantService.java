@@ -1,9 +1,12 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
 import odk.groupe4.ApiCollabDev.dao.*;
 import odk.groupe4.ApiCollabDev.dto.*;
 import odk.groupe4.ApiCollabDev.models.*;
 import odk.groupe4.ApiCollabDev.models.enums.*;
+import odk.groupe4.ApiCollabDev.models.evenements.ParticipantAccepte;
+import odk.groupe4.ApiCollabDev.models.evenements.ParticipantRefuse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,29 +18,35 @@ public class ParticipantService {
     private final ParticipantDao participantDao;
     private final ProjetDao projetDao;
     private final ContributionDao contributionDao;
-    private final NotificationService notificationService;
+    private final EvenementBus evenementBus;
     private final ContributeurDao contributeurDao;
     private final ParametreCoinDao parametreCoinDao;
     private final FonctionnaliteDao fonctionnaliteDao;
-    private final BadgeDao badgeDao;
+    private final SeuilsBadgesIndex seuilsBadgesIndex;
+    private final CoinService coinService;
+    private final ClassementService classementService;
 
     @Autowired
     public ParticipantService(ParticipantDao participantDao,
                               ProjetDao projetDao,
                               ContributionDao contributionDao,
-                              NotificationService notificationService,
+                              EvenementBus evenementBus,
                               ContributeurDao contributeurDao,
                               ParametreCoinDao parametreCoinDao,
                               FonctionnaliteDao fonctionnaliteDao,
-                              BadgeDao badgeDao) {
+                              SeuilsBadgesIndex seuilsBadgesIndex,
+                              CoinService coinService,
+                              ClassementService classementService) {
         this.participantDao = participantDao;
         this.projetDao = projetDao;
         this.contributionDao = contributionDao;
-        this.notificationService = notificationService;
+        this.evenementBus = evenementBus;
         this.contributeurDao = contributeurDao;
         this.parametreCoinDao = parametreCoinDao;
         this.fonctionnaliteDao = fonctionnaliteDao;
-        this.badgeDao = badgeDao;
+        this.seuilsBadgesIndex = seuilsBadgesIndex;
+        this.coinService = coinService;
+        this.classementService = classementService;
     }
 
     public ParticipantResponseDto envoyerDemande(int idProjet, int idContributeur, ParticipantDto demandeDTO) {
@@ -63,46 +72,64 @@ public class ParticipantService {
         return mapToResponseDto(savedParticipant);
     }
 
+    @Transactional
     public ParticipantResponseDto accepterDemande(int participantId) {
-        Participant participant = participantDao.findById(participantId)
-                .orElseThrow(() -> new IllegalArgumentException("Participant non trouvé"));
-
-        if (participant.getStatut() == ParticipantStatus.ACCEPTE) {
+        // Changement de statut conditionnel : de deux acceptations simultanées, une seule compte le participant
+        if (participantDao.changerStatut(participantId, ParticipantStatus.ACCEPTE.name()).isEmpty()) {
+            if (!participantDao.existsById(participantId)) {
+                throw new IllegalArgumentException("Participant non trouvé");
+            }
             throw new IllegalArgumentException("La demande de participation a déjà été acceptée");
         }
+        Participant participant = participantDao.findById(participantId)
+                .orElseThrow(() -> new IllegalArgumentException("Participant non trouvé"));
 
-        participant.setStatut(ParticipantStatus.ACCEPTE);
-        Participant savedParticipant = participantDao.save(participant);
+        // Le projet compte un participant accepté de plus
+        projetDao.ajusterNombreParticipants(participant.getProjet().getId(), 1);
+        // Le contributeur entre au classement du projet
+        classementService.participationModifiee(participant.getId(), participant.getProjet().getId(),
+                participant.getContributeur().getId(), participant.getNombreContributionsValidees(), participant.getRevision());
 
-        notificationService.createNotification(
-                participant.getContributeur(),
-                "Demande de participation acceptée",
-                "Votre demande de participation au projet '" + participant.getProjet().getTitre() + "' a été acceptée."
-        );
+        // Le contributeur est notifié après le commit
+        evenementBus.publier(new ParticipantAccepte(
+                participant.getId(),
+                participant.getContributeur().getId(),
+                participant.getProjet().getId(),
+                participant.getProjet().getTitre()
+        ));
 
-        return mapToResponseDto(savedParticipant);
+        return mapToResponseDto(participant);
     }
 
+    @Transactional
     public ParticipantResponseDto refuserDemande(int participantId) {
+        // Changement de statut conditionnel, qui retourne l'ancien statut : seul l'appel qui refuse
+        // un participant accepté le retire du compteur du projet
+        String ancienStatut = participantDao.changerStatut(participantId, ParticipantStatus.REFUSE.name())
+                .orElseThrow(() -> participantDao.existsById(participantId)
+                        ? new IllegalArgumentException("La demande de participation a déjà été refusée")
+                        : new IllegalArgumentException("Participant non trouvé"));
         Participant participant = participantDao.findById(participantId)
                 .orElseThrow(() -> new IllegalArgumentException("Participant non trouvé"));
 
-        if (participant.getStatut() == ParticipantStatus.REFUSE) {
-            throw new IllegalArgumentException("La demande de participation a déjà été refusée");
+        // Un participant déjà accepté qui est refusé ne compte plus parmi les participants du projet
+        if (ParticipantStatus.ACCEPTE.name().equals(ancienStatut)) {
+            projetDao.ajusterNombreParticipants(participant.getProjet().getId(), -1);
         }
+        classementService.participationRetiree(participant.getId(), participant.getRevision());
 
-        participant.setStatut(ParticipantStatus.REFUSE);
-        Participant savedParticipant = participantDao.save(participant);
-
-        notificationService.createNotification(
-                participant.getContributeur(),
-                "Demande de participation refusée",
-                "Votre demande de participation au projet '" + participant.getProjet().getTitre() + "' a été refusée."
-        );
+        // Le contributeur est notifié après le commit
+        evenementBus.publier(new ParticipantRefuse(
+                participant.getId(),
+                participant.getContributeur().getId(),
+                participant.getProjet().getId(),
+                participant.getProjet().getTitre()
+        ));
 
-        return mapToResponseDto(savedParticipant);
+        return mapToResponseDto(participant);
     }
 
+    @Transactional
     public ParticipantResponseDto debloquerAcces(int idParticipant) {
         Participant participant = participantDao.findById(idParticipant)
                 .orElseThrow(() -> new RuntimeException("Participant introuvable"));
@@ -115,7 +142,6 @@ public class ParticipantService {
             throw new RuntimeException("L'accès est déjà débloqué.");
         }
 
-        int soldeParticipant = participant.getContributeur().getTotalCoin();
         ParametreCoin coinSystem;
 
         switch (participant.getProjet().getNiveau()) {
@@ -135,18 +161,17 @@ public class ParticipantService {
                 throw new RuntimeException("Niveau de projet non reconnu pour le déverrouillage.");
         }
 
-        int valeur = coinSystem.getValeur();
-
-        if (soldeParticipant >= valeur) {
-            participant.getContributeur().setTotalCoin(soldeParticipant - valeur);
-            participant.setEstDebloque(true);
-            contributeurDao.save(participant.getContributeur());
-        } else {
-            throw new RuntimeException("Solde insuffisant pour débloquer le projet");
+        // Déblocage puis débit conditionnels, sans lecture préalable du solde : deux demandes simultanées
+        // ne débitent qu'une fois, et un solde insuffisant annule le déblocage (rollback).
+        if (participantDao.debloquer(idParticipant) == 0) {
+            throw new RuntimeException("L'accès est déjà débloqué.");
         }
+        coinService.debiter(participant.getContributeur().getId(), TypeTransactionCoin.DEVERROUILLAGE_PROJET,
+                        coinSystem.getValeur(), idParticipant)
+                .orElseThrow(() -> new RuntimeException("Solde insuffisant pour débloquer le projet"));
 
-        Participant savedParticipant = participantDao.save(participant);
-        return mapToResponseDto(savedParticipant);
+        participant.setEstDebloque(true);
+        return mapToResponseDto(participant);
     }
 
     public FonctionnaliteDto reserverFonctionnalite(int idParticipant, int idFonctionnalite) {
@@ -167,6 +192,7 @@ public class ParticipantService {
         return fonctionnaliteToDto(fonctionnalite, participant);
     }
 
+    @Transactional
     public FonctionnaliteDto attribuerTache(int idParticipant, int idFonctionnalite) {
         Fonctionnalite fonctionnalite = fonctionnaliteDao.findById(idFonctionnalite)
                 .orElseThrow(() -> new RuntimeException("Fonctionnalité introuvable"));
@@ -174,6 +200,11 @@ public class ParticipantService {
         Participant participant = participantDao.findById(idParticipant)
                 .orElseThrow(() -> new RuntimeException("Participant introuvable"));
 
+        // Une fonctionnalité terminée que l'on réattribue repasse en cours
+        if (fonctionnalite.getStatusFeatures() == FeaturesStatus.TERMINE) {
+            projetDao.ajusterNombreFonctionnalitesTerminees(fonctionnalite.getProjet().getId(), -1);
+        }
+
         fonctionnalite.setParticipant(participant);
         fonctionnalite.setStatusFeatures(FeaturesStatus.EN_COURS);
         fonctionnaliteDao.save(fonctionnalite);
@@ -227,17 +258,15 @@ public class ParticipantService {
         Participant participant = participantDao.findById(idParticipant)
                 .orElseThrow(() -> new RuntimeException("Participant non trouvé"));
 
-        int nombreContributions = contributionDao.findByParticipantIdAndStatus(idParticipant, ContributionStatus.VALIDE).size();
-
-        List<Badge> tousLesBadges = badgeDao.findAllOrderByNombreContributionAsc();
+        int nombreContributions = participant.getNombreContributionsValidees();
 
-        return tousLesBadges.stream()
-                .map(badge -> new BadgeSeuilDto(
-                        badge.getType(),
-                        badge.getNombreContribution(),
-                        badge.getCoin_recompense(),
-                        badge.getDescription(),
-                        nombreContributions >= badge.getNombreContribution()
+        return seuilsBadgesIndex.tous().stream()
+                .map(seuil -> new BadgeSeuilDto(
+                        seuil.type(),
+                        seuil.nombreContribution(),
+                        seuil.coinRecompense(),
+                        seuil.description(),
+                        nombreContributions >= seuil.nombreContribution()
                 ))
                 .collect(Collectors.toList());
     }
@@ -1,65 +1,94 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
 import odk.groupe4.ApiCollabDev.dao.AdministrateurDao;
 import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
 import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
 import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetSpecifications;
+import odk.groupe4.ApiCollabDev.dto.Curseur;
+import odk.groupe4.ApiCollabDev.dto.ModerationProjetsResponseDto;
+import odk.groupe4.ApiCollabDev.dto.NotificationLotDto;
+import odk.groupe4.ApiCollabDev.dto.PageCurseurDto;
 import odk.groupe4.ApiCollabDev.dto.ProjetCahierDto;
 import odk.groupe4.ApiCollabDev.dto.ProjetDto;
+import odk.groupe4.ApiCollabDev.dto.ProjetFiltreDto;
 import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.dto.ResultatModerationDto;
+import odk.groupe4.ApiCollabDev.dto.ResultatRechercheProjet;
+import odk.groupe4.ApiCollabDev.dto.VersionRessourceDto;
 import odk.groupe4.ApiCollabDev.models.Administrateur;
 import odk.groupe4.ApiCollabDev.models.Contributeur;
 import odk.groupe4.ApiCollabDev.models.Projet;
+import odk.groupe4.ApiCollabDev.models.enums.DecisionModeration;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectLevel;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
 import odk.groupe4.ApiCollabDev.models.enums.ProjectStatus;
+import odk.groupe4.ApiCollabDev.models.enums.TypeNotification;
+import odk.groupe4.ApiCollabDev.models.evenements.ProjetDemarre;
+import odk.groupe4.ApiCollabDev.models.evenements.ProjetTermine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ProjetService {
+    public static final int TAILLE_PAGE_PAR_DEFAUT = 20;
+    public static final int TAILLE_PAGE_MAX = 100;
+
     private final ProjetDao projetDao;
     private final AdministrateurDao administrateurDao;
     private final ContributeurDao contributeurDao;
     private final ParticipantDao participantDao;
     private final NotificationService notificationService;
+    private final CatalogueProjetsCache catalogueProjetsCache;
+    private final EvenementBus evenementBus;
+    private final ModelesNotificationService modelesNotificationService;
 
     @Autowired
     public ProjetService(ProjetDao projetDao,
                          AdministrateurDao administrateurDao,
                          ContributeurDao contributeurDao,
                          ParticipantDao participantDao,
-                         NotificationService notificationService) {
+                         NotificationService notificationService,
+                         CatalogueProjetsCache catalogueProjetsCache,
+                         EvenementBus evenementBus,
+                         ModelesNotificationService modelesNotificationService) {
         this.projetDao = projetDao;
         this.administrateurDao = administrateurDao;
         this.contributeurDao = contributeurDao;
         this.participantDao = participantDao;
         this.notificationService = notificationService;
+        this.catalogueProjetsCache = catalogueProjetsCache;
+        this.evenementBus = evenementBus;
+        this.modelesNotificationService = modelesNotificationService;
     }
 
     /**
-     * Récupère tous les projets, filtrés par statut si spécifié.
+     * Récupère une page de projets selon une combinaison quelconque de filtres
+     * (statut, domaine, secteur, niveau, créateur, période de création).
+     * La pagination se fait par clé (dateCreation, id) : du plus récent au plus ancien.
      *
-     * @param status Le statut des projets à récupérer, ou null pour tous les projets.
-     * @return Une liste de ProjetResponseDto contenant les informations des projets.
+     * @param filtre  Les critères de filtrage ; chaque critère null est ignoré.
+     * @param curseur Le curseur renvoyé par la page précédente, ou null pour la première page.
+     * @param taille  Le nombre de projets souhaité (borné à {@link #TAILLE_PAGE_MAX}).
+     * @return Une page de ProjetResponseDto avec le curseur de la page suivante.
      */
-    public List<ProjetResponseDto> getAllProjets(ProjectStatus status) {
-        // Si le statut est spécifié, on récupère les projets avec ce statut, sinon on récupère tous les projets.
-        List<Projet> projets;
-        if (status != null) {
-            projets = projetDao.findByStatus(status);
-        } else {
-            projets = projetDao.findAll();
+    public PageCurseurDto<ProjetResponseDto> getAllProjets(ProjetFiltreDto filtre, String curseur, int taille) {
+        if (filtre.getDateDebut() != null && filtre.getDateFin() != null
+                && filtre.getDateDebut().isAfter(filtre.getDateFin())) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin");
         }
-        // On mappe chaque projet en ProjetResponseDto pour la réponse.
-        return projets.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        return paginer(filtre, curseur, taille);
     }
 
     /**
@@ -69,50 +98,85 @@ public class ProjetService {
      * @return Une liste de ProjetResponseDto contenant les informations des projets du contributeur.
      */
     public List<ProjetResponseDto> getProjetsByContributeur(int idContributeur) {
-        // On récupère le contributeur par son ID, ou on lance une exception si le contributeur n'existe pas.
-        Contributeur contributeur = contributeurDao.findById(idContributeur)
-                .orElseThrow(() -> new RuntimeException("Contributeur introuvable avec l'ID: " + idContributeur));
-        // On récupère tous les projets créés par ce contributeur.
-        List<Projet> projets = projetDao.findByCreateur(contributeur);
-        // On mappe chaque projet en ProjetResponseDto pour la réponse.
-        return projets.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        // On vérifie que le contributeur existe, ou on lance une exception si le contributeur n'existe pas.
+        if (!contributeurDao.existsById(idContributeur)) {
+            throw new RuntimeException("Contributeur introuvable avec l'ID: " + idContributeur);
+        }
+        // On récupère tous les projets créés par ce contributeur, directement projetés en ProjetResponseDto.
+        return projetDao.findResponsesByCreateurId(idContributeur);
     }
 
-    // Affiche tous les projets par filtres (Secteur et Domaine)
-    public List<ProjetResponseDto> getProjetsOuverts(ProjectDomain domaine, ProjectSector secteur) {
-        List<Projet> projets;
+    // Affiche une page des projets ouverts par filtres (Secteur et Domaine).
+    // La première page est servie depuis le cache : on y garde la page de taille maximale et on la découpe.
+    public PageCurseurDto<ProjetResponseDto> getProjetsOuverts(ProjectDomain domaine, ProjectSector secteur,
+                                                               String curseur, int taille) {
+        ProjetFiltreDto filtre = new ProjetFiltreDto();
+        filtre.setStatus(ProjectStatus.OUVERT);
+        filtre.setDomaine(domaine);
+        filtre.setSecteur(secteur);
+        if (curseur != null && !curseur.isBlank()) {
+            return paginer(filtre, curseur, taille);
+        }
+        List<ProjetResponseDto> premierePage = catalogueProjetsCache.obtenir(domaine, secteur, () ->
+                projetDao.findResponses(ProjetSpecifications.filtrer(filtre), TAILLE_PAGE_MAX + 1));
+        return construirePage(premierePage, borner(taille));
+    }
 
-        if (domaine != null && secteur != null) {
-            projets = projetDao.findByStatusAndDomaineAndSecteur(ProjectStatus.OUVERT, domaine, secteur);
-        } else if (domaine != null) {
-            projets = projetDao.findByStatusAndDomaine(ProjectStatus.OUVERT, domaine);
-        } else if (secteur != null) {
-            projets = projetDao.findByStatusAndSecteur(ProjectStatus.OUVERT, secteur);
+    /**
+     * Recherche plein texte dans le titre et la description des projets, combinable avec les filtres
+     * de statut, domaine et secteur. Les résultats sont classés par pertinence puis paginés par clé (rang, id).
+     *
+     * @param q       Le texte recherché (syntaxe web : mots, "expression exacte", -exclusion, OR).
+     * @param status  Le statut à filtrer, ou null.
+     * @param domaine Le domaine à filtrer, ou null.
+     * @param secteur Le secteur à filtrer, ou null.
+     * @param curseur Le curseur renvoyé par la page précédente, ou null pour la première page.
+     * @param taille  Le nombre de projets souhaité (borné à {@link #TAILLE_PAGE_MAX}).
+     * @return Une page de ProjetResponseDto classés par pertinence, avec le curseur de la page suivante.
+     */
+    public PageCurseurDto<ProjetResponseDto> rechercherProjets(String q, ProjectStatus status, ProjectDomain domaine,
+                                                               ProjectSector secteur, String curseur, int taille) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("Le texte de recherche est obligatoire");
+        }
+        int tailleBornee = borner(taille);
+        String statusFiltre = status != null ? status.name() : null;
+        String domaineFiltre = domaine != null ? domaine.name() : null;
+        String secteurFiltre = secteur != null ? secteur.name() : null;
+
+        // On lit un résultat de plus que demandé pour savoir s'il existe une page suivante.
+        List<ResultatRechercheProjet> resultats;
+        if (curseur == null || curseur.isBlank()) {
+            resultats = projetDao.rechercherPremierePage(q, statusFiltre, domaineFiltre, secteurFiltre, tailleBornee + 1);
         } else {
-            projets = projetDao.findByStatus(ProjectStatus.OUVERT);
+            Curseur position = Curseur.decoder(curseur);
+            resultats = projetDao.rechercherPageApres(q, statusFiltre, domaineFiltre, secteurFiltre,
+                    position.rang(), position.getId(), tailleBornee + 1);
         }
-
-        return projets.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        PageCurseurDto<ResultatRechercheProjet> page = PageCurseurDto.construire(resultats, tailleBornee,
+                resultat -> new Curseur(Float.toString(resultat.getRang()), resultat.getId()));
+        List<ResultatRechercheProjet> retenus = page.getContenu();
+
+        // On charge les projets de la page en une requête, puis on rétablit l'ordre de pertinence.
+        Map<Integer, ProjetResponseDto> projetsParId = projetDao
+                .findResponsesByIdIn(retenus.stream().map(ResultatRechercheProjet::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(ProjetResponseDto::getId, Function.identity()));
+        List<ProjetResponseDto> contenu = retenus.stream()
+                .map(resultat -> projetsParId.get(resultat.getId()))
+                .filter(projet -> projet != null)
+                .toList();
+        return new PageCurseurDto<>(contenu, contenu.size(), page.getCurseurSuivant());
     }
 
     // Affiche tous les projets par domaine
     public List<ProjetResponseDto> getProjetsByDomaine(ProjectDomain domaine) {
-        List<Projet> projets = projetDao.findByDomaine(domaine);
-        return projets.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        return projetDao.findResponsesByDomaine(domaine);
     }
 
     // Affiche tous les projets par Secteur
     public List<ProjetResponseDto> getProjetsBySecteur(ProjectSector secteur) {
-        List<Projet> projets = projetDao.findBySecteur(secteur);
-        return projets.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        return projetDao.findResponsesBySecteur(secteur);
     }
 
     /**
@@ -123,10 +187,18 @@ public class ProjetService {
      */
     public ProjetResponseDto getProjetById(int id) {
         // On récupère le projet par son ID, ou on lance une exception si le projet n'existe pas.
-        Projet projet = projetDao.findById(id)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé avec l'ID: " + id));
-        // On mappe le projet en ProjetResponseDto pour la réponse.
-        return mapToResponseDto(projet);
+        return mapToResponseDto(id);
+    }
+
+    /**
+     * Récupère la version d'un projet sans le charger, pour les GET conditionnels (ETag / Last-Modified).
+     *
+     * @param id L'ID du projet.
+     * @return La version et la date de dernière modification du projet (créateur et validateur compris).
+     */
+    public VersionRessourceDto getVersionProjet(int id) {
+        return projetDao.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Projet introuvable"));
     }
 
     /**
@@ -136,6 +208,7 @@ public class ProjetService {
      * @param idCreateurProjet L'ID du contributeur qui crée le projet.
      * @return Un objet ProjetResponseDto contenant les informations du projet créé.
      */
+    @Transactional
     public ProjetResponseDto proposerProjet(ProjetDto projetDto, int idCreateurProjet) {
         // On récupère le contributeur par son ID, ou on lance une exception si le contributeur n'existe pas.
         Contributeur contributeur = contributeurDao.findById(idCreateurProjet)
@@ -156,18 +229,15 @@ public class ProjetService {
         // On sauvegarde le projet dans la base de données.
         Projet savedProjet = projetDao.save(projet);
 
-        // Notifier tous les administrateurs
-        administrateurDao.findAll().forEach(administrateur -> {
-            notificationService.createNotification(
-                    administrateur,
-                    "Nouvelle idée de projet soumise",
-                    "Un nouveau projet '" + projet.getTitre() + "' a été soumis par " +
-                            projet.getCreateur().getNom() + " pour validation."
-            );
-        });
+        // Notifier tous les administrateurs, en un seul lot
+        notificationService.createNotifications(
+                administrateurDao.findAllIds(),
+                TypeNotification.PROJET_PROPOSE,
+                projet.getTitre(), projet.getCreateur().getNom()
+        );
 
         // On mappe le projet sauvegardé en ProjetResponseDto pour la réponse.
-        return mapToResponseDto(savedProjet);
+        return mapToResponseDto(savedProjet.getId());
     }
 
     /**
@@ -177,6 +247,7 @@ public class ProjetService {
      * @param idUserValide L'ID de l'administrateur qui valide le projet.
      * @return Un objet ProjetResponseDto contenant les informations du projet validé.
      */
+    @Transactional
     public ProjetResponseDto validerProjet(int idProjet, int idUserValide) {
         // On récupère le projet par son ID, ou on lance une exception si le projet n'existe pas.
         Projet projet = projetDao.findById(idProjet)
@@ -195,17 +266,16 @@ public class ProjetService {
         projet.setValidateur(admin);
         projet.setStatus(ProjectStatus.OUVERT);
 
-        // On notifie le créateur du projet que son projet a été validé.
-        notificationService.createNotification(
-                projet.getCreateur(),
-                "Projet validé",
-                "Votre projet '" + projet.getTitre() + "' a été validé par le service de validation."
-        );
-
         // On sauvegarde le projet mis à jour dans la base de données.
         Projet savedProjet = projetDao.save(projet);
+
+        // On notifie le créateur du projet que son projet a été validé, dans la même transaction :
+        // l'email ne part que si la validation est enregistrée (pas en cas de conflit de version).
+        notificationService.createNotification(projet.getCreateur(), TypeNotification.PROJET_VALIDE, projet.getTitre());
+        // Le projet entre dans le catalogue des projets ouverts.
+        invaliderCatalogue(savedProjet, ProjectStatus.EN_ATTENTE);
         // On retourne le projet validé en ProjetResponseDto.
-        return mapToResponseDto(savedProjet);
+        return mapToResponseDto(savedProjet.getId());
     }
 
     /**
@@ -214,6 +284,7 @@ public class ProjetService {
      * @param idProjet L'ID du projet à rejeter.
      * @param idUserValide L'ID de l'administrateur qui rejette le projet.
      */
+    @Transactional
     public void rejeterProjet(int idProjet, int idUserValide) {
         // On récupère le projet par son ID, ou on lance une exception si le projet n'existe pas.
         Projet projet = projetDao.findById(idProjet)
@@ -231,15 +302,72 @@ public class ProjetService {
         projet.setValidateur(admin);
         projet.setStatus(ProjectStatus.REJETE);
 
-        // On notifie le créateur du projet que son projet a été rejeté.
-        notificationService.createNotification(
-                projet.getCreateur(),
-                "Projet rejeté",
-                "Votre projet '" + projet.getTitre() + "' a été rejeté par le service de validation."
-        );
-
-        // On sauvegarde le projet mis à jour dans la base de données.
+        // On supprime le projet rejeté de la base de données.
         projetDao.delete(projet);
+
+        // On notifie le créateur du projet que son projet a été rejeté, dans la même transaction.
+        notificationService.createNotification(projet.getCreateur(), TypeNotification.PROJET_REJETE, projet.getTitre());
+    }
+
+    /**
+     * Valide ou rejette un lot de projets en attente, en une seule transaction.
+     * Les projets modifiés sont écrits par lots JDBC au commit (hibernate.jdbc.batch_size) ;
+     * un projet introuvable ou qui n'est plus en attente est signalé sans faire échouer le lot.
+     * Les créateurs sont notifiés en un seul lot, envoyé par email une fois la transaction validée.
+     *
+     * @param idsProjets   Les IDs des projets à modérer.
+     * @param decision     VALIDER (statut OUVERT) ou REJETER (projet supprimé).
+     * @param idUserValide L'ID de l'administrateur qui modère.
+     * @return Le résultat de la modération pour chaque projet, dans l'ordre de la demande.
+     */
+    @Transactional
+    public ModerationProjetsResponseDto modererProjets(List<Integer> idsProjets, DecisionModeration decision, int idUserValide) {
+        // On récupère l'administrateur une seule fois pour tout le lot.
+        Administrateur admin = administrateurDao.findById(idUserValide)
+                .orElseThrow(() -> new RuntimeException("Administrateur introuvable"));
+
+        // On charge tous les projets du lot, avec leur créateur, en une requête.
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>(idsProjets);
+        Map<Integer, Projet> projets = projetDao.findAllAvecCreateurByIdIn(ids).stream()
+                .collect(Collectors.toMap(Projet::getId, Function.identity()));
+
+        List<ResultatModerationDto> resultats = new ArrayList<>();
+        List<Projet> aSupprimer = new ArrayList<>();
+        List<NotificationLotDto> notifications = new ArrayList<>();
+        for (Integer idProjet : ids) {
+            Projet projet = projets.get(idProjet);
+            if (projet == null) {
+                resultats.add(new ResultatModerationDto(idProjet, false, "Projet introuvable"));
+                continue;
+            }
+            if (projet.getStatus() != ProjectStatus.EN_ATTENTE) {
+                resultats.add(new ResultatModerationDto(idProjet, false, "Le projet doit être en attente de validation."));
+                continue;
+            }
+
+            projet.setValidateur(admin);
+            if (decision == DecisionModeration.VALIDER) {
+                // Mise à jour écrite au flush par dirty checking, regroupée avec les autres projets du lot.
+                projet.setStatus(ProjectStatus.OUVERT);
+                invaliderCatalogue(projet, ProjectStatus.EN_ATTENTE);
+                notifications.add(notificationLot(projet, TypeNotification.PROJET_VALIDE));
+                resultats.add(new ResultatModerationDto(idProjet, true, "Projet validé"));
+            } else {
+                projet.setStatus(ProjectStatus.REJETE);
+                aSupprimer.add(projet);
+                notifications.add(notificationLot(projet, TypeNotification.PROJET_REJETE));
+                resultats.add(new ResultatModerationDto(idProjet, true, "Projet rejeté"));
+            }
+        }
+        // Comme pour un rejet unitaire, les projets rejetés sont supprimés.
+        projetDao.deleteAll(aSupprimer);
+
+        // Les notifications et leurs emails sont écrits en un lot dans la transaction de la modération :
+        // les emails ne partent (EmailOutboxDispatcher) que si la modération est validée en base.
+        notificationService.createNotifications(notifications);
+
+        int reussis = (int) resultats.stream().filter(ResultatModerationDto::isSucces).count();
+        return new ModerationProjetsResponseDto(decision, resultats.size(), reussis, resultats);
     }
 
     /**
@@ -258,8 +386,10 @@ public class ProjetService {
         projet.setUrlCahierDeCharge(projetCahierDto.getUrlCahierDeCharge());
         // On met à jour la date de création du projet.
         Projet savedProjet = projetDao.save(projet);
+        // Le lien du cahier des charges est affiché dans le catalogue si le projet est ouvert.
+        invaliderCatalogue(savedProjet, savedProjet.getStatus());
         // On retourne le projet mis à jour en ProjetResponseDto.
-        return mapToResponseDto(savedProjet);
+        return mapToResponseDto(savedProjet.getId());
     }
 
     /**
@@ -270,6 +400,7 @@ public class ProjetService {
      * @param niveau Le niveau de complexité à attribuer.
      * @return Un objet ProjetResponseDto contenant les informations du projet mis à jour.
      */
+    @Transactional
     public ProjetResponseDto attribuerNiveau(int idProjet, int idAdministrateur, ProjectLevel niveau) {
         // On récupère le projet par son ID, ou on lance une exception si le projet n'existe pas.
         Projet projet = projetDao.findById(idProjet)
@@ -293,17 +424,15 @@ public class ProjetService {
         projet.setNiveau(niveau);
         projet.setValidateur(admin);
 
-        // On notifie le créateur du projet que le niveau de complexité a été attribué.
-        notificationService.createNotification(
-                projet.getCreateur(),
-                "Niveau de complexité attribué",
-                "Le niveau de complexité '" + niveau + "' a été attribué à votre projet '" + projet.getTitre() + "'."
-        );
-
         // On sauvegarde le projet mis à jour dans la base de données.
         Projet savedProjet = projetDao.save(projet);
+
+        // On notifie le créateur du projet que le niveau de complexité a été attribué, dans la même transaction.
+        notificationService.createNotification(projet.getCreateur(), TypeNotification.NIVEAU_ATTRIBUE, niveau, projet.getTitre());
+        // Le niveau est affiché dans le catalogue si le projet est ouvert.
+        invaliderCatalogue(savedProjet, savedProjet.getStatus());
         // On retourne le projet mis à jour en ProjetResponseDto.
-        return mapToResponseDto(savedProjet);
+        return mapToResponseDto(savedProjet.getId());
     }
 
     /**
@@ -312,6 +441,7 @@ public class ProjetService {
      * @param idProjet L'ID du projet à démarrer.
      * @return Un objet ProjetResponseDto contenant les informations du projet démarré.
      */
+    @Transactional
     public ProjetResponseDto demarrerProjet(int idProjet) {
         // On récupère le projet par son ID, ou on lance une exception si le projet n'existe pas.
         Projet projet = projetDao.findById(idProjet)
@@ -325,19 +455,14 @@ public class ProjetService {
         // On met à jour le statut du projet à "En cours".
         projet.setStatus(ProjectStatus.EN_COURS);
 
-        // On notifie tous les participants du projet que le projet a été démarré.
-        projet.getParticipants().forEach(participant -> {
-            notificationService.createNotification(
-                    participant.getContributeur(),
-                    "Projet démarré",
-                    "Le projet '" + projet.getTitre() + "' a été démarré."
-            );
-        });
-
         // On sauvegarde le projet mis à jour dans la base de données.
         Projet savedProjet = projetDao.save(projet);
+        // Les participants du projet sont notifiés après le commit.
+        evenementBus.publier(new ProjetDemarre(savedProjet.getId(), savedProjet.getTitre()));
+        // Le projet quitte le catalogue des projets ouverts.
+        invaliderCatalogue(savedProjet, ProjectStatus.OUVERT);
         // On retourne le projet démarré en ProjetResponseDto.
-        return mapToResponseDto(savedProjet);
+        return mapToResponseDto(savedProjet.getId());
     }
 
     /**
@@ -346,6 +471,7 @@ public class ProjetService {
      * @param idProjet L'ID du projet à terminer.
      * @return Un objet ProjetResponseDto contenant les informations du projet terminé.
      */
+    @Transactional
     public ProjetResponseDto terminerProjet(int idProjet) {
         // On récupère le projet par son ID, ou on lance une exception si le projet n'existe pas.
         Projet projet = projetDao.findById(idProjet)
@@ -357,42 +483,74 @@ public class ProjetService {
         }
         // On met à jour le statut du projet à "Terminé".
         projet.setStatus(ProjectStatus.TERMINER);
-        // On notifie tous les participants du projet que le projet a été terminé.
-        projet.getParticipants().forEach(participant -> {
-            notificationService.createNotification(
-                    participant.getContributeur(),
-                    "Projet terminé",
-                    "Le projet '" + projet.getTitre() + "' a été terminé."
-            );
-        });
         // On sauvegarde le projet mis à jour dans la base de données.
         Projet savedProjet = projetDao.save(projet);
+        // Les participants du projet sont notifiés après le commit.
+        evenementBus.publier(new ProjetTermine(savedProjet.getId(), savedProjet.getTitre()));
         // On retourne le projet terminé en ProjetResponseDto.
-        return mapToResponseDto(savedProjet);
+        return mapToResponseDto(savedProjet.getId());
+    }
+
+    /**
+     * Lit une page de projets par clé (dateCreation, id) à partir d'un curseur opaque.
+     *
+     * @param filtre  Les critères de filtrage ; chaque critère null est ignoré.
+     * @param curseur Le curseur de la page précédente, ou null pour la première page.
+     * @param taille  Le nombre de projets souhaité.
+     * @return La page demandée et le curseur de la page suivante (null s'il n'y en a plus).
+     */
+    private PageCurseurDto<ProjetResponseDto> paginer(ProjetFiltreDto filtre, String curseur, int taille) {
+        int tailleBornee = borner(taille);
+
+        Specification<Projet> specification = ProjetSpecifications.filtrer(filtre);
+        if (curseur != null && !curseur.isBlank()) {
+            Curseur position = Curseur.decoder(curseur);
+            specification = specification.and(ProjetSpecifications.apres(position.date(), position.getId()));
+        }
+        // On lit un élément de plus que demandé pour savoir s'il existe une page suivante.
+        List<ProjetResponseDto> projets = projetDao.findResponses(specification, tailleBornee + 1);
+        return construirePage(projets, tailleBornee);
+    }
+
+    // Borne la taille de page pour protéger la base et la mémoire
+    private int borner(int taille) {
+        return Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+    }
+
+    // Page des projets lus (un de plus que la taille s'il existe une page suivante), par clé (dateCreation, id)
+    private PageCurseurDto<ProjetResponseDto> construirePage(List<ProjetResponseDto> projets, int tailleBornee) {
+        return PageCurseurDto.construire(projets, tailleBornee,
+                projet -> new Curseur(projet.getDateCreation().toString(), projet.getId()));
     }
 
     /**
-     * Mappe un objet Projet en ProjetResponseDto.
+     * Évince du cache du catalogue les clés qui affichent ce projet, après le commit en cours.
+     * Seuls les projets ouverts avant ou après la modification sont concernés.
      *
-     * @param projet L'objet Projet à mapper.
+     * @param projet      Le projet modifié.
+     * @param statutAvant Le statut du projet avant la modification.
+     */
+    private void invaliderCatalogue(Projet projet, ProjectStatus statutAvant) {
+        if (statutAvant == ProjectStatus.OUVERT || projet.getStatus() == ProjectStatus.OUVERT) {
+            catalogueProjetsCache.evincerApresCommit(projet.getDomaine(), projet.getSecteur());
+        }
+    }
+
+    // Notification du créateur d'un projet modéré, à écrire avec le reste du lot
+    private NotificationLotDto notificationLot(Projet projet, TypeNotification type) {
+        ModelesNotificationService.Rendu rendu = modelesNotificationService.rendre(type, projet.getTitre());
+        return new NotificationLotDto(projet.getCreateur(), rendu.sujet(), rendu.message());
+    }
+
+    /**
+     * Relit un projet sous forme de ProjetResponseDto via la projection de ProjetDao,
+     * sans charger ses collections de participants et de fonctionnalités.
+     *
+     * @param idProjet L'ID du projet à relire.
      * @return Un objet ProjetResponseDto contenant les informations du projet.
      */
-    private ProjetResponseDto mapToResponseDto(Projet projet) {
-        return new ProjetResponseDto(
-                projet.getId(),
-                projet.getTitre(),
-                projet.getDescription(),
-                projet.getDomaine(),
-                projet.getSecteur(),
-                projet.getUrlCahierDeCharge(),
-                projet.getStatus(),
-                projet.getNiveau(),
-                projet.getDateCreation(),
-                projet.getCreateur().getNom(),
-                projet.getCreateur().getPrenom(),
-                projet.getValidateur() != null ? projet.getValidateur().getEmail() : null,
-                projet.getParticipants().size(),
-                projet.getFonctionnalites().size()
-        );
+    private ProjetResponseDto mapToResponseDto(int idProjet) {
+        return projetDao.findResponseById(idProjet)
+                .orElseThrow(() -> new RuntimeException("Projet non trouvé avec l'ID: " + idProjet));
     }
 }
@@ -0,0 +1,211 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.transaction.Transactional;
+import odk.groupe4.ApiCollabDev.dao.BadgeParticipantDao;
+import odk.groupe4.ApiCollabDev.dao.ContributionDao;
+import odk.groupe4.ApiCollabDev.dao.ParametreCoinDao;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import odk.groupe4.ApiCollabDev.dao.RecompenseContributionDao;
+import odk.groupe4.ApiCollabDev.dto.NotificationLotDto;
+import odk.groupe4.ApiCollabDev.models.Contributeur;
+import odk.groupe4.ApiCollabDev.models.Contribution;
+import odk.groupe4.ApiCollabDev.models.Fonctionnalite;
+import odk.groupe4.ApiCollabDev.models.ParametreCoin;
+import odk.groupe4.ApiCollabDev.models.Participant;
+import odk.groupe4.ApiCollabDev.models.RecompenseContribution;
+import odk.groupe4.ApiCollabDev.models.enums.EtapeRecompense;
+import odk.groupe4.ApiCollabDev.models.enums.FeaturesStatus;
+import odk.groupe4.ApiCollabDev.models.enums.ParticipantStatus;
+import odk.groupe4.ApiCollabDev.models.enums.TypeNotification;
+import odk.groupe4.ApiCollabDev.models.enums.TypeTransactionCoin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Étapes des récompenses d'une contribution validée (coins, fonctionnalité, badges, notification).
+ * Chaque étape s'exécute dans sa propre transaction, qui fait aussi avancer la ligne recompense_contribution :
+ * les effets d'une étape et son avancement sont validés ensemble, une étape n'est donc jamais exécutée deux fois.
+ */
+@Service
+public class RecompenseEtapeService {
+    private static final Logger log = LoggerFactory.getLogger(RecompenseEtapeService.class);
+    private static final int TAILLE_MAX_ERREUR = 255;
+
+    private final RecompenseContributionDao recompenseContributionDao;
+    private final ContributionDao contributionDao;
+    private final ParticipantDao participantDao;
+    private final ProjetDao projetDao;
+    private final ParametreCoinDao parametreCoinDao;
+    private final BadgeParticipantDao badgeParticipantDao;
+    private final SeuilsBadgesIndex seuilsBadgesIndex;
+    private final CoinService coinService;
+    private final ClassementService classementService;
+    private final NotificationService notificationService;
+    private final ModelesNotificationService modelesNotificationService;
+    private final DelaiExponentiel delaiRetentative;
+
+    @Autowired
+    public RecompenseEtapeService(RecompenseContributionDao recompenseContributionDao,
+                                  ContributionDao contributionDao,
+                                  ParticipantDao participantDao,
+                                  ProjetDao projetDao,
+                                  ParametreCoinDao parametreCoinDao,
+                                  BadgeParticipantDao badgeParticipantDao,
+                                  SeuilsBadgesIndex seuilsBadgesIndex,
+                                  CoinService coinService,
+                                  ClassementService classementService,
+                                  NotificationService notificationService,
+                                  ModelesNotificationService modelesNotificationService,
+                                  @Value("${collabdev.recompenses.delai-initial:PT30S}") Duration delaiInitial,
+                                  @Value("${collabdev.recompenses.delai-max:PT1H}") Duration delaiMax) {
+        this.recompenseContributionDao = recompenseContributionDao;
+        this.contributionDao = contributionDao;
+        this.participantDao = participantDao;
+        this.projetDao = projetDao;
+        this.parametreCoinDao = parametreCoinDao;
+        this.badgeParticipantDao = badgeParticipantDao;
+        this.seuilsBadgesIndex = seuilsBadgesIndex;
+        this.coinService = coinService;
+        this.classementService = classementService;
+        this.notificationService = notificationService;
+        this.modelesNotificationService = modelesNotificationService;
+        this.delaiRetentative = new DelaiExponentiel(delaiInitial, delaiMax);
+    }
+
+    /**
+     * Exécute l'étape courante des récompenses d'une contribution.
+     *
+     * @param idContribution L'ID de la contribution validée.
+     * @return L'étape exécutée, ou null si tout est terminé ou si la contribution
+     *         est en cours de traitement par un autre thread.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public EtapeRecompense executer(int idContribution) {
+        RecompenseContribution recompense = recompenseContributionDao.verrouiller(idContribution).orElse(null);
+        if (recompense == null || recompense.getEtape() == EtapeRecompense.TERMINEE) {
+            return null;
+        }
+        EtapeRecompense etape = recompense.getEtape();
+        Contribution contribution = contributionDao.findById(idContribution).orElse(null);
+        if (contribution == null) {
+            // Contribution supprimée depuis sa validation : plus rien à récompenser
+            log.warn("Récompenses de la contribution {} abandonnées à l'étape {} : contribution introuvable", idContribution, etape);
+            terminer(recompense, EtapeRecompense.TERMINEE);
+            return null;
+        }
+
+        switch (etape) {
+            case COINS -> crediterContribution(contribution);
+            case FONCTIONNALITE -> terminerFonctionnalite(contribution.getFonctionnalite());
+            case BADGES -> attribuerBadges(contribution.getParticipant());
+            case NOTIFICATION -> notificationService.createNotification(contribution.getParticipant().getContributeur(),
+                    TypeNotification.CONTRIBUTION_VALIDEE, contribution.getFonctionnalite().getTitre());
+            case TERMINEE -> { }
+        }
+        terminer(recompense, etape.suivante());
+        return etape;
+    }
+
+    /**
+     * Enregistre l'échec de l'étape courante : elle sera reprise après un délai exponentiel, tiré au hasard.
+     *
+     * @param idContribution L'ID de la contribution.
+     * @param erreur         Le message de l'erreur.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void marquerEchec(int idContribution, String erreur) {
+        String message = erreur != null && erreur.length() > TAILLE_MAX_ERREUR
+                ? erreur.substring(0, TAILLE_MAX_ERREUR)
+                : erreur;
+        recompenseContributionDao.findById(idContribution).ifPresent(recompense -> {
+            recompense.setTentatives(recompense.getTentatives() + 1);
+            recompense.setDateProchaineTentative(
+                    LocalDateTime.now().plus(delaiRetentative.avantTentative(recompense.getTentatives())));
+            recompense.setDerniereErreur(message);
+        });
+    }
+
+    // Passe à l'étape suivante ; la reprise planifiée reste possible si le thread s'arrête avant la suivante
+    private void terminer(RecompenseContribution recompense, EtapeRecompense suivante) {
+        LocalDateTime maintenant = LocalDateTime.now();
+        recompense.setEtape(suivante);
+        recompense.setTentatives(0);
+        recompense.setDerniereErreur(null);
+        recompense.setDateProchaineTentative(maintenant);
+        if (suivante == EtapeRecompense.TERMINEE) {
+            recompense.setDateFin(maintenant);
+        }
+    }
+
+    // Coins de la validation, inscrits au registre avec la contribution en référence
+    private void crediterContribution(Contribution contribution) {
+        ParametreCoin coinConfig = parametreCoinDao.findByTypeEvenementLien("CONTRIBUTION_VALIDEE")
+                .orElseThrow(() -> new IllegalStateException("Coin configuration pour CONTRIBUTION_VALIDEE non trouvée"));
+        coinService.crediter(contribution.getParticipant().getContributeur().getId(),
+                TypeTransactionCoin.CONTRIBUTION_VALIDEE, coinConfig.getValeur(), contribution.getId());
+    }
+
+    // Termine la fonctionnalité et met à jour le compteur de fonctionnalités terminées de son projet
+    private void terminerFonctionnalite(Fonctionnalite fonctionnalite) {
+        if (fonctionnalite != null && fonctionnalite.getStatusFeatures() != FeaturesStatus.TERMINE) {
+            fonctionnalite.setStatusFeatures(FeaturesStatus.TERMINE);
+            if (fonctionnalite.getProjet() != null) {
+                projetDao.ajusterNombreFonctionnalitesTerminees(fonctionnalite.getProjet().getId(), 1);
+            }
+        }
+    }
+
+    /**
+     * Recompte les contributions validées du participant puis attribue les badges dont le seuil est franchi
+     * entre l'ancien et le nouveau compteur, avec leurs coins et une notification par badge. Les badges candidats
+     * viennent de l'index (recherche dichotomique) ; l'insertion, en une requête, ignore ceux déjà obtenus.
+     * Exécuté par l'étape BADGES, et dans la transaction de ContributionService quand une contribution
+     * déjà récompensée est validée de nouveau (ses récompenses ne sont pas replanifiées).
+     */
+    public void attribuerBadges(Participant participant) {
+        // [ancien compteur, nouveau compteur, révision, statut], lus sur la ligne verrouillée
+        Object[] recompte = participantDao.recompterContributionsValidees(participant.getId()).get(0);
+        int ancienNombre = ((Number) recompte[0]).intValue();
+        int nombreValidees = ((Number) recompte[1]).intValue();
+        if (ParticipantStatus.ACCEPTE.name().equals(recompte[3])) {
+            classementService.participationModifiee(participant.getId(), participant.getProjet().getId(),
+                    participant.getContributeur().getId(), nombreValidees, ((Number) recompte[2]).longValue());
+        }
+        List<SeuilsBadgesIndex.Seuil> franchis = seuilsBadgesIndex.franchis(ancienNombre, nombreValidees);
+        if (franchis.isEmpty()) {
+            return;
+        }
+        Set<Integer> attribues = new HashSet<>(badgeParticipantDao.attribuer(
+                participant.getId(),
+                franchis.stream().map(SeuilsBadgesIndex.Seuil::idBadge).toList(),
+                LocalDate.now()
+        ));
+        Contributeur contributeur = participant.getContributeur();
+        List<NotificationLotDto> notifications = new ArrayList<>(attribues.size());
+        for (SeuilsBadgesIndex.Seuil seuil : franchis) {
+            if (!attribues.contains(seuil.idBadge())) {
+                continue;
+            }
+            log.info("Badge {} attribué au participant {}", seuil.type(), participant.getId());
+            coinService.crediter(contributeur.getId(), TypeTransactionCoin.BADGE_OBTENU, seuil.coinRecompense(), seuil.idBadge());
+            ModelesNotificationService.Rendu rendu = modelesNotificationService.rendre(TypeNotification.BADGE_OBTENU,
+                    seuil.type(), seuil.nombreContribution(), seuil.coinRecompense());
+            notifications.add(new NotificationLotDto(contributeur, rendu.sujet(), rendu.message()));
+        }
+        if (!notifications.isEmpty()) {
+            notificationService.createNotifications(notifications);
+        }
+    }
+}
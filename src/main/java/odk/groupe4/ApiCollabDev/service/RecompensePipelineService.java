@@ -0,0 +1,145 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.RecompenseContributionDao;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesRecompensesDto;
+import odk.groupe4.ApiCollabDev.models.enums.EtapeRecompense;
+import odk.groupe4.ApiCollabDev.models.evenements.ContributionsValidees;
+import odk.groupe4.ApiCollabDev.models.interfaces.NotificationObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Récompenses des contributions validées, hors de la transaction du gestionnaire.
+ * La validation planifie les récompenses (table recompense_contribution, même transaction) puis publie
+ * ContributionsValidees, un événement par participant ; après le commit, le bus d'événements appelle ce service
+ * qui exécute les étapes de chaque contribution l'une après l'autre (RecompenseEtapeService). Une étape en échec, ou interrompue par un arrêt,
+ * est reprise par la tâche planifiée : les récompenses survivent à un redémarrage.
+ */
+@Service
+public class RecompensePipelineService implements NotificationObserver<ContributionsValidees> {
+    private static final Logger log = LoggerFactory.getLogger(RecompensePipelineService.class);
+
+    private final RecompenseContributionDao recompenseContributionDao;
+    private final RecompenseEtapeService recompenseEtapeService;
+    private final Duration delaiReprise;
+    private final int tailleLot;
+
+    private final LongAdder planifiees = new LongAdder();
+    private final LongAdder etapesExecutees = new LongAdder();
+    private final LongAdder etapesEnEchec = new LongAdder();
+    private final LongAdder reprises = new LongAdder();
+
+    @Autowired
+    public RecompensePipelineService(RecompenseContributionDao recompenseContributionDao,
+                                     RecompenseEtapeService recompenseEtapeService,
+                                     @Value("${collabdev.recompenses.delai-reprise:PT1M}") Duration delaiReprise,
+                                     @Value("${collabdev.recompenses.taille-lot:100}") int tailleLot) {
+        this.recompenseContributionDao = recompenseContributionDao;
+        this.recompenseEtapeService = recompenseEtapeService;
+        this.delaiReprise = delaiReprise;
+        this.tailleLot = tailleLot;
+    }
+
+    /**
+     * Planifie les récompenses de contributions validées, en une requête, dans la transaction de l'appelant.
+     * Une contribution n'est récompensée qu'une fois, même validée de nouveau.
+     *
+     * @param idsContributions Les IDs des contributions validées.
+     * @return Les IDs des contributions dont les récompenses ont été planifiées (pas celles qui l'avaient déjà été).
+     */
+    public List<Integer> planifier(Collection<Integer> idsContributions) {
+        if (idsContributions.isEmpty()) {
+            return List.of();
+        }
+        // Sans exécution immédiate après le commit (arrêt, file pleine), la tâche planifiée reprend après ce délai
+        List<Integer> nouvelles = recompenseContributionDao.planifier(idsContributions, LocalDateTime.now().plus(delaiReprise));
+        planifiees.add(nouvelles.size());
+        return nouvelles;
+    }
+
+    /**
+     * Annule les récompenses de contributions qui ne sont plus validées, si aucune étape n'a encore abouti,
+     * dans la transaction de l'appelant. Une nouvelle validation les planifiera de nouveau.
+     *
+     * @param idsContributions Les IDs des contributions.
+     */
+    public void annuler(Collection<Integer> idsContributions) {
+        if (!idsContributions.isEmpty()) {
+            recompenseContributionDao.annuler(idsContributions);
+        }
+    }
+
+    @Override
+    public Class<ContributionsValidees> typeEvenement() {
+        return ContributionsValidees.class;
+    }
+
+    // Les contributions d'un participant sont traitées à la suite, sur un seul thread :
+    // elles ne se disputent pas les lignes du participant et du contributeur
+    @Override
+    public void recevoir(ContributionsValidees evenement) {
+        evenement.idsContributions().forEach(this::traiter);
+    }
+
+    /**
+     * Reprend les récompenses inachevées dont la date de reprise est passée, lot après lot.
+     */
+    @Scheduled(fixedDelayString = "${collabdev.recompenses.intervalle:PT30S}")
+    public void reprendre() {
+        List<Integer> lot;
+        int avancees;
+        do {
+            lot = recompenseContributionDao.findAReprendre(LocalDateTime.now(), tailleLot);
+            avancees = 0;
+            for (int idContribution : lot) {
+                if (traiter(idContribution)) {
+                    reprises.increment();
+                    avancees++;
+                }
+            }
+            // Un lot entièrement verrouillé par d'autres threads n'est pas relu aussitôt
+        } while (lot.size() == tailleLot && avancees > 0);
+    }
+
+    public StatistiquesRecompensesDto getStatistiques() {
+        return new StatistiquesRecompensesDto(
+                planifiees.sum(),
+                etapesExecutees.sum(),
+                etapesEnEchec.sum(),
+                reprises.sum(),
+                recompenseContributionDao.compterEnCours()
+        );
+    }
+
+    // Exécute les étapes restantes ; à la première en échec, elle est reprogrammée et le traitement s'arrête.
+    // Retourne true si au moins une étape a été exécutée ou a échoué.
+    private boolean traiter(int idContribution) {
+        boolean avancee = false;
+        try {
+            EtapeRecompense etape;
+            while ((etape = recompenseEtapeService.executer(idContribution)) != null) {
+                etapesExecutees.increment();
+                avancee = true;
+                if (etape.suivante() == EtapeRecompense.TERMINEE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            etapesEnEchec.increment();
+            log.warn("Échec d'une étape des récompenses de la contribution {} : {}", idContribution, e.getMessage());
+            recompenseEtapeService.marquerEchec(idContribution, e.getMessage());
+            avancee = true;
+        }
+        return avancee;
+    }
+}
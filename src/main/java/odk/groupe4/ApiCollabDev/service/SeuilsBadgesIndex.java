@@ -0,0 +1,115 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.BadgeDao;
+import odk.groupe4.ApiCollabDev.models.Badge;
+import odk.groupe4.ApiCollabDev.models.enums.TypeBadge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seuils des badges (nombre de contributions validées), triés par ordre croissant, en mémoire.
+ * Le tableau est immuable et remplacé en entier quand BadgeService modifie un badge :
+ * l'attribution des badges ne relit pas la table badge et trouve les seuils franchis par recherche dichotomique.
+ */
+@Service
+public class SeuilsBadgesIndex {
+    private static final Logger log = LoggerFactory.getLogger(SeuilsBadgesIndex.class);
+
+    public record Seuil(int idBadge, TypeBadge type, int nombreContribution, int coinRecompense, String description) {}
+
+    // nombres[i] == seuils[i].nombreContribution(), en tableau d'int pour la recherche
+    private record Index(int[] nombres, Seuil[] seuils) {}
+
+    private final BadgeDao badgeDao;
+
+    private volatile Index index;
+
+    @Autowired
+    public SeuilsBadgesIndex(BadgeDao badgeDao) {
+        this.badgeDao = badgeDao;
+    }
+
+    /**
+     * Retourne les badges dont le seuil est franchi quand le nombre de contributions validées passe
+     * de ancienNombre à nouveauNombre (seuils dans ]ancienNombre, nouveauNombre]), du seuil le plus bas au plus haut.
+     * Les badges des seuils déjà atteints avant ne sont plus candidats : ils ont été attribués lors du franchissement.
+     */
+    public List<Seuil> franchis(int ancienNombre, int nouveauNombre) {
+        if (nouveauNombre <= ancienNombre) {
+            return List.of();
+        }
+        Index courant = index();
+        return Arrays.asList(courant.seuils).subList(
+                borneSuperieure(courant.nombres, ancienNombre), borneSuperieure(courant.nombres, nouveauNombre));
+    }
+
+    // Tous les badges, du seuil le plus bas au plus haut
+    public List<Seuil> tous() {
+        return Arrays.asList(index().seuils);
+    }
+
+    /**
+     * Reconstruit l'index après le commit de la transaction en cours (immédiatement s'il n'y en a pas),
+     * pour qu'il ne reflète jamais un badge dont la modification est annulée.
+     */
+    public void reconstruireApresCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruire();
+                }
+            });
+        } else {
+            reconstruire();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruire() {
+        List<Badge> badges = badgeDao.findAllOrderByNombreContributionAsc();
+        int[] nombres = new int[badges.size()];
+        Seuil[] seuils = new Seuil[badges.size()];
+        for (int i = 0; i < seuils.length; i++) {
+            Badge badge = badges.get(i);
+            nombres[i] = badge.getNombreContribution();
+            seuils[i] = new Seuil(badge.getId(), badge.getType(), badge.getNombreContribution(),
+                    badge.getCoin_recompense(), badge.getDescription());
+        }
+        index = new Index(nombres, seuils);
+        log.debug("Index des seuils de badges reconstruit : {} badge(s)", seuils.length);
+    }
+
+    private Index index() {
+        Index courant = index;
+        if (courant == null) {
+            reconstruire();
+            courant = index;
+        }
+        return courant;
+    }
+
+    // Nombre de seuils inférieurs ou égaux à la valeur (premier indice dont le seuil la dépasse)
+    static int borneSuperieure(int[] nombres, int valeur) {
+        int bas = 0;
+        int haut = nombres.length;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (nombres[milieu] <= valeur) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+}
@@ -0,0 +1,129 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de connexions SMTP authentifiées (STARTTLS), réutilisées d'un envoi à l'autre.
+ * Le nombre de connexions empruntées en même temps est borné : une connexion n'est ouverte
+ * que si aucune connexion inactive n'est disponible, et elle est vérifiée avant d'être prêtée.
+ */
+@Component
+public class SmtpTransportPool {
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final int connexionsMax;
+    private final Duration attenteMax;
+    private final Semaphore emprunts;
+    // Pile : la connexion rendue le plus récemment est prêtée en premier (les autres peuvent expirer côté serveur)
+    private final LinkedBlockingDeque<Transport> disponibles = new LinkedBlockingDeque<>();
+    private final LongAdder connexionsOuvertes = new LongAdder(); // Connexions actuellement ouvertes (prêtées ou inactives)
+
+    @Autowired
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${collabdev.email.smtp.connexions-max:4}") int connexionsMax,
+                             @Value("${collabdev.email.smtp.attente-connexion:PT30S}") Duration attenteMax) {
+        this.mailSender = mailSender;
+        this.connexionsMax = connexionsMax;
+        this.attenteMax = attenteMax;
+        this.emprunts = new Semaphore(connexionsMax, true);
+    }
+
+    /**
+     * Emprunte une connexion SMTP ouverte ; elle doit être rendue par {@link #rendre(Transport, boolean)}.
+     * @throws MessagingException si aucune connexion ne se libère à temps ou si la connexion au serveur échoue.
+     */
+    public Transport emprunter() throws MessagingException {
+        try {
+            if (!emprunts.tryAcquire(attenteMax.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Aucune connexion SMTP disponible après " + attenteMax);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Attente d'une connexion SMTP interrompue", e);
+        }
+        try {
+            Transport transport;
+            while ((transport = disponibles.pollFirst()) != null) {
+                // isConnected() envoie un NOOP : une connexion fermée par le serveur est écartée
+                if (transport.isConnected()) {
+                    return transport;
+                }
+                fermer(transport);
+            }
+            return ouvrir();
+        } catch (MessagingException | RuntimeException e) {
+            emprunts.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Rend une connexion empruntée.
+     * @param transport La connexion.
+     * @param reutilisable false si la connexion est dans un état inconnu (erreur de protocole) : elle est fermée.
+     */
+    public void rendre(Transport transport, boolean reutilisable) {
+        try {
+            if (reutilisable) {
+                disponibles.offerFirst(transport);
+            } else {
+                fermer(transport);
+            }
+        } finally {
+            emprunts.release();
+        }
+    }
+
+    public long getConnexionsOuvertes() {
+        return connexionsOuvertes.sum();
+    }
+
+    public int getConnexionsDisponibles() {
+        return disponibles.size();
+    }
+
+    public int getConnexionsMax() {
+        return connexionsMax;
+    }
+
+    @PreDestroy
+    public void fermerTout() {
+        Transport transport;
+        while ((transport = disponibles.pollFirst()) != null) {
+            fermer(transport);
+        }
+    }
+
+    // Ouvre une connexion avec la configuration spring.mail.* (session, hôte, port, identifiants)
+    private Transport ouvrir() throws MessagingException {
+        String protocole = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+        Transport transport = mailSender.getSession().getTransport(protocole);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connexionsOuvertes.increment();
+        return transport;
+    }
+
+    private void fermer(Transport transport) {
+        connexionsOuvertes.decrement();
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Fermeture de la connexion SMTP : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
+import odk.groupe4.ApiCollabDev.dao.ContributionDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import odk.groupe4.ApiCollabDev.dto.StatistiquesPlateformeDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class StatistiquesService {
+    private static final Logger log = LoggerFactory.getLogger(StatistiquesService.class);
+
+    private static final String NON_RENSEIGNE = "NON_RENSEIGNE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjetDao projetDao;
+    private final ContributionDao contributionDao;
+    private final ContributeurDao contributeurDao;
+
+    @Autowired
+    public StatistiquesService(JdbcTemplate jdbcTemplate,
+                               ProjetDao projetDao,
+                               ContributionDao contributionDao,
+                               ContributeurDao contributeurDao) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projetDao = projetDao;
+        this.contributionDao = contributionDao;
+        this.contributeurDao = contributeurDao;
+    }
+
+    /**
+     * Retourne les statistiques de la plateforme, lues dans la vue matérialisée statistiques_plateforme.
+     * Si la vue est indisponible ou vide, ou si le temps réel est demandé, elles sont calculées
+     * directement par des requêtes GROUP BY.
+     *
+     * @param tempsReel true pour ignorer la vue matérialisée.
+     * @return Les compteurs de projets, de contributions et de contributeurs actifs.
+     */
+    public StatistiquesPlateformeDto getStatistiques(boolean tempsReel) {
+        if (!tempsReel) {
+            try {
+                StatistiquesPlateformeDto statistiques = lireVueMaterialisee();
+                if (statistiques != null) {
+                    return statistiques;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Vue statistiques_plateforme indisponible, calcul en temps réel : {}", e.getMessage());
+            }
+        }
+        return calculerEnTempsReel();
+    }
+
+    /**
+     * Rafraîchit la vue matérialisée sans bloquer les lectures (CONCURRENTLY, grâce à son index unique).
+     * Exécuté selon la planification collabdev.statistiques.rafraichissement.
+     */
+    @Scheduled(fixedDelayString = "${collabdev.statistiques.rafraichissement:PT5M}",
+               initialDelayString = "${collabdev.statistiques.rafraichissement:PT5M}")
+    public void rafraichirVueMaterialisee() {
+        try {
+            jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY statistiques_plateforme");
+            log.debug("Vue statistiques_plateforme rafraîchie");
+        } catch (DataAccessException e) {
+            log.warn("Échec du rafraîchissement de la vue statistiques_plateforme : {}", e.getMessage());
+        }
+    }
+
+    // Lit toutes les lignes (catégorie, clé, total) de la vue ; null si la vue est vide
+    private StatistiquesPlateformeDto lireVueMaterialisee() {
+        StatistiquesPlateformeDto statistiques = nouvellesStatistiques("VUE_MATERIALISEE");
+        jdbcTemplate.query("SELECT categorie, cle, total, calcule_le FROM statistiques_plateforme", rs -> {
+            String cle = rs.getString("cle");
+            long total = rs.getLong("total");
+            switch (rs.getString("categorie")) {
+                case "PROJET_STATUT" -> statistiques.getProjetsParStatut().put(cle, total);
+                case "PROJET_DOMAINE" -> statistiques.getProjetsParDomaine().put(cle, total);
+                case "PROJET_SECTEUR" -> statistiques.getProjetsParSecteur().put(cle, total);
+                case "CONTRIBUTION_STATUT" -> statistiques.getContributionsParStatut().put(cle, total);
+                case "CONTRIBUTEURS" -> statistiques.setContributeursActifs(total);
+                default -> log.debug("Catégorie de statistiques inconnue : {}", rs.getString("categorie"));
+            }
+            Timestamp calculeLe = rs.getTimestamp("calcule_le");
+            statistiques.setCalculeLe(calculeLe != null ? calculeLe.toLocalDateTime() : null);
+        });
+        return statistiques.getCalculeLe() != null ? statistiques : null;
+    }
+
+    // Calcule les statistiques directement sur les tables
+    private StatistiquesPlateformeDto calculerEnTempsReel() {
+        StatistiquesPlateformeDto statistiques = nouvellesStatistiques("TEMPS_REEL");
+        remplir(statistiques.getProjetsParStatut(), projetDao.compterParStatut());
+        remplir(statistiques.getProjetsParDomaine(), projetDao.compterParDomaine());
+        remplir(statistiques.getProjetsParSecteur(), projetDao.compterParSecteur());
+        remplir(statistiques.getContributionsParStatut(), contributionDao.compterParStatut());
+        statistiques.setContributeursActifs(contributeurDao.countByActifTrue());
+        statistiques.setCalculeLe(LocalDateTime.now());
+        return statistiques;
+    }
+
+    private StatistiquesPlateformeDto nouvellesStatistiques(String source) {
+        return new StatistiquesPlateformeDto(new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), new TreeMap<>(),
+                0, source, null);
+    }
+
+    // Convertit les lignes [clé, total] d'un GROUP BY, avec la même clé que la vue pour les valeurs absentes
+    private void remplir(Map<String, Long> cible, List<Object[]> lignes) {
+        for (Object[] ligne : lignes) {
+            cible.put(ligne[0] != null ? ligne[0].toString() : NON_RENSEIGNE, (Long) ligne[1]);
+        }
+    }
+}
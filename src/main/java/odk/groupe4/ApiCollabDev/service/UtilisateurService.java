@@ -1,5 +1,6 @@
 package odk.groupe4.ApiCollabDev.service;
 
+import jakarta.transaction.Transactional;
 import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
 import odk.groupe4.ApiCollabDev.dao.ParametreCoinDao;
 import odk.groupe4.ApiCollabDev.dao.UtilisateurDao;
@@ -10,6 +11,8 @@ import odk.groupe4.ApiCollabDev.dto.UtilisateurResponseDto;
 import odk.groupe4.ApiCollabDev.models.Contributeur;
 import odk.groupe4.ApiCollabDev.models.ParametreCoin;
 import odk.groupe4.ApiCollabDev.models.Utilisateur;
+import odk.groupe4.ApiCollabDev.models.enums.ModeNotification;
+import odk.groupe4.ApiCollabDev.models.enums.TypeTransactionCoin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -23,12 +26,15 @@ public class UtilisateurService {
     private final UtilisateurDao utilisateurDao;
     private final ContributeurDao contributeurDao;
     private final ParametreCoinDao parametreCoinDao;
+    private final CoinService coinService;
 
     @Autowired
-    public UtilisateurService(UtilisateurDao utilisateurDao, ContributeurDao contributeurDao, ParametreCoinDao parametreCoinDao) {
+    public UtilisateurService(UtilisateurDao utilisateurDao, ContributeurDao contributeurDao, ParametreCoinDao parametreCoinDao,
+                              CoinService coinService) {
         this.utilisateurDao = utilisateurDao;
         this.contributeurDao = contributeurDao;
         this.parametreCoinDao = parametreCoinDao;
+        this.coinService = coinService;
     }
 
     /**
@@ -38,6 +44,7 @@ public class UtilisateurService {
      * @return les détails de l'utilisateur inscrit
      * @throws ResponseStatusException si l'email ou le téléphone est déjà utilisé
      */
+    @Transactional
     public UtilisateurResponseDto inscrire(ContributeurRequestDto dto) {
         // Vérifier si l'email ou le téléphone existe déjà
         Optional<Utilisateur> existingUser = utilisateurDao.findByEmail(dto.getEmail());
@@ -61,12 +68,15 @@ public class UtilisateurService {
         contributeur.setTelephone(dto.getTelephone());
         contributeur.setEmail(dto.getEmail());
         contributeur.setPassword(dto.getPassword());
-        contributeur.setTotalCoin(soldeCoin.getValeur());
+        contributeur.setTotalCoin(0);
         contributeur.setPointExp(10);
         contributeur.setActif(true);
 
         // Enregistrer le contributeur dans la base de données
-        Utilisateur savedUser = utilisateurDao.save(contributeur);
+        Contributeur savedUser = contributeurDao.save(contributeur);
+        // Créditer le solde d'inscription, inscrit au registre des coins
+        savedUser.setTotalCoin(coinService.crediter(savedUser.getId(), TypeTransactionCoin.INSCRIPTION,
+                soldeCoin.getValeur(), null));
         // Retourner les détails de l'utilisateur inscrit
         return mapToUtilisateurResponseDto(savedUser);
     }
@@ -145,6 +155,27 @@ public class UtilisateurService {
         utilisateurDao.save(utilisateur);
     }
 
+    /**
+     * Change le mode d'envoi des emails de notification d'un utilisateur.
+     * Les emails déjà différés restent regroupés au prochain récapitulatif.
+     *
+     * @param id l'ID de l'utilisateur
+     * @param mode INSTANTANE (un email par notification) ou DIGEST (un récapitulatif par fenêtre)
+     * @return les détails du profil mis à jour
+     * @throws RuntimeException si l'utilisateur n'est pas trouvé
+     */
+    public UtilisateurResponseDto changerModeNotification(int id, ModeNotification mode) {
+        // Vérifier si l'utilisateur existe avec l'ID fourni
+        Utilisateur utilisateur = utilisateurDao.findById(id)
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé avec l'ID: " + id));
+        if (mode == null) {
+            throw new IllegalArgumentException("Le mode de notification est obligatoire");
+        }
+
+        utilisateur.setModeNotification(mode);
+        return mapToUtilisateurResponseDto(utilisateurDao.save(utilisateur));
+    }
+
     /**
      * Mappe un utilisateur à une réponse DTO.
      *
@@ -162,6 +193,7 @@ public class UtilisateurService {
                     utilisateur.getEmail(),
                     type,
                     utilisateur.isActif(),
+                    utilisateur.getModeNotification(),
                     contributeur.getNom(),
                     contributeur.getPrenom(),
                     contributeur.getTelephone(),
@@ -175,6 +207,7 @@ public class UtilisateurService {
                     utilisateur.getEmail(),
                     type,
                     utilisateur.isActif(),
+                    utilisateur.getModeNotification(),
                     null,
                     null,
                     null,
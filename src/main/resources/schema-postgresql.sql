@@ -0,0 +1,115 @@
+-- Exécuté après la mise à jour du schéma par Hibernate (spring.jpa.defer-datasource-initialization=true).
+-- Chaque instruction est idempotente : le script est rejoué à chaque démarrage.
+
+-- Recherche plein texte sur les projets : vecteur généré (titre pondéré A, description pondérée B) et index GIN.
+ALTER TABLE projet ADD COLUMN IF NOT EXISTS recherche tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(titre, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_projet_recherche ON projet USING GIN (recherche);
+
+-- Statistiques agrégées de la plateforme (tableau de bord administrateur), rafraîchies par StatistiquesService.
+-- Les clés absentes (domaine ou secteur non renseigné) sont regroupées sous NON_RENSEIGNE.
+CREATE MATERIALIZED VIEW IF NOT EXISTS statistiques_plateforme AS
+SELECT s.categorie, s.cle, s.total, now() AS calcule_le
+FROM (
+    SELECT 'PROJET_STATUT' AS categorie, COALESCE(status, 'NON_RENSEIGNE') AS cle, COUNT(*) AS total
+    FROM projet GROUP BY status
+    UNION ALL
+    SELECT 'PROJET_DOMAINE', COALESCE(domaine, 'NON_RENSEIGNE'), COUNT(*)
+    FROM projet GROUP BY domaine
+    UNION ALL
+    SELECT 'PROJET_SECTEUR', COALESCE(secteur, 'NON_RENSEIGNE'), COUNT(*)
+    FROM projet GROUP BY secteur
+    UNION ALL
+    SELECT 'CONTRIBUTION_STATUT', COALESCE(status, 'NON_RENSEIGNE'), COUNT(*)
+    FROM contribution GROUP BY status
+    UNION ALL
+    SELECT 'CONTRIBUTEURS', 'ACTIFS', COUNT(*)
+    FROM contributeur c JOIN utilisateur u ON u.id_utilisateur = c.id_contributeur
+    WHERE u.actif
+) s;
+
+-- Index unique requis par REFRESH MATERIALIZED VIEW CONCURRENTLY.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_statistiques_plateforme ON statistiques_plateforme (categorie, cle);
+
+-- Hibernate ne met pas à jour la contrainte CHECK générée sur une colonne enum existante :
+-- elle est supprimée pour accepter les statuts ajoutés depuis (DIFFERE, REGROUPE du mode DIGEST).
+ALTER TABLE email_outbox DROP CONSTRAINT IF EXISTS email_outbox_statut_check;
+
+-- Les emails abandonnés restés en file avec l'ancien statut ECHEC rejoignent les lettres mortes (email_echec).
+WITH echecs AS (DELETE FROM email_outbox WHERE statut = 'ECHEC' RETURNING *)
+INSERT INTO email_echec (destinataire, sujet, message, tentatives, date_creation, date_echec, derniere_erreur, id_notification)
+SELECT destinataire, sujet, message, tentatives, date_creation,
+       COALESCE(date_reservation, date_creation, LOCALTIMESTAMP), derniere_erreur, id_notification
+FROM echecs;
+
+-- Un badge n'est attribué qu'une fois par participant : les doublons existants sont supprimés
+-- (l'attribution la plus ancienne est conservée) avant la création de l'index unique.
+DELETE FROM badge_participant a USING badge_participant b
+WHERE a.id_participant = b.id_participant AND a.id_bagde = b.id_bagde
+  AND a.id_badge_participant > b.id_badge_participant;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_badge_participant ON badge_participant (id_participant, id_bagde);
+
+-- Registre des coins : les soldes antérieurs au registre y sont repris en une écriture SOLDE_INITIAL,
+-- pour que la somme des écritures d'un contributeur soit égale à son solde.
+INSERT INTO coin_transaction (id_contributeur, type, montant, solde_apres, reference, date_creation)
+SELECT c.id_contributeur, 'SOLDE_INITIAL', c.total_coin, c.total_coin, NULL, LOCALTIMESTAMP
+FROM contributeur c
+WHERE c.total_coin <> 0
+  AND NOT EXISTS (SELECT 1 FROM coin_transaction t WHERE t.id_contributeur = c.id_contributeur);
+
+-- Récompenses inachevées à reprendre, par date de reprise ; les lignes terminées (la plupart) ne sont pas indexées.
+CREATE INDEX IF NOT EXISTS idx_recompense_contribution_reprise ON recompense_contribution (date_prochaine_tentative)
+WHERE etape <> 'TERMINEE';
+
+-- Conversion unique de la table notification créée par Hibernate en table partitionnée par mois de date_creation
+-- (NotificationPartitionService crée ensuite les partitions à venir et supprime celles sorties de la conservation).
+-- Faite ici, avant l'ouverture du serveur HTTP et le lancement des tâches planifiées, la réécriture de la table
+-- ne bloque aucune requête ; le verrou consultatif sérialise les instances qui démarrent ensemble.
+-- La clé primaire d'une table partitionnée inclut la clé de partition : id_notification seul ne peut plus être
+-- référencé par une clé étrangère (email_outbox, email_echec), qui est supprimée.
+-- L'identité d'Hibernate n'est pas copiée : l'ID est tiré d'une séquence reprise après le plus grand ID existant.
+-- Les partitions vont du mois de la plus ancienne notification au mois courant, plus la partition par défaut.
+-- Le corps du bloc est entre apostrophes, et non entre $$, pour le découpage du script en instructions par Spring.
+DO '
+DECLARE
+    reference record;
+    mois date;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(''notification_partition''));
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(''notification'')) IS DISTINCT FROM ''r'' THEN
+        RETURN;
+    END IF;
+    LOCK TABLE notification IN ACCESS EXCLUSIVE MODE;
+
+    FOR reference IN SELECT conrelid::regclass::text AS table_source, conname::text AS contrainte
+                     FROM pg_constraint WHERE contype = ''f'' AND confrelid = ''notification''::regclass LOOP
+        EXECUTE format(''ALTER TABLE %s DROP CONSTRAINT %I'', reference.table_source, reference.contrainte);
+    END LOOP;
+
+    ALTER TABLE notification RENAME TO notification_avant_partition;
+    CREATE TABLE notification (LIKE notification_avant_partition INCLUDING DEFAULTS) PARTITION BY RANGE (date_creation);
+    CREATE SEQUENCE IF NOT EXISTS notification_id_seq;
+    PERFORM setval(''notification_id_seq'', COALESCE((SELECT MAX(id_notification) FROM notification_avant_partition), 0) + 1, false);
+    ALTER TABLE notification ALTER COLUMN id_notification SET DEFAULT nextval(''notification_id_seq'');
+
+    FOR mois IN SELECT generate_series(b.debut, b.fin, interval ''1 month'')::date
+                FROM (SELECT date_trunc(''month'', COALESCE(MIN(date_creation), LOCALTIMESTAMP)) AS debut,
+                             date_trunc(''month'', LOCALTIMESTAMP) AS fin
+                      FROM notification_avant_partition) b LOOP
+        EXECUTE format(''CREATE TABLE notification_%s PARTITION OF notification FOR VALUES FROM (%L) TO (%L)'',
+                       to_char(mois, ''YYYY_MM''), mois::timestamp, (mois + interval ''1 month'')::timestamp);
+    END LOOP;
+    CREATE TABLE notification_defaut PARTITION OF notification DEFAULT;
+    INSERT INTO notification SELECT * FROM notification_avant_partition;
+    DROP TABLE notification_avant_partition;
+
+    ALTER SEQUENCE notification_id_seq OWNED BY notification.id_notification;
+    ALTER TABLE notification ADD CONSTRAINT notification_pkey PRIMARY KEY (id_notification, date_creation);
+    CREATE INDEX idx_notification_utilisateur_date ON notification (id_utilisateur, date_creation, id_notification);
+    ALTER TABLE notification ADD CONSTRAINT fk_notification_utilisateur
+        FOREIGN KEY (id_utilisateur) REFERENCES utilisateur (id_utilisateur);
+END';
@@ -0,0 +1,93 @@
+package odk.groupe4.ApiCollabDev.controllers;
+
+import odk.groupe4.ApiCollabDev.dao.CoinTransactionDao;
+import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
+import odk.groupe4.ApiCollabDev.dto.CoinTransactionDto;
+import odk.groupe4.ApiCollabDev.dto.Curseur;
+import odk.groupe4.ApiCollabDev.exception.GlobalExceptionHandler;
+import odk.groupe4.ApiCollabDev.models.enums.TypeTransactionCoin;
+import odk.groupe4.ApiCollabDev.service.ClassementService;
+import odk.groupe4.ApiCollabDev.service.CoinService;
+import odk.groupe4.ApiCollabDev.service.ContributeurService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Curseurs de pagination reçus par un contrôleur : un curseur valide fait lire la page suivante,
+ * un curseur mal formé ou modifié est rejeté en 400 sans interroger la base.
+ */
+class ContributeurControllerCurseurTest {
+    private static final String URL = "/api/v1/contributeurs/1/coins/transactions";
+
+    private final CoinTransactionDao coinTransactionDao = mock(CoinTransactionDao.class);
+    private final ContributeurDao contributeurDao = mock(ContributeurDao.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void initialiser() {
+        CoinService coinService = new CoinService(coinTransactionDao, contributeurDao, mock(ClassementService.class));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ContributeurController(mock(ContributeurService.class), coinService,
+                        mock(ClassementService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(contributeurDao.existsById(1)).thenReturn(true);
+    }
+
+    @Test
+    void leCurseurSuivantPermetDeLireLaPageSuivante() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2025, 6, 1, 12, 0, 0);
+        when(coinTransactionDao.findPremierePage(eq(1), any(Limit.class))).thenReturn(List.of(
+                new CoinTransactionDto(9, TypeTransactionCoin.INSCRIPTION, 10, 10, null, date),
+                new CoinTransactionDto(8, TypeTransactionCoin.SOLDE_INITIAL, 0, 0, null, date)));
+        String curseur = new Curseur(date.toString(), 9).encoder();
+
+        mockMvc.perform(get(URL).param("taille", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taille").value(1))
+                .andExpect(jsonPath("$.curseurSuivant").value(curseur));
+
+        mockMvc.perform(get(URL).param("taille", "1").param("curseur", curseur))
+                .andExpect(status().isOk());
+        verify(coinTransactionDao).findPageApres(1, date, 9, Limit.of(2));
+    }
+
+    @Test
+    void unCurseurMalFormeEstRejeteEn400() throws Exception {
+        mockMvc.perform(get(URL).param("curseur", "n'importe quoi"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Curseur de pagination invalide"));
+        verifyNoInteractions(coinTransactionDao);
+    }
+
+    @Test
+    void unCurseurModifieEstRejeteEn400() throws Exception {
+        String modifie = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1 OR 1=1|9".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get(URL).param("curseur", modifie))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Curseur de pagination invalide"));
+        verify(coinTransactionDao, never()).findPageApres(anyInt(), any(), anyInt(), any());
+    }
+}
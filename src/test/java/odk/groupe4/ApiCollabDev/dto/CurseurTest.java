@@ -0,0 +1,72 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurseurTest {
+
+    // Jeton tel qu'un client pourrait le fabriquer ou le modifier
+    private static String jeton(String brut) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(brut.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encoderPuisDecoderRestitueLaCleEtLId() {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+        Curseur curseur = Curseur.decoder(new Curseur(date.toString(), 42).encoder());
+
+        assertThat(curseur.getCle()).isEqualTo(date.toString());
+        assertThat(curseur.getId()).isEqualTo(42);
+        assertThat(curseur.dateHeure()).isEqualTo(date);
+    }
+
+    @Test
+    void leJetonEstUtilisableDansUneUrl() {
+        String jeton = new Curseur("clé ?&/+=", 7).encoder();
+
+        assertThat(jeton).matches("[A-Za-z0-9_-]+");
+        assertThat(Curseur.decoder(jeton).getCle()).isEqualTo("clé ?&/+=");
+    }
+
+    @Test
+    void laClePeutContenirLeSeparateur() {
+        Curseur curseur = Curseur.decoder(new Curseur("a|b", 3).encoder());
+
+        assertThat(curseur.getCle()).isEqualTo("a|b");
+        assertThat(curseur.getId()).isEqualTo(3);
+    }
+
+    @Test
+    void lesClesTypeesSontRelues() {
+        assertThat(Curseur.decoder(new Curseur("2025-01-31", 1).encoder()).date()).isEqualTo(LocalDate.of(2025, 1, 31));
+        assertThat(Curseur.decoder(new Curseur(Float.toString(0.0759f), 1).encoder()).rang()).isEqualTo(0.0759f);
+    }
+
+    @Test
+    void unJetonMalFormeEstRejete() {
+        for (String jeton : List.of("pas du base64 !", "%%%", jeton("sans-separateur"), jeton("|12"),
+                jeton("2025-01-01T00:00|douze"), jeton("2025-01-01T00:00|"))) {
+            assertThatThrownBy(() -> Curseur.decoder(jeton))
+                    .as(jeton)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Curseur de pagination invalide");
+        }
+    }
+
+    @Test
+    void uneCleModifieeEstRejeteeALaLecture() {
+        Curseur curseur = Curseur.decoder(jeton("pas-une-date|12"));
+
+        assertThatThrownBy(curseur::dateHeure).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(curseur::date).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(curseur::rang).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package odk.groupe4.ApiCollabDev.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCurseurDtoTest {
+
+    @Test
+    void unElementEnTropDonneLeCurseurDuDernierElementDeLaPage() {
+        PageCurseurDto<Integer> page = PageCurseurDto.construire(List.of(5, 4, 3, 2), 3, id -> new Curseur("cle" + id, id));
+
+        assertThat(page.getContenu()).containsExactly(5, 4, 3);
+        assertThat(page.getTaille()).isEqualTo(3);
+        Curseur suivant = Curseur.decoder(page.getCurseurSuivant());
+        assertThat(suivant.getCle()).isEqualTo("cle3");
+        assertThat(suivant.getId()).isEqualTo(3);
+    }
+
+    @Test
+    void sansElementEnTropIlNYAPasDePageSuivante() {
+        PageCurseurDto<Integer> pleine = PageCurseurDto.construire(List.of(5, 4, 3), 3, id -> new Curseur("cle", id));
+        PageCurseurDto<Integer> vide = PageCurseurDto.construire(List.of(), 3, id -> new Curseur("cle", id));
+
+        assertThat(pleine.getContenu()).containsExactly(5, 4, 3);
+        assertThat(pleine.getCurseurSuivant()).isNull();
+        assertThat(vide.getContenu()).isEmpty();
+        assertThat(vide.getTaille()).isZero();
+        assertThat(vide.getCurseurSuivant()).isNull();
+    }
+}
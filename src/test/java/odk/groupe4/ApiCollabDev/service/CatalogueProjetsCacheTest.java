@@ -0,0 +1,136 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dto.ProjetResponseDto;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectDomain;
+import odk.groupe4.ApiCollabDev.models.enums.ProjectSector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogueProjetsCacheTest {
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong horloge = new AtomicLong(1_000);
+    private final AtomicInteger chargements = new AtomicInteger();
+
+    private CatalogueProjetsCache cache(int tailleMax) {
+        return new CatalogueProjetsCache(tailleMax, TTL, horloge::get);
+    }
+
+    // Chargeur qui compte les lectures en base et renvoie une page identifiable
+    private Supplier<List<ProjetResponseDto>> chargeur() {
+        return () -> {
+            ProjetResponseDto projet = new ProjetResponseDto();
+            projet.setId(chargements.incrementAndGet());
+            return List.of(projet);
+        };
+    }
+
+    private int obtenir(CatalogueProjetsCache cache, ProjectDomain domaine, ProjectSector secteur) {
+        return cache.obtenir(domaine, secteur, chargeur()).get(0).getId();
+    }
+
+    @AfterEach
+    void nettoyer() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void uneEntreeEstServieDepuisLeCacheJusquAuTtl() {
+        CatalogueProjetsCache cache = cache(10);
+
+        assertThat(obtenir(cache, ProjectDomain.WEB, null)).isEqualTo(1);
+        horloge.addAndGet(TTL.toNanos() - 1);
+        assertThat(obtenir(cache, ProjectDomain.WEB, null)).isEqualTo(1);
+        horloge.addAndGet(1);
+        assertThat(obtenir(cache, ProjectDomain.WEB, null)).isEqualTo(2);
+
+        assertThat(cache.getStatistiques().getSucces()).isEqualTo(1);
+        assertThat(cache.getStatistiques().getEchecs()).isEqualTo(2);
+    }
+
+    @Test
+    void laCleLaMoinsRecemmentUtiliseeEstEvinceeQuandLeCacheEstPlein() {
+        CatalogueProjetsCache cache = cache(2);
+        obtenir(cache, ProjectDomain.WEB, null);   // 1
+        obtenir(cache, ProjectDomain.MOBILE, null);       // 2
+        obtenir(cache, ProjectDomain.WEB, null);   // WEB devient la plus récente
+        obtenir(cache, ProjectDomain.IA, null); // 3 : MOBILE est évincée
+
+        assertThat(cache.getStatistiques().getTaille()).isEqualTo(2);
+        assertThat(obtenir(cache, ProjectDomain.WEB, null)).isEqualTo(1);
+        assertThat(obtenir(cache, ProjectDomain.IA, null)).isEqualTo(3);
+        assertThat(obtenir(cache, ProjectDomain.MOBILE, null)).isEqualTo(4);
+    }
+
+    @Test
+    void lEvictionNeToucheQueLesClesQuiAffichentLeProjet() {
+        CatalogueProjetsCache cache = cache(10);
+        obtenir(cache, ProjectDomain.WEB, ProjectSector.EDUCATION); // 1
+        obtenir(cache, ProjectDomain.WEB, null);                 // 2
+        obtenir(cache, null, ProjectSector.EDUCATION);                    // 3
+        obtenir(cache, null, null);                                    // 4
+        obtenir(cache, ProjectDomain.MOBILE, null);                     // 5
+
+        cache.evincerApresCommit(ProjectDomain.WEB, ProjectSector.EDUCATION);
+
+        assertThat(cache.getStatistiques().getEvictions()).isEqualTo(4);
+        assertThat(obtenir(cache, ProjectDomain.MOBILE, null)).isEqualTo(5);
+        assertThat(obtenir(cache, null, null)).isEqualTo(6);
+    }
+
+    @Test
+    void lEvictionAttendLeCommitDeLaTransaction() {
+        CatalogueProjetsCache cache = cache(10);
+        obtenir(cache, null, null); // 1
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evincerApresCommit(ProjectDomain.WEB, ProjectSector.EDUCATION);
+        List<TransactionSynchronization> synchronisations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(obtenir(cache, null, null)).isEqualTo(1);
+
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronisations);
+        assertThat(obtenir(cache, null, null)).isEqualTo(2);
+    }
+
+    @Test
+    void uneTransactionAnnuleeNEvincePas() {
+        CatalogueProjetsCache cache = cache(10);
+        obtenir(cache, null, null); // 1
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evincerApresCommit(ProjectDomain.WEB, ProjectSector.EDUCATION);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(obtenir(cache, null, null)).isEqualTo(1);
+        assertThat(cache.getStatistiques().getEvictions()).isZero();
+    }
+
+    @Test
+    void unChargementCommenceAvantUneEvictionNEstPasMisEnCache() {
+        CatalogueProjetsCache cache = cache(10);
+        Supplier<List<ProjetResponseDto>> chargeur = chargeur();
+
+        // Le projet est modifié pendant la lecture en base : la page lue est peut-être déjà périmée
+        cache.obtenir(null, null, () -> {
+            cache.evincerApresCommit(ProjectDomain.WEB, ProjectSector.EDUCATION);
+            return chargeur.get();
+        });
+
+        assertThat(obtenir(cache, null, null)).isEqualTo(2);
+        assertThat(obtenir(cache, null, null)).isEqualTo(2);
+    }
+}
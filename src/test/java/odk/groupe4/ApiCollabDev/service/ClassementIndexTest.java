@@ -0,0 +1,109 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassementIndexTest {
+
+    // Classement attendu : liste triée par score décroissant puis ID croissant, rang de compétition
+    private static List<ClassementIndex.Entree> attendu(Map<Integer, Long> scores) {
+        List<Map.Entry<Integer, Long>> tries = new ArrayList<>(scores.entrySet());
+        tries.sort(Comparator.<Map.Entry<Integer, Long>>comparingLong(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+        List<ClassementIndex.Entree> entrees = new ArrayList<>(tries.size());
+        for (int i = 0; i < tries.size(); i++) {
+            long score = tries.get(i).getValue();
+            int rang = i > 0 && entrees.get(i - 1).score() == score ? entrees.get(i - 1).rang() : i + 1;
+            entrees.add(new ClassementIndex.Entree(rang, tries.get(i).getKey(), score));
+        }
+        return entrees;
+    }
+
+    @Test
+    void lesExAequoPartagentLeRangDuPremierDEntreEux() {
+        ClassementIndex index = new ClassementIndex();
+        index.mettreAJour(1, 10);
+        index.mettreAJour(2, 20);
+        index.mettreAJour(3, 20);
+        index.mettreAJour(4, 5);
+        index.mettreAJour(5, 20);
+
+        assertThat(index.page(0, 10)).containsExactly(
+                new ClassementIndex.Entree(1, 2, 20), new ClassementIndex.Entree(1, 3, 20),
+                new ClassementIndex.Entree(1, 5, 20), new ClassementIndex.Entree(4, 1, 10),
+                new ClassementIndex.Entree(5, 4, 5));
+        // Page commençant au milieu des ex æquo
+        assertThat(index.page(2, 2)).containsExactly(
+                new ClassementIndex.Entree(1, 5, 20), new ClassementIndex.Entree(4, 1, 10));
+        assertThat(index.rang(5)).isEqualTo(new ClassementIndex.Entree(1, 5, 20));
+        assertThat(index.rang(4)).isEqualTo(new ClassementIndex.Entree(5, 4, 5));
+    }
+
+    @Test
+    void uneMiseAJourDeplaceLElementEtUnRetraitLeSupprime() {
+        ClassementIndex index = new ClassementIndex();
+        index.mettreAJour(1, 10);
+        index.mettreAJour(2, 20);
+
+        index.mettreAJour(1, 30);
+        assertThat(index.page(0, 2)).extracting(ClassementIndex.Entree::id).containsExactly(1, 2);
+
+        index.retirer(1);
+        assertThat(index.taille()).isEqualTo(1);
+        assertThat(index.rang(1)).isNull();
+        assertThat(index.score(1)).isNull();
+        assertThat(index.rang(2)).isEqualTo(new ClassementIndex.Entree(1, 2, 20));
+    }
+
+    @Test
+    void lesPagesHorsDuClassementSontVides() {
+        ClassementIndex index = new ClassementIndex();
+        assertThat(index.page(0, 10)).isEmpty();
+
+        index.mettreAJour(1, 10);
+        assertThat(index.page(1, 10)).isEmpty();
+        assertThat(index.page(-1, 10)).isEmpty();
+        assertThat(index.page(0, 0)).isEmpty();
+    }
+
+    @Test
+    void leClassementCorrespondALaListeTrieeSousMisesAJourAleatoires() {
+        Random aleatoire = new Random(20261018);
+        ClassementIndex index = new ClassementIndex();
+        Map<Integer, Long> scores = new HashMap<>();
+
+        for (int operation = 0; operation < 5000; operation++) {
+            // Peu d'IDs et de scores distincts : beaucoup de mises à jour, de retraits et d'ex æquo
+            int id = aleatoire.nextInt(200);
+            if (aleatoire.nextInt(4) == 0) {
+                index.retirer(id);
+                scores.remove(id);
+            } else {
+                long score = aleatoire.nextInt(30);
+                index.mettreAJour(id, score);
+                scores.put(id, score);
+            }
+
+            if (operation % 50 == 0) {
+                List<ClassementIndex.Entree> attendu = attendu(scores);
+                assertThat(index.taille()).isEqualTo(attendu.size());
+                assertThat(index.page(0, attendu.size() + 1)).isEqualTo(attendu);
+                int debut = aleatoire.nextInt(attendu.size() + 1);
+                int nombre = 1 + aleatoire.nextInt(20);
+                assertThat(index.page(debut, nombre))
+                        .isEqualTo(attendu.subList(debut, Math.min(debut + nombre, attendu.size())));
+                for (ClassementIndex.Entree entree : attendu) {
+                    assertThat(index.rang(entree.id())).isEqualTo(entree);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.ContributeurDao;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.dao.ProjetDao;
+import odk.groupe4.ApiCollabDev.models.enums.CritereClassement;
+import odk.groupe4.ApiCollabDev.models.enums.ParticipantStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Hors transaction, les mises à jour sont appliquées immédiatement : l'ordre des appels simule
+// l'ordre d'exécution des callbacks après commit.
+class ClassementServiceTest {
+    private static final int PROJET = 7;
+
+    private final ContributeurDao contributeurDao = mock(ContributeurDao.class);
+    private final ParticipantDao participantDao = mock(ParticipantDao.class);
+    private ClassementService classementService;
+
+    @BeforeEach
+    void initialiser() {
+        when(contributeurDao.existsById(anyInt())).thenReturn(true);
+        classementService = new ClassementService(contributeurDao, participantDao, mock(ProjetDao.class));
+    }
+
+    private long score(int idContributeur, CritereClassement critere, Integer idProjet) {
+        return classementService.getRang(idContributeur, critere, idProjet).getScore();
+    }
+
+    @Test
+    void unSoldePlusAncienQueLeDernierAppliqueEstIgnore() {
+        classementService.reconstruire();
+
+        classementService.soldeModifie(1, 50, 3);
+        classementService.soldeModifie(1, 40, 2);
+        assertThat(score(1, CritereClassement.COINS, null)).isEqualTo(50);
+
+        classementService.soldeModifie(1, 60, 4);
+        assertThat(score(1, CritereClassement.COINS, null)).isEqualTo(60);
+    }
+
+    @Test
+    void unCompteurPlusAncienQueLeDernierAppliqueEstIgnore() {
+        classementService.reconstruire();
+
+        classementService.participationModifiee(10, PROJET, 1, 5, 2);
+        classementService.participationModifiee(10, PROJET, 1, 4, 1);
+        assertThat(score(1, CritereClassement.CONTRIBUTIONS_VALIDEES, PROJET)).isEqualTo(5);
+        assertThat(score(1, CritereClassement.CONTRIBUTIONS_VALIDEES, null)).isEqualTo(5);
+    }
+
+    @Test
+    void uneAcceptationArriveeApresLeRetraitPlusRecentEstIgnoree() {
+        classementService.reconstruire();
+
+        classementService.participationRetiree(10, 2);
+        classementService.participationModifiee(10, PROJET, 1, 3, 1);
+
+        assertThatThrownBy(() -> classementService.getRang(1, CritereClassement.CONTRIBUTIONS_VALIDEES, PROJET))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void laReconstructionConserveLaRevisionDesParticipationsRetirees() {
+        when(contributeurDao.findSoldes()).thenReturn(List.<Object[]>of(new Object[]{1, 20, 5L}));
+        when(participantDao.findParticipationsClassement()).thenReturn(List.of(
+                new Object[]{10, PROJET, 1, 2, 3L, ParticipantStatus.REFUSE},
+                new Object[]{11, PROJET + 1, 1, 4, 1L, ParticipantStatus.ACCEPTE}));
+        classementService.reconstruire();
+
+        // Mises à jour déjà reflétées par la base au moment de la reconstruction
+        classementService.participationModifiee(10, PROJET, 1, 2, 3);
+        classementService.soldeModifie(1, 15, 5);
+
+        assertThatThrownBy(() -> classementService.getRang(1, CritereClassement.CONTRIBUTIONS_VALIDEES, PROJET))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(score(1, CritereClassement.CONTRIBUTIONS_VALIDEES, PROJET + 1)).isEqualTo(4);
+        assertThat(score(1, CritereClassement.COINS, null)).isEqualTo(20);
+    }
+}
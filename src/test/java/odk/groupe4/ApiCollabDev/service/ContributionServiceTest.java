@@ -0,0 +1,89 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.ContributionDao;
+import odk.groupe4.ApiCollabDev.dao.FonctionnaliteDao;
+import odk.groupe4.ApiCollabDev.dao.ParticipantDao;
+import odk.groupe4.ApiCollabDev.models.Contributeur;
+import odk.groupe4.ApiCollabDev.models.Contribution;
+import odk.groupe4.ApiCollabDev.models.Fonctionnalite;
+import odk.groupe4.ApiCollabDev.models.Participant;
+import odk.groupe4.ApiCollabDev.models.Projet;
+import odk.groupe4.ApiCollabDev.models.enums.ContributionStatus;
+import odk.groupe4.ApiCollabDev.models.enums.ParticipantProfil;
+import odk.groupe4.ApiCollabDev.models.evenements.ContributionsValidees;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContributionServiceTest {
+    private static final int CONTRIBUTION = 1;
+    private static final int GESTIONNAIRE = 2;
+
+    private final ContributionDao contributionDao = mock(ContributionDao.class);
+    private final ParticipantDao participantDao = mock(ParticipantDao.class);
+    private final EvenementBus evenementBus = mock(EvenementBus.class);
+    private final RecompensePipelineService recompensePipelineService = mock(RecompensePipelineService.class);
+    private final RecompenseEtapeService recompenseEtapeService = mock(RecompenseEtapeService.class);
+    private final ContributionService contributionService = new ContributionService(contributionDao, participantDao,
+            mock(FonctionnaliteDao.class), evenementBus, recompensePipelineService, mock(ClassementService.class),
+            recompenseEtapeService);
+
+    private final Participant participant = participant(10, ParticipantProfil.DEVELOPPEUR);
+
+    private static Participant participant(int id, ParticipantProfil profil) {
+        Projet projet = new Projet();
+        projet.setId(3);
+        Contributeur contributeur = new Contributeur();
+        contributeur.setId(id + 100);
+        Participant participant = new Participant();
+        participant.setId(id);
+        participant.setProfil(profil);
+        participant.setProjet(projet);
+        participant.setContributeur(contributeur);
+        return participant;
+    }
+
+    @BeforeEach
+    void initialiser() {
+        Fonctionnalite fonctionnalite = new Fonctionnalite();
+        fonctionnalite.setTitre("Connexion");
+        Contribution contribution = new Contribution();
+        contribution.setId(CONTRIBUTION);
+        contribution.setStatus(ContributionStatus.ENVOYE);
+        contribution.setParticipant(participant);
+        contribution.setFonctionnalite(fonctionnalite);
+
+        when(contributionDao.findById(CONTRIBUTION)).thenReturn(Optional.of(contribution));
+        when(contributionDao.save(any(Contribution.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(participantDao.findById(GESTIONNAIRE)).thenReturn(Optional.of(participant(GESTIONNAIRE, ParticipantProfil.GESTIONNAIRE)));
+    }
+
+    @Test
+    void uneContributionValideeDeNouveauApresSesRecompensesEstRecomptee() {
+        // Première validation : récompenses planifiées et exécutées par le pipeline
+        when(recompensePipelineService.planifier(anyCollection())).thenReturn(List.of(CONTRIBUTION));
+        contributionService.validateOrRejetContribution(CONTRIBUTION, ContributionStatus.VALIDE, GESTIONNAIRE);
+        verify(evenementBus).publier(any(ContributionsValidees.class));
+        verify(recompenseEtapeService, never()).attribuerBadges(any());
+
+        // Dévalidation : compteur recompté à la baisse
+        contributionService.validateOrRejetContribution(CONTRIBUTION, ContributionStatus.REJETE, GESTIONNAIRE);
+        verify(participantDao).recompterApresDevalidation(List.of(participant.getId()));
+
+        // Nouvelle validation : déjà récompensée, rien n'est planifié, mais le compteur est recompté
+        when(recompensePipelineService.planifier(anyCollection())).thenReturn(List.of());
+        contributionService.validateOrRejetContribution(CONTRIBUTION, ContributionStatus.VALIDE, GESTIONNAIRE);
+        verify(evenementBus, times(1)).publier(any(ContributionsValidees.class));
+        verify(recompenseEtapeService).attribuerBadges(participant);
+    }
+}
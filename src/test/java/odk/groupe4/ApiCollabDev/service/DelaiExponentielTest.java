@@ -0,0 +1,51 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DelaiExponentielTest {
+    private static final Duration INITIAL = Duration.ofSeconds(30);
+    private static final Duration MAX = Duration.ofHours(1);
+
+    // Tirages extrêmes : le plus petit délai (la moitié) et le plus grand (la totalité)
+    private final DelaiExponentiel auPlusCourt = new DelaiExponentiel(INITIAL, MAX, borne -> 0);
+    private final DelaiExponentiel auPlusLong = new DelaiExponentiel(INITIAL, MAX, borne -> borne - 1);
+
+    @Test
+    void leDelaiDoubleATentativeSuivante() {
+        assertThat(auPlusLong.avantTentative(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(auPlusLong.avantTentative(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(auPlusLong.avantTentative(4)).isEqualTo(Duration.ofSeconds(240));
+        // Avant le premier échec : le délai initial
+        assertThat(auPlusLong.avantTentative(0)).isEqualTo(INITIAL);
+    }
+
+    @Test
+    void leDelaiEstTireEntreSaMoitieEtSaTotalite() {
+        assertThat(auPlusCourt.avantTentative(2)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(auPlusLong.avantTentative(2)).isEqualTo(Duration.ofSeconds(60));
+
+        DelaiExponentiel aleatoire = new DelaiExponentiel(INITIAL, MAX);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(aleatoire.avantTentative(3)).isBetween(Duration.ofSeconds(60), Duration.ofSeconds(120));
+        }
+    }
+
+    @Test
+    void leDelaiEstPlafonneSansDebordement() {
+        assertThat(auPlusLong.avantTentative(8)).isEqualTo(MAX);
+        assertThat(auPlusLong.avantTentative(64)).isEqualTo(MAX);
+        assertThat(auPlusLong.avantTentative(Integer.MAX_VALUE)).isEqualTo(MAX);
+        assertThat(auPlusCourt.avantTentative(Integer.MAX_VALUE)).isEqualTo(MAX.dividedBy(2));
+    }
+
+    @Test
+    void unDelaiInitialSuperieurAuMaximumEstRefuse() {
+        assertThatThrownBy(() -> new DelaiExponentiel(MAX, INITIAL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
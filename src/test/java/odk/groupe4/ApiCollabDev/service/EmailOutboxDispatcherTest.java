@@ -0,0 +1,37 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    private final EmailOutboxService emailOutboxService = mock(EmailOutboxService.class);
+    private final EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(emailOutboxService, mock(EmailService.class),
+            50, 4, 5, Duration.ofMinutes(5), RETENTION, 100);
+
+    @Test
+    void laPurgeSupprimeLotApresLotJusquAuDernierIncomplet() {
+        when(emailOutboxService.purgerLot(any(), eq(100))).thenReturn(100, 100, 7);
+
+        LocalDateTime avant = LocalDateTime.now().minus(RETENTION);
+        dispatcher.purger();
+
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxService, times(3)).purgerLot(limite.capture(), eq(100));
+        // Une seule limite pour toute la purge : la fin de la période de conservation
+        assertThat(limite.getAllValues()).containsOnly(limite.getValue());
+        assertThat(limite.getValue()).isBetween(avant, LocalDateTime.now().minus(RETENTION));
+    }
+}
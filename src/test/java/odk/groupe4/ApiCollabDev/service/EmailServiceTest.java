@@ -0,0 +1,135 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import odk.groupe4.ApiCollabDev.models.EmailOutbox;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailServiceTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final List<EmailOutbox> envoyes = new ArrayList<>();
+    private final List<EmailOutbox> enEchec = new ArrayList<>();
+
+    private static JavaMailSenderImpl mailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return mailSender;
+    }
+
+    private static EmailOutbox email(int numero) {
+        EmailOutbox email = new EmailOutbox();
+        email.setId((long) numero);
+        email.setDestinataire("destinataire" + numero + "@collabdev.test");
+        email.setSujet("Sujet " + numero);
+        email.setMessage("Message " + numero);
+        return email;
+    }
+
+    private static List<EmailOutbox> emails(int nombre) {
+        return IntStream.rangeClosed(1, nombre).mapToObj(EmailServiceTest::email).toList();
+    }
+
+    private static EmailService service(SmtpTransportPool pool, double debitMax, int rafale) {
+        return new EmailService(mailSender(), pool, debitMax, rafale, "collabdev@collabdev.test");
+    }
+
+    private void envoyerLot(EmailService service, List<EmailOutbox> emails) {
+        service.envoyerLot(emails, envoyes::add, (email, erreur) -> enEchec.add(email));
+    }
+
+    @Test
+    void unLotEstEnvoyeSurUneSeuleConnexion() {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender(), 4, Duration.ofSeconds(1));
+        EmailService service = service(pool, 1000, 1000);
+
+        envoyerLot(service, emails(5));
+
+        assertThat(envoyes).hasSize(5);
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(pool.getConnexionsOuvertes()).isEqualTo(1);
+        assertThat(pool.getConnexionsDisponibles()).isEqualTo(1);
+        assertThat(service.getStatistiques().getEnvoyes()).isEqualTo(5);
+    }
+
+    @Test
+    void leDebitMaximalEstRespecteSurUnServeurReel() {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender(), 4, Duration.ofSeconds(1));
+        EmailService service = service(pool, 20, 1);
+
+        long debut = System.nanoTime();
+        envoyerLot(service, emails(6));
+        long dureeMs = Duration.ofNanos(System.nanoTime() - debut).toMillis();
+
+        // Un premier email immédiat, puis cinq à 20 par seconde : au moins 250 ms
+        assertThat(greenMail.getReceivedMessages()).hasSize(6);
+        assertThat(dureeMs).isGreaterThanOrEqualTo(240);
+    }
+
+    @Test
+    void unDestinataireRefuseNInvalidePasLaConnexion() throws MessagingException {
+        SmtpTransportPool pool = mock(SmtpTransportPool.class);
+        Transport transport = mock(Transport.class);
+        when(pool.emprunter()).thenReturn(transport);
+        doThrow(new SendFailedException("550 destinataire inconnu")).when(transport)
+                .sendMessage(argThat(message -> estPourLeDestinataire(message, 2)), any());
+
+        envoyerLot(service(pool, 1000, 1000), emails(3));
+
+        assertThat(envoyes).extracting(EmailOutbox::getId).containsExactly(1L, 3L);
+        assertThat(enEchec).extracting(EmailOutbox::getId).containsExactly(2L);
+        verify(pool, times(1)).emprunter();
+        verify(pool).rendre(transport, true);
+        verify(pool, never()).rendre(any(), eq(false));
+    }
+
+    @Test
+    void uneErreurDeConnexionFaitEmprunterUneAutreConnexion() throws MessagingException {
+        SmtpTransportPool pool = mock(SmtpTransportPool.class);
+        Transport coupee = mock(Transport.class);
+        Transport nouvelle = mock(Transport.class);
+        when(pool.emprunter()).thenReturn(coupee, nouvelle);
+        doThrow(new MessagingException("421 connexion fermée")).when(coupee)
+                .sendMessage(argThat(message -> estPourLeDestinataire(message, 2)), any());
+
+        envoyerLot(service(pool, 1000, 1000), emails(3));
+
+        assertThat(envoyes).extracting(EmailOutbox::getId).containsExactly(1L, 3L);
+        assertThat(enEchec).extracting(EmailOutbox::getId).containsExactly(2L);
+        verify(pool).rendre(coupee, false);
+        verify(pool).rendre(nouvelle, true);
+    }
+
+    private static boolean estPourLeDestinataire(Message message, int numero) {
+        try {
+            return message != null && message.getAllRecipients()[0].toString().equals("destinataire" + numero + "@collabdev.test");
+        } catch (MessagingException e) {
+            return false;
+        }
+    }
+}
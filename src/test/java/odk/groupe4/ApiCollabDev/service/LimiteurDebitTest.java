@@ -0,0 +1,66 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimiteurDebitTest {
+    private static final long SECONDE = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong horloge = new AtomicLong(42 * SECONDE);
+
+    @Test
+    void laRafaleEstDisponibleImmediatementPuisLeDebitEstRespecte() {
+        LimiteurDebit limiteur = new LimiteurDebit(10, 3, horloge::get);
+
+        assertThat(limiteur.reserver()).isZero();
+        assertThat(limiteur.reserver()).isZero();
+        assertThat(limiteur.reserver()).isZero();
+        // Les appelants suivants attendent chacun un dixième de seconde de plus que le précédent
+        assertThat(limiteur.reserver()).isEqualTo(SECONDE / 10);
+        assertThat(limiteur.reserver()).isEqualTo(2 * SECONDE / 10);
+    }
+
+    @Test
+    void lesJetonsSeRechargentAuDebitConfigureSansDepasserLaRafale() {
+        LimiteurDebit limiteur = new LimiteurDebit(10, 3, horloge::get);
+        for (int i = 0; i < 3; i++) {
+            limiteur.reserver();
+        }
+
+        horloge.addAndGet(SECONDE / 10);
+        assertThat(limiteur.reserver()).isZero();
+        assertThat(limiteur.reserver()).isEqualTo(SECONDE / 10);
+
+        // Après une longue inactivité, seule la rafale est disponible
+        horloge.addAndGet(60 * SECONDE);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiteur.reserver()).isZero();
+        }
+        assertThat(limiteur.reserver()).isEqualTo(SECONDE / 10);
+    }
+
+    @Test
+    void surUneSecondeLeNombreDAutorisationsEstBorneParLeDebit() {
+        LimiteurDebit limiteur = new LimiteurDebit(50, 5, horloge::get);
+        long debut = horloge.get();
+        int autorisees = 0;
+        // Chaque appelant avance l'horloge jusqu'à son jeton, comme s'il avait attendu
+        while (horloge.get() - debut <= SECONDE) {
+            horloge.addAndGet(limiteur.reserver());
+            autorisees++;
+        }
+
+        assertThat(autorisees).isBetween(50 + 5 - 1, 50 + 5 + 1);
+    }
+
+    @Test
+    void leDebitEtLaRafaleDoiventEtreStrictementPositifs() {
+        assertThatThrownBy(() -> new LimiteurDebit(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LimiteurDebit(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import odk.groupe4.ApiCollabDev.dao.BadgeDao;
+import odk.groupe4.ApiCollabDev.models.Badge;
+import odk.groupe4.ApiCollabDev.models.enums.TypeBadge;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeuilsBadgesIndexTest {
+
+    // Badges d'ID 1, 2, ... avec les seuils donnés, déjà triés comme les renvoie la requête
+    private SeuilsBadgesIndex index(int... seuils) {
+        List<Badge> badges = new ArrayList<>();
+        for (int i = 0; i < seuils.length; i++) {
+            Badge badge = new Badge();
+            badge.setId(i + 1);
+            badge.setType(TypeBadge.BRONZE);
+            badge.setNombreContribution(seuils[i]);
+            badges.add(badge);
+        }
+        BadgeDao badgeDao = mock(BadgeDao.class);
+        when(badgeDao.findAllOrderByNombreContributionAsc()).thenReturn(badges);
+        return new SeuilsBadgesIndex(badgeDao);
+    }
+
+    private List<Integer> franchis(SeuilsBadgesIndex index, int ancien, int nouveau) {
+        return index.franchis(ancien, nouveau).stream().map(SeuilsBadgesIndex.Seuil::idBadge).toList();
+    }
+
+    @Test
+    void laBorneSuperieureCompteLesSeuilsInferieursOuEgaux() {
+        int[] nombres = {1, 5, 5, 10};
+
+        assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, 0)).isZero();
+        assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, 1)).isEqualTo(1);
+        assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, 4)).isEqualTo(1);
+        assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, 5)).isEqualTo(3);
+        assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, 10)).isEqualTo(4);
+        assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, 100)).isEqualTo(4);
+        assertThat(SeuilsBadgesIndex.borneSuperieure(new int[0], 3)).isZero();
+    }
+
+    @Test
+    void laBorneSuperieureCorrespondAuComptageLineaire() {
+        Random aleatoire = new Random(42);
+        for (int essai = 0; essai < 500; essai++) {
+            int[] nombres = aleatoire.ints(aleatoire.nextInt(12), 0, 20).sorted().toArray();
+            int valeur = aleatoire.nextInt(25) - 2;
+            long attendu = Arrays.stream(nombres).filter(n -> n <= valeur).count();
+            assertThat(SeuilsBadgesIndex.borneSuperieure(nombres, valeur)).isEqualTo((int) attendu);
+        }
+    }
+
+    @Test
+    void seulsLesSeuilsEntreLAncienEtLeNouveauCompteurSontFranchis() {
+        SeuilsBadgesIndex index = index(1, 5, 5, 10);
+
+        assertThat(franchis(index, 0, 1)).containsExactly(1);
+        assertThat(franchis(index, 1, 4)).isEmpty();
+        assertThat(franchis(index, 4, 5)).containsExactly(2, 3);
+        assertThat(franchis(index, 5, 6)).isEmpty();
+        assertThat(franchis(index, 0, 12)).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void unCompteurInchangeOuEnBaisseNeFranchitAucunSeuil() {
+        SeuilsBadgesIndex index = index(1, 5, 10);
+
+        assertThat(franchis(index, 5, 5)).isEmpty();
+        assertThat(franchis(index, 10, 4)).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package odk.groupe4.ApiCollabDev.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmtpTransportPoolTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static JavaMailSenderImpl mailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return mailSender;
+    }
+
+    private static SmtpTransportPool pool(int connexionsMax, Duration attenteMax) {
+        return new SmtpTransportPool(mailSender(), connexionsMax, attenteMax);
+    }
+
+    @Test
+    void uneConnexionRendueEstReutilisee() throws MessagingException {
+        SmtpTransportPool pool = pool(2, Duration.ofSeconds(1));
+
+        Transport premiere = pool.emprunter();
+        pool.rendre(premiere, true);
+        Transport seconde = pool.emprunter();
+
+        assertThat(seconde).isSameAs(premiere);
+        assertThat(pool.getConnexionsOuvertes()).isEqualTo(1);
+        pool.rendre(seconde, true);
+        assertThat(pool.getConnexionsDisponibles()).isEqualTo(1);
+    }
+
+    @Test
+    void uneConnexionFermeeParLeServeurEstEcartee() throws MessagingException {
+        SmtpTransportPool pool = pool(2, Duration.ofSeconds(1));
+        Transport premiere = pool.emprunter();
+        pool.rendre(premiere, true);
+
+        // Redémarrage du serveur : la connexion inactive du pool est coupée, le NOOP de isConnected() échoue
+        greenMail.reset();
+        Transport seconde = pool.emprunter();
+
+        assertThat(seconde).isNotSameAs(premiere);
+        assertThat(seconde.isConnected()).isTrue();
+        assertThat(pool.getConnexionsOuvertes()).isEqualTo(1);
+        assertThat(pool.getConnexionsDisponibles()).isZero();
+    }
+
+    @Test
+    void uneConnexionNonReutilisableEstFermee() throws MessagingException {
+        SmtpTransportPool pool = pool(2, Duration.ofSeconds(1));
+        Transport transport = pool.emprunter();
+
+        pool.rendre(transport, false);
+
+        assertThat(transport.isConnected()).isFalse();
+        assertThat(pool.getConnexionsOuvertes()).isZero();
+        assertThat(pool.getConnexionsDisponibles()).isZero();
+    }
+
+    @Test
+    void leNombreDeConnexionsEmprunteesEstBorne() throws MessagingException {
+        SmtpTransportPool pool = pool(1, Duration.ofMillis(100));
+        Transport transport = pool.emprunter();
+
+        assertThatThrownBy(pool::emprunter).isInstanceOf(MessagingException.class);
+
+        pool.rendre(transport, true);
+        assertThat(pool.emprunter()).isSameAs(transport);
+    }
+
+    @Test
+    void lArretFermeLesConnexionsInactives() throws MessagingException {
+        SmtpTransportPool pool = pool(2, Duration.ofSeconds(1));
+        Transport premiere = pool.emprunter();
+        Transport seconde = pool.emprunter();
+        pool.rendre(premiere, true);
+        pool.rendre(seconde, true);
+        assertThat(pool.getConnexionsOuvertes()).isEqualTo(2);
+
+        pool.fermerTout();
+
+        assertThat(pool.getConnexionsOuvertes()).isZero();
+        assertThat(premiere.isConnected()).isFalse();
+    }
+}